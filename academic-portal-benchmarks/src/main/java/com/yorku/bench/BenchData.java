@@ -0,0 +1,66 @@
+package com.yorku.bench;
+
+import com.yorku.pojo.Emp;
+import com.yorku.pojo.EmpExpr;
+import com.yorku.pojo.Student;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Description: 基准测试用的固定样例数据（与列表接口返回的字段一致）
+ */
+final class BenchData {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 9, 1, 9, 30);
+
+    private BenchData() {
+    }
+
+    static List<Emp> emps(int count) {
+        List<Emp> emps = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Emp emp = new Emp();
+            emp.setId(i);
+            emp.setUsername("staff" + i);
+            emp.setName("Staff Member " + i);
+            emp.setGender(i % 2 + 1);
+            emp.setPhone("416555" + String.format("%04d", i));
+            emp.setJob(i % 6 + 1);
+            emp.setSalary(60000 + i * 100);
+            emp.setImage("https://york-portal.oss-cn-hangzhou.aliyuncs.com/2024/09/" + i + ".jpg");
+            emp.setEntryDate(LocalDate.of(2015, 1, 1).plusDays(i));
+            emp.setDeptId(i % 5 + 1);
+            emp.setDeptName("Department " + (i % 5 + 1));
+            emp.setCreateTime(TIME);
+            emp.setUpdateTime(TIME);
+            List<EmpExpr> exprList = new ArrayList<>();
+            for (int j = 0; j < 2; j++) {
+                EmpExpr expr = new EmpExpr();
+                expr.setId(i * 10 + j);
+                expr.setEmpId(i);
+                expr.setBegin(LocalDate.of(2010 + j, 1, 1));
+                expr.setEnd(LocalDate.of(2011 + j, 1, 1));
+                expr.setCompany("Company " + j);
+                expr.setJob("Analyst");
+                exprList.add(expr);
+            }
+            emp.setExprList(exprList);
+            emps.add(emp);
+        }
+        return emps;
+    }
+
+    static List<Student> students(int count) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            students.add(new Student(i, "Student " + i, String.format("2024%06d", i), i % 2 + 1,
+                    "647555" + String.format("%04d", i), String.format("ID%016d", i), 1,
+                    "4700 Keele St, Toronto", i % 5 + 1, LocalDate.of(2028, 6, 1), i % 8 + 1,
+                    3.0 + (i % 60) / 10.0, 30 + i % 90, TIME, TIME, "Section " + (i % 8 + 1)));
+        }
+        return students;
+    }
+}
@@ -0,0 +1,110 @@
+package com.yorku.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Benchmark Result Comparison
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Compares two JMH JSON result files (-rf json), e.g. results/baseline.json against a run
+ * on a branch, and prints the change of every benchmark. A benchmark counts as a regression
+ * when it is slower by more than the threshold (default 10%) and by more than the combined
+ * error of both runs. Exits with status 1 when there is a regression, so it can gate a review.
+ * The JVM of both runs is printed first, with a warning when they differ (the hardware of the
+ * baseline is recorded in results/baseline-environment.md).
+ *
+ * Usage: java -cp target/benchmarks.jar com.yorku.bench.CompareResults baseline.json current.json [thresholdPercent]
+ *
+ * @Description: 基准测试结果对比工具
+ * 对比基线结果与当前结果，超过阈值的性能退化以非零状态码退出。
+ */
+public class CompareResults {
+
+    private record Score(String mode, double score, double error, String unit) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        JsonNode baselineRuns = new ObjectMapper().readTree(new File(args[0]));
+        JsonNode currentRuns = new ObjectMapper().readTree(new File(args[1]));
+        String baselineJvm = jvm(baselineRuns);
+        String currentJvm = jvm(currentRuns);
+        System.out.printf("Baseline JVM: %s%nCurrent JVM:  %s%n", baselineJvm, currentJvm);
+        if (!baselineJvm.equals(currentJvm)) {
+            System.out.println("WARNING: the runs used different JVMs, the comparison is not reliable");
+        }
+        System.out.println();
+
+        Map<String, Score> baseline = read(baselineRuns);
+        Map<String, Score> current = read(currentRuns);
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  (new)%n", entry.getKey(), "-", now.score(), "");
+                continue;
+            }
+            double change = (now.score() - before.score()) / before.score() * 100;
+            // Throughput: higher is better; time modes (avgt, sample, ss): lower is better
+            // 吞吐量模式越大越好，耗时模式越小越好
+            double slowdown = "thrpt".equals(now.mode()) ? -change : change;
+            boolean beyondError = Math.abs(now.score() - before.score()) > before.error() + now.error();
+            boolean regression = slowdown > threshold && beyondError;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), before.score(), now.score(), change,
+                    now.unit(), regression ? "  REGRESSION" : "");
+        }
+        for (String name : baseline.keySet()) {
+            if (!current.containsKey(name)) {
+                System.out.printf("%-70s  (missing from the current run)%n", name);
+            }
+        }
+
+        System.out.printf("%n%d regression(s) over %.1f%%%n", regressions, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    // benchmark name plus its @Param values -> primary score
+    // 以基准方法名加参数值为键读取主要指标
+    private static Map<String, Score> read(JsonNode runs) {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode run : runs) {
+            String name = run.path("benchmark").asText().replace("com.yorku.bench.", "");
+            Map<String, String> params = new LinkedHashMap<>();
+            run.path("params").fields().forEachRemaining(p -> params.put(p.getKey(), p.getValue().asText()));
+            if (!params.isEmpty()) {
+                name += params.toString();
+            }
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(name, new Score(run.path("mode").asText(), metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    // JDK version, VM name and version, and JVM arguments of the first benchmark in a result file
+    // 结果文件中记录的 JDK 版本、虚拟机与启动参数
+    private static String jvm(JsonNode runs) {
+        JsonNode run = runs.path(0);
+        return run.path("jdkVersion").asText("?") + ", " + run.path("vmName").asText("?") + " "
+                + run.path("vmVersion").asText("?") + ", args " + run.path("jvmArgs");
+    }
+}
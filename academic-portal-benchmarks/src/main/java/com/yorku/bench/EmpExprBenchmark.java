@@ -0,0 +1,177 @@
+package com.yorku.bench;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.yorku.mapper.EmpExprMapper;
+import com.yorku.pojo.EmpExpr;
+import com.yorku.util.EmpExprDiff;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Work History Write Benchmarks
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Saving an employee's 50-row work history against a real InnoDB table (embedded MariaDB, the
+ * emp_expr DDL from portal.sql, 100 other employees' rows alongside), one transaction per call:
+ * the previous delete-then-insert (100 rows written every time) vs. EmpServiceImpl's diff
+ * (listByEmpId, then deleteByIds / CASE updateBatch / insertBatch for the changed rows only).
+ * UNCHANGED is the common edit (basic info only); ONE_EDIT changes one entry.
+ * Single connection: the time is how long the row locks are held, not lock wait under contention.
+ *
+ * @Description: 工作经历保存基准测试（先删后增 vs 差异更新，真实 InnoDB 表）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmpExprBenchmark {
+
+    private static final int HISTORY = 50;
+
+    // Other employees sharing the table / 表中其他员工的数量
+    private static final int OTHER_EMPS = 100;
+
+    private static final int EMP_ID = 1;
+
+    @Param({"UNCHANGED", "ONE_EDIT"})
+    private String scenario;
+
+    private DB db;
+
+    private HikariDataSource dataSource;
+
+    private SqlSessionFactory sqlSessionFactory;
+
+    // History as submitted by the edit form (stored ids) / 编辑表单提交的工作经历（带记录ID）
+    private List<EmpExpr> incoming;
+
+    private int edits;
+
+    @Setup(Level.Trial)
+    public void startDatabase() throws Exception {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0);
+        if ("root".equals(System.getProperty("user.name"))) {
+            config.addArg("--user=root");
+        }
+        db = DB.newEmbeddedDB(config.build());
+        db.start();
+        String server = "jdbc:mysql://localhost:" + db.getConfiguration().getPort() + "/";
+        // Over JDBC, like the load test (DB.createDB needs the mariadb command-line client) / 与压测相同，通过 JDBC 建库
+        try (Connection connection = DriverManager.getConnection(server + "?useSSL=false&allowPublicKeyRetrieval=true", "root", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE academic_portal");
+        }
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(server + "academic_portal?useSSL=false&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true"
+                + "&cachePrepStmts=true&useServerPrepStmts=true");
+        dataSource.setUsername("root");
+        dataSource.setMaximumPoolSize(1);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            // Same definition as portal.sql (no index on emp_id) / 与 portal.sql 一致（emp_id 无索引）
+            statement.execute("CREATE TABLE emp_expr (id INT UNSIGNED AUTO_INCREMENT PRIMARY KEY, emp_id INT UNSIGNED NULL, "
+                    + "begin DATE NULL, end DATE NULL, company VARCHAR(50) NULL, job VARCHAR(50) NULL) ROW_FORMAT = DYNAMIC");
+        }
+
+        Configuration configuration = new Configuration(new Environment("bench", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(EmpExprMapper.class);
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            EmpExprMapper mapper = session.getMapper(EmpExprMapper.class);
+            for (int empId = EMP_ID; empId <= EMP_ID + OTHER_EMPS; empId++) {
+                mapper.insertBatch(history(empId));
+            }
+            session.commit();
+        }
+    }
+
+    /**
+     * The form resends the stored rows; ONE_EDIT toggles one job title so every call has one change
+     * 表单回传现有记录；ONE_EDIT 每次切换一条职位，保证每次调用都有一条修改
+     */
+    @Setup(Level.Invocation)
+    public void prepareRequest() {
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            incoming = session.getMapper(EmpExprMapper.class).listByEmpId(EMP_ID);
+        }
+        if ("ONE_EDIT".equals(scenario)) {
+            incoming.get(3).setJob(edits++ % 2 == 0 ? "Senior Lecturer" : "Lecturer");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() throws Exception {
+        dataSource.close();
+        db.stop();
+    }
+
+    @Benchmark
+    public void deleteThenInsert() {
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            EmpExprMapper mapper = session.getMapper(EmpExprMapper.class);
+            mapper.deleteByEmpIds(List.of(EMP_ID));
+            mapper.insertBatch(incoming);
+            session.commit();
+        }
+    }
+
+    @Benchmark
+    public EmpExprDiff diff() {
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            EmpExprMapper mapper = session.getMapper(EmpExprMapper.class);
+            EmpExprDiff diff = EmpExprDiff.of(EMP_ID, mapper.listByEmpId(EMP_ID), incoming);
+            if (!diff.getDeleteIds().isEmpty()) mapper.deleteByIds(diff.getDeleteIds());
+            if (!diff.getUpdates().isEmpty()) mapper.updateBatch(diff.getUpdates());
+            if (!diff.getInserts().isEmpty()) mapper.insertBatch(diff.getInserts());
+            session.commit();
+            return diff;
+        }
+    }
+
+    private static List<EmpExpr> history(int empId) {
+        List<EmpExpr> list = new ArrayList<>(HISTORY);
+        for (int i = 0; i < HISTORY; i++) {
+            EmpExpr expr = new EmpExpr();
+            expr.setEmpId(empId);
+            expr.setBegin(LocalDate.of(1970 + i, 9, 1));
+            expr.setEnd(LocalDate.of(1971 + i, 6, 30));
+            expr.setCompany("Company " + i);
+            expr.setJob("Lecturer");
+            list.add(expr);
+        }
+        return list;
+    }
+}
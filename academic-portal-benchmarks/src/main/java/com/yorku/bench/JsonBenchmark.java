@@ -0,0 +1,74 @@
+package com.yorku.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.yorku.pojo.Emp;
+import com.yorku.pojo.PageResult;
+import com.yorku.pojo.Result;
+import com.yorku.pojo.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON Serialization Benchmarks
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Serializes Result(PageResult) pages of employees and students the way the list endpoints
+ * return them. The ObjectMapper is built like Spring Boot's (Jackson2ObjectMapperBuilder,
+ * JavaTimeModule, ISO dates).
+ *
+ * @Description: 分页结果 JSON 序列化基准测试
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    // Page size used by the admin UI lists / 前端列表每页记录数
+    @Param({"10", "50"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private Result empPage;
+
+    private Result studentPage;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        List<Emp> emps = BenchData.emps(pageSize);
+        List<Student> students = BenchData.students(pageSize);
+        empPage = Result.success(new PageResult<>(1000L, emps));
+        studentPage = Result.success(new PageResult<>(1000L, students));
+    }
+
+    @Benchmark
+    public byte[] empPage() throws Exception {
+        return objectMapper.writeValueAsBytes(empPage);
+    }
+
+    @Benchmark
+    public byte[] studentPage() throws Exception {
+        return objectMapper.writeValueAsBytes(studentPage);
+    }
+}
@@ -0,0 +1,67 @@
+package com.yorku.bench;
+
+import com.yorku.util.JwtUtils;
+import com.yorku.util.TokenCache;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT Benchmarks
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Token issue (login) and verification (every authenticated request), with and without
+ * the verified-token cache used by TokenFilter.
+ *
+ * @Description: JWT 生成与解析基准测试
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private Map<String, Object> claims;
+
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        // Same claims as EmpServiceImpl.login / 与登录时的载荷一致
+        claims = new HashMap<>();
+        claims.put("id", 1);
+        claims.put("username", "admin");
+        token = JwtUtils.generateToken(claims);
+        TokenCache.parseToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return JwtUtils.generateToken(claims);
+    }
+
+    @Benchmark
+    public Claims parseToken() throws Exception {
+        return JwtUtils.parseToken(token);
+    }
+
+    @Benchmark
+    public TokenCache.VerifiedToken parseTokenCached() throws Exception {
+        return TokenCache.parseToken(token);
+    }
+}
@@ -0,0 +1,97 @@
+package com.yorku.bench;
+
+import com.yorku.anno.Log;
+import com.yorku.aop.OperateLogWriter;
+import com.yorku.aop.OperationLogAspect;
+import com.yorku.pojo.Emp;
+import com.yorku.pojo.OperateLog;
+import com.yorku.pojo.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OperationLogAspect Benchmarks
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Overhead of the @Log audit aspect on a controller-like call: the same method invoked
+ * directly and through a proxy carrying OperationLogAspect. The writer only counts the
+ * records, so the numbers cover building the OperateLog (argument / return value
+ * toString included), not the database write.
+ *
+ * @Description: 操作日志切面开销基准测试
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OperationLogAspectBenchmark {
+
+    /**
+     * Stand-in for an annotated controller method
+     * 模拟带 @Log 注解的控制器方法
+     */
+    public static class AuditedController {
+        @Log
+        public Result update(Emp emp) {
+            return Result.success();
+        }
+    }
+
+    /**
+     * Writer that keeps records in memory instead of queueing them for the database
+     * 只计数、不落库的日志写入器
+     */
+    static class CountingWriter extends OperateLogWriter {
+        long submitted;
+
+        @Override
+        public void submit(OperateLog operateLog) {
+            submitted++;
+        }
+    }
+
+    private AuditedController direct;
+
+    private AuditedController audited;
+
+    private Emp emp;
+
+    @Setup
+    public void setup() {
+        OperationLogAspect aspect = new OperationLogAspect();
+        ReflectionTestUtils.setField(aspect, "operateLogWriter", new CountingWriter());
+
+        direct = new AuditedController();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new AuditedController());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        audited = factory.getProxy();
+
+        emp = BenchData.emps(1).get(0);
+    }
+
+    @Benchmark
+    public Result direct() {
+        return direct.update(emp);
+    }
+
+    @Benchmark
+    public Result withAspect() {
+        return audited.update(emp);
+    }
+}
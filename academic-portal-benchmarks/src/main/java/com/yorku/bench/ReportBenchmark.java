@@ -0,0 +1,107 @@
+package com.yorku.bench;
+
+import com.yorku.mapper.EmpMapper;
+import com.yorku.mapper.StudentMapper;
+import com.yorku.pojo.JobOption;
+import com.yorku.pojo.StudentCountOption;
+import com.yorku.service.impl.ReportServiceImpl;
+import com.yorku.util.DashboardStatsStore;
+import com.yorku.util.ReferenceDataCache;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Report Benchmarks
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * ReportServiceImpl's stream transformations over the in-memory dashboard counters
+ * (DashboardStatsStore loaded once from stub mappers, so no database is involved).
+ *
+ * @Description: 报表统计（Stream 转换）基准测试
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportBenchmark {
+
+    // Course sections on the dashboard / 仪表盘中的课程数量
+    private static final int CLAZZ_COUNT = 40;
+
+    private ReportServiceImpl reportService;
+
+    @Setup
+    public void setup() {
+        EmpMapper empMapper = Mockito.mock(EmpMapper.class);
+        when(empMapper.countEmpJobData()).thenReturn(List.of(
+                Map.of("pos", "Class Master", "cnt", 12L), Map.of("pos", "Lecturer", "cnt", 45L),
+                Map.of("pos", "Student Affairs Mgr", "cnt", 8L), Map.of("pos", "Research Mgr", "cnt", 6L),
+                Map.of("pos", "Consultant", "cnt", 15L), Map.of("pos", "Other", "cnt", 3L)));
+        when(empMapper.countEmpGenderData()).thenReturn(List.of(
+                Map.of("name", "Male", "value", 48L), Map.of("name", "Female", "value", 41L)));
+
+        StudentMapper studentMapper = Mockito.mock(StudentMapper.class);
+        List<Map<String, Object>> clazzRows = new ArrayList<>();
+        for (int i = 1; i <= CLAZZ_COUNT; i++) {
+            clazzRows.add(Map.of("clazzId", i, "value", (long) (20 + i)));
+        }
+        when(studentMapper.countStuNumDataByClazzId()).thenReturn(clazzRows);
+        when(studentMapper.countStuYearLevelData()).thenReturn(List.of(
+                Map.of("name", "1st Year", "value", 300L), Map.of("name", "2nd Year", "value", 280L),
+                Map.of("name", "3rd Year", "value", 250L), Map.of("name", "4th Year", "value", 230L),
+                Map.of("name", "Graduate", "value", 90L)));
+
+        ReferenceDataCache referenceDataCache = Mockito.mock(ReferenceDataCache.class);
+        when(referenceDataCache.clazzName(Mockito.anyInt()))
+                .thenAnswer(invocation -> "Section " + invocation.getArgument(0));
+
+        DashboardStatsStore store = new DashboardStatsStore();
+        ReflectionTestUtils.setField(store, "empMapper", empMapper);
+        ReflectionTestUtils.setField(store, "studentMapper", studentMapper);
+        ReflectionTestUtils.setField(store, "referenceDataCache", referenceDataCache);
+        store.reload();
+
+        reportService = new ReportServiceImpl();
+        ReflectionTestUtils.setField(reportService, "dashboardStatsStore", store);
+    }
+
+    @Benchmark
+    public JobOption empJobData() {
+        return reportService.getEmpJobData();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> empGenderData() {
+        return reportService.getEmpGenderData();
+    }
+
+    @Benchmark
+    public StudentCountOption studentCountData() {
+        return reportService.getStudentCountData();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> studentEduData() {
+        return reportService.getStudentEduData();
+    }
+}
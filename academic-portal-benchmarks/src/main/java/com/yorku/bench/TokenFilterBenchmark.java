@@ -0,0 +1,77 @@
+package com.yorku.bench;
+
+import com.yorku.filter.TokenFilter;
+import com.yorku.util.JwtUtils;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TokenFilter Benchmarks
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Cost the filter adds to each request: an authenticated call (cached token), a public
+ * path and a rejected call without a token. The chain itself does nothing.
+ *
+ * @Description: 令牌过滤器基准测试
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenFilterBenchmark {
+
+    private final TokenFilter tokenFilter = new TokenFilter();
+
+    private final FilterChain chain = (request, response) -> {
+    };
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        token = JwtUtils.generateToken(Map.of("id", 1, "username", "admin"));
+    }
+
+    @Benchmark
+    public void authenticated(Blackhole bh) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/students");
+        request.addHeader("token", token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        tokenFilter.doFilter(request, response, chain);
+        bh.consume(response.getStatus());
+    }
+
+    @Benchmark
+    public void publicPath(Blackhole bh) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        tokenFilter.doFilter(request, response, chain);
+        bh.consume(response.getStatus());
+    }
+
+    @Benchmark
+    public void missingToken(Blackhole bh) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/students");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        tokenFilter.doFilter(request, response, chain);
+        bh.consume(response.getStatus());
+    }
+}
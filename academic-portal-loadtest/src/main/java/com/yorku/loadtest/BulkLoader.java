@@ -0,0 +1,258 @@
+package com.yorku.loadtest;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bulk Loader
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Writes generated rows in chunks. Each chunk is encoded as tab-separated text and streamed to
+ * the server with LOAD DATA LOCAL INFILE (Connector/J's setLocalInfileInputStream, so no temporary
+ * files); the connection needs allowLoadLocalInfile=true and the server local_infile=ON.
+ * When the server refuses LOAD DATA LOCAL, AUTO mode falls back to batched multi-row inserts
+ * (rewriteBatchedStatements=true). The next chunk is generated on a second thread while the
+ * current one is loading, and every chunk is committed on its own. Unique and foreign key checks are
+ * switched off only for tables that start empty.
+ *
+ * @Description: 批量导入（优先 LOAD DATA LOCAL 流式导入，不可用时改为批量 INSERT，生成与导入并行）
+ */
+public class BulkLoader implements AutoCloseable {
+
+    public enum Mode { AUTO, LOAD_DATA, INSERT }
+
+    /**
+     * Produces the rows of one table in id order; returns false when there are no more rows
+     * (it is not called again after that)
+     * 按顺序生成一张表的数据，没有更多数据时返回 false（之后不再调用）
+     */
+    @FunctionalInterface
+    public interface RowSource {
+        boolean next(Object[] row);
+    }
+
+    // Rows per executeBatch in INSERT mode (keeps each rewritten statement well under max_allowed_packet)
+    // INSERT 模式下每次 executeBatch 的行数
+    private static final int INSERT_BATCH = 1000;
+
+    private record Chunk(List<Object[]> rows, byte[] tsv, boolean last) {
+    }
+
+    private final Connection connection;
+
+    private final int chunkRows;
+
+    private final ExecutorService producer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "data-generator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Mode mode;
+
+    // Text buffer of the producer thread, reused for every chunk / 生成线程复用的文本缓冲区
+    private final StringBuilder text = new StringBuilder();
+
+    public BulkLoader(Connection connection, Mode mode, int chunkRows) throws SQLException {
+        this.connection = connection;
+        this.mode = mode;
+        this.chunkRows = chunkRows;
+        connection.setAutoCommit(false);
+    }
+
+    /**
+     * Load all rows of the source into the table
+     * 将数据源的全部行导入指定表
+     *
+     * @return number of rows written / 写入行数
+     */
+    public long load(String table, List<String> columns, RowSource source) throws SQLException {
+        relaxChecks(table);
+        long rows = 0;
+        CompletableFuture<Chunk> next = CompletableFuture.supplyAsync(() -> produce(columns.size(), source), producer);
+        while (true) {
+            Chunk chunk = await(next);
+            if (!chunk.last()) {
+                // Generate the next chunk while this one is on its way to the server / 导入当前块的同时生成下一块
+                next = CompletableFuture.supplyAsync(() -> produce(columns.size(), source), producer);
+            }
+            if (!chunk.rows().isEmpty()) {
+                write(table, columns, chunk);
+                connection.commit();
+                rows += chunk.rows().size();
+            }
+            if (chunk.last()) {
+                return rows;
+            }
+        }
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    // Generated values are unique among themselves, but nothing guarantees they miss rows that were
+    // already there (portal.sql data, earlier runs): skip the unique / foreign key checks only when
+    // the table starts empty, otherwise a collision must fail the chunk instead of loading silently
+    // 生成的数据之间互不重复，但不保证与已有数据不冲突：仅当表为空时关闭唯一性与外键检查
+    private void relaxChecks(String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            boolean empty;
+            try (ResultSet rs = statement.executeQuery("select 1 from " + table + " limit 1")) {
+                empty = !rs.next();
+            }
+            statement.execute(empty ? "SET unique_checks = 0, foreign_key_checks = 0"
+                    : "SET unique_checks = 1, foreign_key_checks = 1");
+        }
+    }
+
+    private void write(String table, List<String> columns, Chunk chunk) throws SQLException {
+        if (mode != Mode.INSERT) {
+            try {
+                loadData(table, columns, chunk);
+                return;
+            } catch (SQLException e) {
+                if (mode == Mode.LOAD_DATA) {
+                    throw e;
+                }
+                connection.rollback();
+                System.out.printf("LOAD DATA LOCAL INFILE not available (%s), using batched inserts%n", e.getMessage());
+                mode = Mode.INSERT;
+            }
+        }
+        insert(table, columns, chunk.rows());
+    }
+
+    private void loadData(String table, List<String> columns, Chunk chunk) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // The file name is ignored, the driver sends the stream instead / 文件名仅占位，驱动发送的是输入流
+            statement.unwrap(JdbcStatement.class).setLocalInfileInputStream(new ByteArrayInputStream(chunk.tsv()));
+            long loaded = statement.executeLargeUpdate("LOAD DATA LOCAL INFILE 'generated.tsv' INTO TABLE " + table
+                    + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n'"
+                    + " (" + String.join(", ", columns) + ")");
+            // LOAD DATA LOCAL turns duplicate keys and bad values into warnings and skips the row
+            // LOAD DATA LOCAL 遇到重复键或非法值只产生警告并跳过该行，这里显式检查行数
+            if (loaded != chunk.rows().size()) {
+                throw new IllegalStateException("LOAD DATA into " + table + " wrote " + loaded + " of "
+                        + chunk.rows().size() + " rows: " + statement.getWarnings());
+            }
+        }
+    }
+
+    private void insert(String table, List<String> columns, List<Object[]> rows) throws SQLException {
+        String sql = "insert into " + table + " (" + String.join(", ", columns) + ") values ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] row = rows.get(i);
+                for (int c = 0; c < row.length; c++) {
+                    ps.setObject(c + 1, row[c]);
+                }
+                ps.addBatch();
+                if ((i + 1) % INSERT_BATCH == 0 || i == rows.size() - 1) {
+                    ps.executeBatch();
+                }
+            }
+        }
+    }
+
+    // Runs on the producer thread / 在生成线程上执行
+    private Chunk produce(int width, RowSource source) {
+        List<Object[]> rows = new ArrayList<>(chunkRows);
+        boolean last = false;
+        while (rows.size() < chunkRows) {
+            Object[] row = new Object[width];
+            if (!source.next(row)) {
+                last = true;
+                break;
+            }
+            rows.add(row);
+        }
+        return new Chunk(rows, mode == Mode.INSERT ? null : encode(rows, text), last);
+    }
+
+    // LOAD DATA text format: \N for NULL, backslash-escaped tab / newline / backslash
+    // LOAD DATA 文本格式：NULL 写作 \N，制表符、换行与反斜杠需转义
+    private static byte[] encode(List<Object[]> rows, StringBuilder sb) {
+        sb.setLength(0);
+        for (Object[] row : rows) {
+            for (int c = 0; c < row.length; c++) {
+                if (c > 0) {
+                    sb.append('\t');
+                }
+                Object value = row[c];
+                if (value == null) {
+                    sb.append("\\N");
+                } else if (value instanceof String s) {
+                    appendEscaped(sb, s);
+                } else if (value instanceof LocalDateTime t) {
+                    appendDateTime(sb, t);
+                } else if (value instanceof LocalDate d) {
+                    sb.append(d);
+                } else {
+                    sb.append(value);
+                }
+            }
+            sb.append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendEscaped(StringBuilder sb, String s) {
+        if (s.indexOf('\\') < 0 && s.indexOf('\t') < 0 && s.indexOf('\n') < 0) {
+            sb.append(s);
+            return;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            switch (ch) {
+                case '\\' -> sb.append("\\\\");
+                case '\t' -> sb.append("\\t");
+                case '\n' -> sb.append("\\n");
+                default -> sb.append(ch);
+            }
+        }
+    }
+
+    // yyyy-MM-dd HH:mm:ss without a DateTimeFormatter per value / 直接拼接，避免逐个格式化的开销
+    private static void appendDateTime(StringBuilder sb, LocalDateTime t) {
+        sb.append(t.toLocalDate()).append(' ');
+        pad2(sb, t.getHour()).append(':');
+        pad2(sb, t.getMinute()).append(':');
+        pad2(sb, t.getSecond());
+    }
+
+    private static StringBuilder pad2(StringBuilder sb, int value) {
+        return sb.append(value < 10 ? "0" : "").append(value);
+    }
+
+    private static Chunk await(CompletableFuture<Chunk> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException r ? r : e;
+        }
+    }
+
+    @Override
+    public void close() {
+        producer.shutdownNow();
+    }
+}
@@ -0,0 +1,561 @@
+package com.yorku.loadtest;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic Data Generator
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Generates dept / emp / emp_expr / clazz / student / operate_log rows for scale testing and
+ * bulk-loads them with BulkLoader (LOAD DATA LOCAL INFILE, or batched inserts). Rows are appended
+ * after the existing ids, so the portal.sql base data (and the admin login) stay in place unless
+ * --truncate is given. Unique columns (username, phone, student no, id card, names) are derived
+ * from the row id and the random source is seeded, so the same options load the same data. The
+ * derived values can still clash with rows loaded by hand, so the database keeps checking unique
+ * keys unless the table was empty (see BulkLoader).
+ *
+ * Distributions:
+ * - Staff: mostly lecturers, salary log-normal around a per-role median, tenure exponential
+ *   (mean 8 years), 0-5 earlier positions each; department sizes are log-normal.
+ * - Sections: Fall / Winter / Summer terms of the last three academic years, mostly led by
+ *   class masters; enrolment per section is log-normal and larger for 1000-level courses.
+ * - Students: year levels 1-4 taper off, with graduate students and alumni; GPA normal and rising
+ *   slightly with the year, credits follow the year level (fewer for part-time); alumni and about
+ *   6% of current students have no section; update_time is recent-heavy, like real edit traffic.
+ * - Audit log: volume follows the academic calendar (weekdays, office hours, September and
+ *   January peaks, quiet holidays), a few staff members make most changes, cost is log-normal.
+ *
+ * Standalone:
+ * mvn compile exec:java@generate -Dexec.args="--jdbc-url=jdbc:mysql://localhost:3306/academic_portal --password=..."
+ *
+ * @Description: 压测数据生成器（按真实分布生成各业务表数据，并以 LOAD DATA / 批量插入高速导入）
+ */
+public class DataGenerator {
+
+    private static final String[] FACULTIES = {"Lassonde School of Engineering", "Faculty of Science",
+            "Schulich School of Business", "Liberal Arts & Professional Studies", "Glendon College", "Faculty of Health",
+            "Osgoode Hall Law School", "School of the Arts, Media & Design", "Faculty of Education",
+            "Environmental & Urban Change", "Faculty of Graduate Studies", "Markham Campus"};
+    private static final String[] FIRST_NAMES = {"Olivia", "Liam", "Emma", "Noah", "Ava", "Ethan", "Mia", "Lucas",
+            "Chloe", "Aiden", "Wei", "Priya", "Arjun", "Sofia", "Mateo", "Yuki", "Fatima", "Omar", "Hannah", "Daniel",
+            "Jin", "Amara", "Isaac", "Leila", "Ravi", "Grace", "Mohammed", "Zoe", "Diego", "Mei"};
+    private static final String[] LAST_NAMES = {"Smith", "Brown", "Tremblay", "Martin", "Roy", "Wilson", "Chen", "Wang",
+            "Patel", "Singh", "Nguyen", "Kim", "Garcia", "Lee", "Taylor", "Campbell", "Li", "Khan", "Ali", "Murphy",
+            "Gagnon", "Zhang", "Sharma", "Rossi", "Silva", "Hassan", "Park", "Liu", "Lopez", "Côté"};
+    private static final String[] CITIES = {"Toronto, ON", "North York, ON", "Vaughan, ON", "Markham, ON",
+            "Mississauga, ON", "Brampton, ON", "Richmond Hill, ON", "Scarborough, ON"};
+    private static final Distributions.Weighted CITY = new Distributions.Weighted(35, 15, 10, 8, 8, 8, 8, 8);
+    private static final String[] BUILDINGS = {"Lassonde", "Vari Hall", "Curtis Hall", "Ross South", "Accolade East",
+            "Life Sci", "Seymour Schulich", "Bergeron", "Stedman", "Kaneff"};
+    private static final String[] COMPANIES = {"University of Toronto", "Toronto Metropolitan University",
+            "University of Waterloo", "McMaster University", "Seneca Polytechnic", "Humber College", "RBC", "TD Bank",
+            "Shopify", "OpenText", "Ontario Public Service", "IBM Canada"};
+    private static final String[] EXPERIENCE_JOBS = {"Teaching Assistant", "Sessional Lecturer", "Research Associate",
+            "Postdoctoral Fellow", "Software Developer", "Academic Advisor", "Program Coordinator", "Data Analyst"};
+
+    // emp.job: 1 Class Master, 2 Lecturer, 3 Student Affairs, 4 Research, 5 Consultant, NULL Other
+    private static final Integer[] JOBS = {1, 2, 3, 4, 5, null};
+    private static final Distributions.Weighted JOB = new Distributions.Weighted(10, 55, 12, 13, 7, 3);
+    private static final int[] JOB_MEDIAN_SALARY = {95_000, 110_000, 75_000, 120_000, 85_000, 60_000};
+
+    // clazz.subject: 1 Java, 2 Web, 3 Data, 4 Python
+    private static final String[] SUBJECT_PREFIX = {"EECS", "ITEC", "MATH", "DATA"};
+    private static final Distributions.Weighted SUBJECT = new Distributions.Weighted(30, 25, 25, 20);
+    private static final Distributions.Weighted COURSE_LEVEL = new Distributions.Weighted(35, 30, 20, 15);
+    private static final Distributions.Weighted TERM = new Distributions.Weighted(45, 40, 15);
+    private static final Distributions.Weighted ACADEMIC_YEAR_AGO = new Distributions.Weighted(50, 30, 20);
+
+    // student.year_level: 1-4, 5 Graduate, NULL Alumni
+    private static final Integer[] YEAR_LEVELS = {1, 2, 3, 4, 5, null};
+    private static final Distributions.Weighted YEAR_LEVEL = new Distributions.Weighted(27, 22, 20, 19, 8, 4);
+
+    // Audit activity by hour of day / 按小时分布的操作量
+    private static final Distributions.Weighted HOUR = new Distributions.Weighted(
+            0.2, 0.1, 0.1, 0.1, 0.1, 0.2, 0.5, 1.5, 5, 10, 14, 15, 10, 13, 15, 14, 11, 6, 3, 2, 1.5, 1, 0.5, 0.3);
+
+    private record Action(String controller, String method, char params, double weight) {
+    }
+
+    // Params: S student id, G id + GPA, E entity, D department id, I id list
+    private static final Action[] ACTIONS = {
+            new Action("StudentController", "updateGPA", 'G', 25),
+            new Action("StudentController", "update", 'E', 18),
+            new Action("StudentController", "save", 'E', 8),
+            new Action("StudentController", "delete", 'I', 3),
+            new Action("StudentController", "importStudents", 'S', 0.5),
+            new Action("EmpController", "update", 'E', 10),
+            new Action("EmpController", "save", 'E', 4),
+            new Action("EmpController", "delete", 'I', 1.5),
+            new Action("ClazzController", "update", 'E', 6),
+            new Action("ClazzController", "save", 'E', 3),
+            new Action("DeptController", "getInfo", 'D', 14),
+            new Action("DeptController", "update", 'D', 4),
+            new Action("DeptController", "add", 'D', 2),
+            new Action("DeptController", "delete", 'D', 1)};
+    private static final Distributions.Weighted ACTION =
+            new Distributions.Weighted(Arrays.stream(ACTIONS).mapToDouble(Action::weight).toArray());
+
+    /**
+     * Rows, time and load method of one table
+     * 单表导入结果（行数、耗时、导入方式）
+     */
+    public record TableLoad(long rows, long millis, String method) {
+
+        public long rowsPerSecond() {
+            return millis == 0 ? rows : rows * 1000 / millis;
+        }
+    }
+
+    /**
+     * Rows added per table and the highest ids, used to build request URLs
+     * 各表导入结果与最大 ID（压测请求据此生成参数）
+     */
+    public record Result(Map<String, TableLoad> tables, int maxEmpId, int maxClazzId, int maxStudentId, long elapsedMs) {
+
+        public long totalRows() {
+            return tables.values().stream().mapToLong(TableLoad::rows).sum();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowFiller {
+        void fill(Object[] row, int index);
+    }
+
+    private final DataGeneratorOptions options;
+
+    private final SplittableRandom random;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    // First year of the current academic year (it starts in September) / 当前学年的起始年份
+    private final int intakeYear = now.getMonthValue() >= 9 ? now.getYear() : now.getYear() - 1;
+
+    // State shared between tables: later tables pick their foreign keys from these
+    // 表间共享状态：后生成的表据此选择外键
+    private int firstDept;
+    private int firstEmp;
+    private int firstClazz;
+    private int firstStudent;
+    private Distributions.Weighted deptSize;
+    private long[] empEntryDays;
+    private int[] classMasters;
+    private int classMasterCount;
+    private double[] sectionWeights;
+    private Distributions.Weighted sectionSize;
+
+    public DataGenerator(DataGeneratorOptions options) {
+        this.options = options;
+        this.random = new SplittableRandom(options.seed());
+    }
+
+    public static void main(String[] args) throws Exception {
+        DataGeneratorOptions options = DataGeneratorOptions.parse(args);
+        try (Connection connection = DriverManager.getConnection(bulkLoadUrl(options.jdbcUrl()), options.user(), options.password())) {
+            print(new DataGenerator(options).generate(connection));
+        }
+    }
+
+    /**
+     * Connection URL with the driver options the bulk load needs
+     * 追加批量导入所需的驱动参数（允许 LOAD DATA LOCAL、批量改写 INSERT）
+     */
+    public static String bulkLoadUrl(String jdbcUrl) {
+        String url = jdbcUrl;
+        for (String option : List.of("allowLoadLocalInfile=true", "rewriteBatchedStatements=true")) {
+            if (!url.contains(option.substring(0, option.indexOf('=') + 1))) {
+                url += (url.contains("?") ? "&" : "?") + option;
+            }
+        }
+        return url;
+    }
+
+    public Result generate(Connection connection) throws SQLException {
+        long start = System.currentTimeMillis();
+        Map<String, TableLoad> tables = new LinkedHashMap<>();
+        try (BulkLoader loader = new BulkLoader(connection, options.mode(), options.chunkRows())) {
+            if (options.truncate()) {
+                truncate(connection);
+            }
+
+            firstDept = maxId(connection, "dept") + 1;
+            tables.put("dept", load(loader, "dept", List.of("id", "name", "create_time", "update_time"), depts()));
+
+            firstEmp = maxId(connection, "emp") + 1;
+            tables.put("emp", load(loader, "emp", List.of("id", "username", "password", "name", "gender", "phone", "job",
+                    "salary", "image", "entry_date", "dept_id", "create_time", "update_time"), emps()));
+
+            int firstExperience = maxId(connection, "emp_expr") + 1;
+            tables.put("emp_expr", load(loader, "emp_expr", List.of("id", "emp_id", "begin", "end", "company", "job"),
+                    new ExperienceSource(firstExperience)));
+
+            firstClazz = maxId(connection, "clazz") + 1;
+            tables.put("clazz", load(loader, "clazz", List.of("id", "name", "room", "begin_date", "end_date", "master_id",
+                    "subject", "create_time", "update_time"), clazzes()));
+            sectionSize = new Distributions.Weighted(sectionWeights);
+
+            firstStudent = maxId(connection, "student") + 1;
+            tables.put("student", load(loader, "student", List.of("id", "name", "no", "gender", "phone", "id_card",
+                    "enrollment_status", "address", "year_level", "graduation_date", "clazz_id", "gpa", "credits",
+                    "create_time", "update_time"), students()));
+
+            int firstLog = maxId(connection, "operate_log") + 1;
+            tables.put("operate_log", load(loader, "operate_log", List.of("id", "operate_emp_id", "operate_time",
+                    "class_name", "method_name", "method_params", "return_value", "cost_time"), new AuditLogSource(firstLog)));
+
+            analyze(connection);
+        }
+        return new Result(tables, firstEmp + options.emps() - 1, firstClazz + options.clazzes() - 1,
+                firstStudent + options.students() - 1, System.currentTimeMillis() - start);
+    }
+
+    // ----------- Tables -----------
+
+    private BulkLoader.RowSource depts() {
+        deptSize = Distributions.Weighted.logNormal(random, options.depts(), 0.6);
+        return rows(options.depts(), (row, i) -> {
+            int id = firstDept + i;
+            LocalDateTime created = now.minusDays(365 + random.nextInt(3650));
+            row[0] = id;
+            row[1] = FACULTIES[i % FACULTIES.length] + " " + id;
+            row[2] = created;
+            row[3] = between(created, now);
+        });
+    }
+
+    private BulkLoader.RowSource emps() {
+        empEntryDays = new long[options.emps()];
+        classMasters = new int[options.emps()];
+        classMasterCount = 0;
+        long today = now.toLocalDate().toEpochDay();
+        return rows(options.emps(), (row, i) -> {
+            int id = firstEmp + i;
+            int job = JOB.next(random);
+            double tenureYears = Math.min(35, Distributions.exponential(random, 8));
+            LocalDate entryDate = LocalDate.ofEpochDay(today - (long) (tenureYears * 365));
+            empEntryDays[i] = entryDate.toEpochDay();
+            if (job == 0) {
+                classMasters[classMasterCount++] = id;
+            }
+            LocalDateTime created = entryDate.atTime(9, 0).plusMinutes(random.nextInt(480));
+            row[0] = id;
+            row[1] = "staff" + id;
+            row[2] = "123456";
+            row[3] = name();
+            row[4] = random.nextInt(100) < 52 ? 2 : 1;
+            row[5] = "2" + pad(id, 10);
+            row[6] = JOBS[job];
+            row[7] = (int) Math.round(Distributions.logNormal(random, JOB_MEDIAN_SALARY[job], 0.18) * (1 + tenureYears / 100) / 100) * 100;
+            row[8] = "http://localhost/files/2024/09/staff" + id + ".jpg";
+            row[9] = entryDate;
+            row[10] = firstDept + deptSize.next(random);
+            row[11] = created;
+            row[12] = between(created, now);
+        });
+    }
+
+    /**
+     * Earlier positions of each staff member (Poisson, mean 1.6, at most 5), going back in time from the entry date
+     * 每位教职工的过往经历（泊松分布，均值 1.6，最多 5 段），自入职日期向前倒推
+     */
+    private class ExperienceSource implements BulkLoader.RowSource {
+
+        private final int firstId;
+        private int nextId;
+        private int emp = -1;
+        private int remaining;
+        private long cursorDay;
+
+        ExperienceSource(int firstId) {
+            this.firstId = firstId;
+        }
+
+        @Override
+        public boolean next(Object[] row) {
+            while (remaining == 0) {
+                if (++emp == options.emps()) {
+                    return false;
+                }
+                remaining = Math.min(5, Distributions.poisson(random, 1.6));
+                cursorDay = empEntryDays[emp];
+            }
+            remaining--;
+            long end = cursorDay - random.nextInt(180);
+            long begin = end - Math.max(180, (long) Distributions.logNormal(random, 3 * 365, 0.5));
+            cursorDay = begin;
+            row[0] = firstId + nextId++;
+            row[1] = firstEmp + emp;
+            row[2] = LocalDate.ofEpochDay(begin);
+            row[3] = LocalDate.ofEpochDay(end);
+            row[4] = COMPANIES[random.nextInt(COMPANIES.length)];
+            row[5] = EXPERIENCE_JOBS[random.nextInt(EXPERIENCE_JOBS.length)];
+            return true;
+        }
+    }
+
+    private BulkLoader.RowSource clazzes() {
+        sectionWeights = new double[options.clazzes()];
+        return rows(options.clazzes(), (row, i) -> {
+            int id = firstClazz + i;
+            int subject = SUBJECT.next(random);
+            int level = 1 + COURSE_LEVEL.next(random);
+            int year = intakeYear - ACADEMIC_YEAR_AGO.next(random);
+            LocalDate begin;
+            LocalDate end;
+            switch (TERM.next(random)) {
+                case 0 -> {
+                    begin = LocalDate.of(year, 9, 1);
+                    end = LocalDate.of(year, 12, 20);
+                }
+                case 1 -> {
+                    begin = LocalDate.of(year + 1, 1, 10);
+                    end = LocalDate.of(year + 1, 4, 30);
+                }
+                default -> {
+                    begin = LocalDate.of(year + 1, 5, 6);
+                    end = LocalDate.of(year + 1, 8, 10);
+                }
+            }
+            // Introductory courses run the big lecture sections / 低年级课程人数更多
+            sectionWeights[i] = Math.exp(0.8 * random.nextGaussian()) * (5 - level);
+            LocalDateTime created = begin.minusDays(60 + random.nextInt(60)).atTime(10, 0);
+            row[0] = id;
+            row[1] = SUBJECT_PREFIX[subject] + " " + (level * 1000 + random.nextInt(100) * 10) + " Section " + id;
+            row[2] = BUILDINGS[random.nextInt(BUILDINGS.length)] + " " + (100 + random.nextInt(300));
+            row[3] = begin;
+            row[4] = end;
+            row[5] = classMasterCount > 0 && random.nextInt(10) < 9
+                    ? classMasters[random.nextInt(classMasterCount)] : firstEmp + random.nextInt(options.emps());
+            row[6] = subject + 1;
+            row[7] = created;
+            row[8] = between(created, now);
+        });
+    }
+
+    private BulkLoader.RowSource students() {
+        return rows(options.students(), (row, i) -> {
+            int id = firstStudent + i;
+            Integer yearLevel = YEAR_LEVELS[YEAR_LEVEL.next(random)];
+            boolean partTime = random.nextInt(100) < 15;
+            double gpa;
+            int credits;
+            int enrolledYear;
+            int graduationYear;
+            if (yearLevel == null) {
+                graduationYear = intakeYear - random.nextInt(5);
+                enrolledYear = graduationYear - 4;
+                gpa = Distributions.normal(random, 6.4, 1.3, 1, 9);
+                credits = 120 + random.nextInt(31);
+            } else if (yearLevel == 5) {
+                enrolledYear = intakeYear - random.nextInt(2);
+                graduationYear = enrolledYear + 2;
+                gpa = Distributions.normal(random, 7.4, 0.9, 3, 9);
+                credits = random.nextInt(25);
+            } else {
+                enrolledYear = intakeYear - (yearLevel - 1);
+                graduationYear = intakeYear + 5 - yearLevel;
+                gpa = Distributions.normal(random, 5.8 + 0.2 * (yearLevel - 1), 1.6, 0, 9);
+                credits = (yearLevel - 1) * 30 + random.nextInt(31);
+                if (partTime) {
+                    credits = credits * 3 / 5;
+                }
+            }
+            Integer clazzId = yearLevel == null || random.nextInt(100) < 6 ? null : firstClazz + sectionSize.next(random);
+            LocalDateTime created = LocalDate.of(enrolledYear, 9, 1).atTime(8, 0)
+                    .minusDays(random.nextInt(90)).plusSeconds(random.nextInt(36_000));
+            LocalDateTime updated = now.minusSeconds((long) Distributions.exponential(random, 45 * 86_400));
+            row[0] = id;
+            row[1] = name();
+            row[2] = "3" + pad(id, 9);
+            row[3] = 1 + random.nextInt(2);
+            row[4] = "5" + pad(id, 10);
+            row[5] = "SYN" + pad(id, 15);
+            row[6] = partTime ? 0 : 1;
+            row[7] = CITIES[CITY.next(random)];
+            row[8] = yearLevel;
+            row[9] = LocalDate.of(graduationYear, 6, 1);
+            row[10] = clazzId;
+            row[11] = BigDecimal.valueOf(Math.round(gpa * 10), 1);
+            row[12] = credits;
+            row[13] = created;
+            row[14] = updated.isBefore(created) ? created : updated;
+        });
+    }
+
+    /**
+     * Audit rows in time order: the volume is spread over the days by the academic calendar, then
+     * over office hours within each day
+     * 按时间顺序生成操作日志：先按校历把总量分到每天，再按工作时段分到每小时
+     */
+    private class AuditLogSource implements BulkLoader.RowSource {
+
+        private final int firstId;
+        private final LocalDate firstDay;
+        private final long[] perDay;
+        private final Distributions.Weighted operator;
+        private int nextId;
+        private int day = -1;
+        private int[] seconds = new int[0];
+        private int position;
+
+        AuditLogSource(int firstId) {
+            this.firstId = firstId;
+            this.firstDay = now.toLocalDate().minusDays(options.logDays() - 1);
+            double[] weights = new double[options.logDays()];
+            double total = 0;
+            for (int d = 0; d < weights.length; d++) {
+                weights[d] = dayWeight(firstDay.plusDays(d));
+                total += weights[d];
+            }
+            // Cumulative rounding, so the days add up to exactly --logs / 累计取整，保证总数准确
+            perDay = new long[weights.length];
+            double running = 0;
+            long assigned = 0;
+            for (int d = 0; d < weights.length; d++) {
+                running += weights[d];
+                long upTo = Math.round(options.logs() * running / total);
+                perDay[d] = upTo - assigned;
+                assigned = upTo;
+            }
+            operator = Distributions.Weighted.zipf(options.emps(), 1.1);
+        }
+
+        @Override
+        public boolean next(Object[] row) {
+            while (position == seconds.length) {
+                if (++day == perDay.length) {
+                    return false;
+                }
+                seconds = new int[(int) perDay[day]];
+                for (int k = 0; k < seconds.length; k++) {
+                    seconds[k] = HOUR.next(random) * 3600 + random.nextInt(3600);
+                }
+                Arrays.sort(seconds);
+                position = 0;
+            }
+            Action action = ACTIONS[ACTION.next(random)];
+            double medianMs = action.method().equals("importStudents") ? 900 : 14;
+            row[0] = firstId + nextId++;
+            row[1] = firstEmp + operator.next(random);
+            row[2] = firstDay.plusDays(day).atStartOfDay().plusSeconds(seconds[position++]);
+            row[3] = "com.yorku.controller." + action.controller();
+            row[4] = action.method();
+            row[5] = params(action);
+            row[6] = action.method().equals("getInfo") ? "Result(code=1, msg=success, data=Dept(id="
+                    + (firstDept + random.nextInt(options.depts())) + "))" : "Result(code=1, msg=success, data=null)";
+            row[7] = Math.max(1, Math.min(30_000, Math.round(Distributions.logNormal(random, medianMs, 0.8))));
+            return true;
+        }
+
+        private String params(Action action) {
+            int studentId = firstStudent + random.nextInt(Math.max(1, options.students()));
+            return switch (action.params()) {
+                case 'G' -> "[" + studentId + ", " + (random.nextInt(91) / 10.0) + "]";
+                case 'E' -> "[" + action.controller().replace("Controller", "") + "(id=" + studentId + ")]";
+                case 'D' -> "[" + (firstDept + random.nextInt(options.depts())) + "]";
+                case 'I' -> "[[" + studentId + "]]";
+                default -> "[" + studentId + "]";
+            };
+        }
+
+        // Weekends are quiet, September and January (term starts) busy, the winter break almost idle
+        // 周末较少，九月与一月（开学）最忙，寒假几乎没有操作
+        private double dayWeight(LocalDate date) {
+            double weight = switch (date.getDayOfWeek()) {
+                case SATURDAY -> 0.2;
+                case SUNDAY -> 0.15;
+                case MONDAY -> 1.2;
+                default -> 1.0;
+            };
+            int month = date.getMonthValue();
+            int dayOfMonth = date.getDayOfMonth();
+            if (month == 9 || (month == 1 && dayOfMonth > 3)) {
+                weight *= 1.6;
+            }
+            if ((month == 12 && dayOfMonth > 20) || (month == 1 && dayOfMonth <= 3)) {
+                weight *= 0.1;
+            }
+            return weight;
+        }
+    }
+
+    // ----------- Helpers -----------
+
+    private static BulkLoader.RowSource rows(int count, RowFiller filler) {
+        int[] index = {0};
+        return row -> {
+            if (index[0] == count) {
+                return false;
+            }
+            filler.fill(row, index[0]++);
+            return true;
+        };
+    }
+
+    private TableLoad load(BulkLoader loader, String table, List<String> columns, BulkLoader.RowSource source) throws SQLException {
+        long start = System.currentTimeMillis();
+        long rows = loader.load(table, columns, source);
+        TableLoad result = new TableLoad(rows, System.currentTimeMillis() - start,
+                loader.mode() == BulkLoader.Mode.INSERT ? "INSERT" : "LOAD DATA");
+        System.out.printf("%-12s %,12d rows %8.1f s %,10d rows/s  (%s)%n", table, result.rows(),
+                result.millis() / 1000.0, result.rowsPerSecond(), result.method());
+        return result;
+    }
+
+    private String name() {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private LocalDateTime between(LocalDateTime from, LocalDateTime to) {
+        long seconds = ChronoUnit.SECONDS.between(from, to);
+        return seconds <= 0 ? from : from.plusSeconds(random.nextLong(seconds));
+    }
+
+    private static String pad(int value, int width) {
+        String digits = Integer.toString(value);
+        return digits.length() >= width ? digits : "0".repeat(width - digits.length()) + digits;
+    }
+
+    private static int maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) from " + table)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static void truncate(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : List.of("operate_log", "student", "clazz", "emp_expr", "emp", "dept")) {
+                statement.execute("truncate table " + table);
+            }
+        }
+    }
+
+    // Fresh index statistics, so the optimizer plans against the loaded volume / 更新统计信息，使执行计划基于导入后的数据量
+    private static void analyze(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze table dept, emp, emp_expr, clazz, student, operate_log");
+        }
+        connection.commit();
+    }
+
+    public static void print(Result result) {
+        System.out.printf("Generated %,d rows in %.1f s (%,d rows/s)%n", result.totalRows(), result.elapsedMs() / 1000.0,
+                result.elapsedMs() == 0 ? result.totalRows() : result.totalRows() * 1000 / result.elapsedMs());
+    }
+}
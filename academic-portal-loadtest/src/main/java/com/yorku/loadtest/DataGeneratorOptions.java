@@ -0,0 +1,76 @@
+package com.yorku.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Data Generator Options
+ * Parsed from --name=value arguments; the defaults generate about six million rows.
+ *
+ * @Description: 数据生成参数（命令行 --参数名=值）
+ *
+ * @param jdbcUrl   target database (any MySQL 8 / MariaDB with the portal.sql schema) / 目标数据库
+ * @param user      database user / 数据库用户名
+ * @param password  database password / 数据库密码
+ * @param depts     departments / 院系数
+ * @param emps      staff members / 教职工数
+ * @param clazzes   course sections / 课程数
+ * @param students  students / 学生数
+ * @param logs      operate_log audit rows / 操作日志行数
+ * @param logDays   days of audit history, ending now / 操作日志覆盖的天数
+ * @param chunkRows rows per LOAD DATA statement and commit / 每次导入并提交的行数
+ * @param mode      AUTO (LOAD DATA, falling back to inserts), LOAD_DATA or INSERT / 导入方式
+ * @param seed      random seed; the same seed and counts give the same data / 随机种子
+ * @param truncate  empty the six tables first, including the portal.sql base rows / 先清空各表（含基础数据）
+ */
+public record DataGeneratorOptions(String jdbcUrl, String user, String password,
+                                   int depts, int emps, int clazzes, int students, long logs, int logDays,
+                                   int chunkRows, BulkLoader.Mode mode, long seed, boolean truncate) {
+
+    /**
+     * Volumes used by the load-test harness: 1 = 10 departments, 500 staff, 100 sections,
+     * 20,000 students and 100,000 audit rows
+     * 压测默认数据量（按倍数线性增长）
+     */
+    public static DataGeneratorOptions forScale(int scale) {
+        return new DataGeneratorOptions(null, null, null, 10 * scale, 500 * scale, 100 * scale, 20_000 * scale,
+                100_000L * scale, 365, 50_000, BulkLoader.Mode.AUTO, 42, false);
+    }
+
+    public static DataGeneratorOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        DataGeneratorOptions options = new DataGeneratorOptions(
+                take(values, "jdbc-url", "jdbc:mysql://localhost:3306/academic_portal"),
+                take(values, "user", "root"),
+                take(values, "password", ""),
+                Integer.parseInt(take(values, "depts", "12")),
+                Integer.parseInt(take(values, "emps", "2000")),
+                Integer.parseInt(take(values, "clazzes", "1500")),
+                Integer.parseInt(take(values, "students", "1000000")),
+                Long.parseLong(take(values, "logs", "5000000")),
+                Integer.parseInt(take(values, "log-days", "365")),
+                Integer.parseInt(take(values, "chunk-rows", "50000")),
+                BulkLoader.Mode.valueOf(take(values, "mode", "AUTO").toUpperCase()),
+                Long.parseLong(take(values, "seed", "42")),
+                Boolean.parseBoolean(take(values, "truncate", "false")));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        if (options.depts() < 1 || options.emps() < 1 || options.clazzes() < 1 || options.logDays() < 1) {
+            throw new IllegalArgumentException("--depts, --emps, --clazzes and --log-days must be at least 1");
+        }
+        return options;
+    }
+
+    private static String take(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,93 @@
+package com.yorku.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Sampling helpers for the data generator: weighted choice, clipped normal, log-normal,
+ * exponential and Poisson draws on a seeded SplittableRandom.
+ *
+ * @Description: 数据生成用的随机分布工具（加权选择、正态、对数正态、指数、泊松）
+ */
+final class Distributions {
+
+    private Distributions() {
+    }
+
+    /**
+     * Weighted choice over indexes 0..n-1 (cumulative weights, binary search per draw)
+     * 按权重选择下标（累计权重 + 二分查找）
+     */
+    static final class Weighted {
+
+        private final double[] cumulative;
+
+        Weighted(double... weights) {
+            cumulative = new double[weights.length];
+            double running = 0;
+            for (int i = 0; i < weights.length; i++) {
+                running += weights[i];
+                cumulative[i] = running;
+            }
+        }
+
+        int next(SplittableRandom random) {
+            double u = random.nextDouble() * cumulative[cumulative.length - 1];
+            int i = Arrays.binarySearch(cumulative, u);
+            i = i >= 0 ? i + 1 : -i - 1;
+            return Math.min(i, cumulative.length - 1);
+        }
+
+        int size() {
+            return cumulative.length;
+        }
+
+        /**
+         * Log-normal weights: a few heavy items and a long tail of light ones (section sizes, department head counts)
+         * 对数正态权重：少数项占比大、多数项占比小（如课程人数、院系规模）
+         */
+        static Weighted logNormal(SplittableRandom random, int n, double sigma) {
+            double[] weights = new double[n];
+            for (int i = 0; i < n; i++) {
+                weights[i] = Math.exp(sigma * random.nextGaussian());
+            }
+            return new Weighted(weights);
+        }
+
+        /**
+         * Zipf weights 1/k^s: the first items get most of the draws (e.g. the few most active operators)
+         * Zipf 权重：排名靠前的少数项被选中最多
+         */
+        static Weighted zipf(int n, double s) {
+            double[] weights = new double[n];
+            for (int i = 0; i < n; i++) {
+                weights[i] = 1 / Math.pow(i + 1, s);
+            }
+            return new Weighted(weights);
+        }
+    }
+
+    static double normal(SplittableRandom random, double mean, double sd, double min, double max) {
+        return Math.max(min, Math.min(max, mean + sd * random.nextGaussian()));
+    }
+
+    static double logNormal(SplittableRandom random, double median, double sigma) {
+        return median * Math.exp(sigma * random.nextGaussian());
+    }
+
+    static double exponential(SplittableRandom random, double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+
+    // Knuth's method, fine for the small means used here / 适用于较小均值
+    static int poisson(SplittableRandom random, double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int k = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            k++;
+        }
+        return k;
+    }
+}
@@ -0,0 +1,100 @@
+package com.yorku.loadtest;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Embedded Database
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Runs a MariaDB server from the binaries bundled with MariaDB4j (no MySQL install or container)
+ * and loads portal.sql into it, so the portal's mapper SQL runs against a real MySQL-compatible
+ * engine. The data directory is temporary and removed when the server stops.
+ *
+ * @Description: 内嵌 MariaDB 数据库（与 MySQL 兼容），启动后执行 portal.sql 建表并写入基础数据
+ */
+public class EmbeddedDatabase implements AutoCloseable {
+
+    public static final String DATABASE = "academic_portal";
+
+    private static final String USER = "root";
+
+    // Same driver options as application.yml
+    // 与 application.yml 保持一致的连接参数
+    private static final String JDBC_OPTIONS = "?useUnicode=true&characterEncoding=utf-8&useSSL=false&allowPublicKeyRetrieval=true"
+            + "&useCursorFetch=true&rewriteBatchedStatements=true&cachePrepStmts=true&useServerPrepStmts=true"
+            + "&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048";
+
+    private final DB db;
+
+    private final int port;
+
+    private EmbeddedDatabase(DB db, int port) {
+        this.db = db;
+        this.port = port;
+    }
+
+    public static EmbeddedDatabase start(int port) throws Exception {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(port); // 0 = pick a free port / 0 表示自动选择空闲端口
+        config.addArg("--max-connections=500");
+        config.addArg("--character-set-server=utf8mb4");
+        config.addArg("--collation-server=utf8mb4_unicode_ci");
+        if ("root".equals(System.getProperty("user.name"))) {
+            // mariadbd refuses to run as root unless asked to (CI containers) / 以 root 运行时需显式指定用户
+            config.addArg("--user=root");
+        }
+        DB db = DB.newEmbeddedDB(config.build());
+        db.start();
+        return new EmbeddedDatabase(db, db.getConfiguration().getPort());
+    }
+
+    /**
+     * Execute the schema script (it drops and recreates academic_portal)
+     * 执行建表脚本（脚本会重建 academic_portal 库）
+     */
+    public void loadSchema(Path script) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(serverUrl(), USER, "")) {
+            ScriptUtils.executeSqlScript(connection, new EncodedResource(new FileSystemResource(script), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Connection for the data generator (LOAD DATA LOCAL enabled; MariaDB allows it by default)
+     * 数据生成器使用的连接（开启 LOAD DATA LOCAL，MariaDB 默认允许）
+     */
+    public Connection connect() throws SQLException {
+        return DriverManager.getConnection(DataGenerator.bulkLoadUrl(jdbcUrl()), USER, "");
+    }
+
+    public String jdbcUrl() {
+        return "jdbc:mysql://localhost:" + port + "/" + DATABASE + JDBC_OPTIONS;
+    }
+
+    public String username() {
+        return USER;
+    }
+
+    public int port() {
+        return port;
+    }
+
+    private String serverUrl() {
+        return "jdbc:mysql://localhost:" + port + "/" + JDBC_OPTIONS;
+    }
+
+    @Override
+    public void close() throws Exception {
+        db.stop();
+    }
+}
@@ -0,0 +1,142 @@
+package com.yorku.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fake AI Backend
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Local stand-in for the Gemini generateContent endpoint (ai.model.url). It reads the user
+ * question out of AiService's prompt, waits for the configured latency, and answers in Gemini's
+ * response shape with one of the canned SQL translations below (wrapped in a ```json fence the
+ * way the real model does). A share of calls can be answered with HTTP 503 to exercise the
+ * fallback path.
+ *
+ * @Description: 模拟 AI 接口（Gemini 响应格式、可配置耗时与错误比例）
+ */
+public class FakeAiServer implements AutoCloseable {
+
+    /**
+     * Question prefixes the load driver sends, with the translation the stub returns
+     * 压测使用的问题及模拟返回的 SQL
+     */
+    public record CannedAnswer(String question, String type, String sql) {
+    }
+
+    public static final List<CannedAnswer> ANSWERS = List.of(
+            new CannedAnswer("Show students with GPA above 8", "SELECT",
+                    "SELECT id, name, no, gpa FROM student WHERE gpa > 8.0 ORDER BY gpa DESC LIMIT 100"),
+            new CannedAnswer("How many students are in each year level", "SELECT",
+                    "SELECT year_level, COUNT(*) AS cnt FROM student GROUP BY year_level"),
+            new CannedAnswer("List the lecturers and their faculties", "SELECT",
+                    "SELECT e.id, e.name, d.name AS faculty FROM emp e JOIN dept d ON e.dept_id = d.id WHERE e.job = 2 LIMIT 100"),
+            new CannedAnswer("Average GPA per course section", "SELECT",
+                    "SELECT c.name, AVG(s.gpa) AS avg_gpa, COUNT(*) AS students FROM student s JOIN clazz c ON s.clazz_id = c.id"
+                            + " GROUP BY c.id, c.name ORDER BY avg_gpa DESC LIMIT 50"),
+            new CannedAnswer("Hello, what can you do", "CHAT", null));
+
+    private static final Pattern QUESTION = Pattern.compile("USER QUERY \\(用户查询\\): \"(.*?)\"");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpServer server;
+
+    private final int latencyMs;
+
+    private final double errorRate;
+
+    private final LongAdder calls = new LongAdder();
+
+    private FakeAiServer(HttpServer server, int latencyMs, double errorRate) {
+        this.server = server;
+        this.latencyMs = latencyMs;
+        this.errorRate = errorRate;
+    }
+
+    public static FakeAiServer start(int latencyMs, double errorRate) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        FakeAiServer fake = new FakeAiServer(server, latencyMs, errorRate);
+        server.createContext("/", fake::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return fake;
+    }
+
+    /**
+     * Value for ai.model.url
+     * 作为 ai.model.url 配置的地址
+     */
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/v1beta/models/stub:generateContent";
+    }
+
+    public long calls() {
+        return calls.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        calls.increment();
+        try (exchange) {
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            String prompt = request.path("contents").path(0).path("parts").path(0).path("text").asText();
+            Matcher matcher = QUESTION.matcher(prompt);
+            String question = matcher.find() ? matcher.group(1) : "";
+
+            // Latency with +/-20% jitter / 模拟耗时（上下浮动 20%）
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (latencyMs > 0) {
+                Thread.sleep((long) (latencyMs * (0.8 + random.nextDouble() * 0.4)));
+            }
+
+            if (random.nextDouble() < errorRate) {
+                respond(exchange, 503, "{\"error\":{\"code\":503,\"message\":\"The model is overloaded (stub)\",\"status\":\"UNAVAILABLE\"}}");
+                return;
+            }
+
+            ObjectNode answer = objectMapper.createObjectNode();
+            CannedAnswer canned = ANSWERS.stream().filter(a -> question.startsWith(a.question())).findFirst()
+                    .orElse(ANSWERS.get(ANSWERS.size() - 1));
+            answer.put("type", canned.type());
+            answer.put("sql", canned.sql());
+            answer.put("message", "Stub translation of: " + question);
+
+            ObjectNode response = objectMapper.createObjectNode();
+            response.putArray("candidates").addObject()
+                    .putObject("content").putArray("parts").addObject()
+                    .put("text", "```json\n" + answer.toPrettyString() + "\n```");
+            respond(exchange, 200, response.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,229 @@
+package com.yorku.loadtest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Load Driver
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Closed-model load: each virtual user (one virtual thread) picks a weighted scenario, sends the
+ * request, waits for the response and repeats until the run ends. Requests started during the
+ * warm-up are not counted. A request succeeds when it returns HTTP 200 with Result code 1
+ * (streamed and file responses only need HTTP 200).
+ *
+ * @Description: 压测请求驱动（虚拟线程模拟并发用户，按接口统计吞吐量与延迟分位数）
+ */
+public class LoadDriver {
+
+    /**
+     * One request type and its share of the traffic
+     * 一类请求及其流量权重
+     */
+    private record Scenario(String name, int weight, Function<ThreadLocalRandom, HttpRequest.Builder> request) {
+    }
+
+    // Client-side latency per scenario; percentiles cover the whole measured run (no decay)
+    // 按场景统计的客户端延迟，分位数覆盖整个测量期（不按时间窗口衰减）
+    private record Stats(Timer timer, LongAdder errors) {
+    }
+
+    private static final String[] NAME_FRAGMENTS = {"an", "li", "son", "Chen", "ma", "Pat"};
+
+    private static final String[] REPORTS = {"empJobData", "empGenderData", "studentCountData", "studentDegreeData"};
+
+    private static final byte[] IMAGE = new byte[20 * 1024];
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private final String baseUrl;
+
+    private final String token;
+
+    private final LoadTestOptions options;
+
+    private final List<Scenario> scenarios = new ArrayList<>();
+
+    private final Map<String, Stats> stats = new LinkedHashMap<>();
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private int totalWeight;
+
+    public LoadDriver(String baseUrl, String token, LoadTestOptions options, DataGenerator.Result seed) {
+        this.baseUrl = baseUrl;
+        this.token = token;
+        this.options = options;
+
+        int students = seed.maxStudentId();
+        int emps = seed.maxEmpId();
+        int clazzes = seed.maxClazzId();
+        // Pages within the first 10% of each list, most traffic stays near the front like the UI
+        // 页码集中在列表前部，与实际使用相近
+        add("GET /students", 20, r -> get("/students?page=" + (1 + r.nextInt(Math.max(1, students / 100))) + "&pageSize=10"));
+        add("GET /students?name", 5, r -> get("/students?page=1&pageSize=10&name=" + NAME_FRAGMENTS[r.nextInt(NAME_FRAGMENTS.length)]));
+        add("GET /students?clazzId", 5, r -> get("/students?page=1&pageSize=10&clazzId=" + (1 + r.nextInt(clazzes))));
+        add("GET /students/scroll", 5, r -> get("/students/scroll?pageSize=10"));
+        add("GET /students/{id}", 10, r -> get("/students/" + (1 + r.nextInt(students))));
+        add("PUT /students/gpa/{id}/{gpa}", 5, r -> put("/students/gpa/" + (1 + r.nextInt(students)) + "/" + (30 + r.nextInt(60)) / 10.0));
+        add("GET /emps", 10, r -> get("/emps?page=" + (1 + r.nextInt(Math.max(1, emps / 100))) + "&pageSize=10"));
+        add("GET /emps/{id}", 5, r -> get("/emps/" + (1 + r.nextInt(emps))));
+        add("GET /clazzs", 5, r -> get("/clazzs?page=1&pageSize=10"));
+        add("GET /depts", 5, r -> get("/depts"));
+        add("GET /log/page", 5, r -> get("/log/page?page=" + (1 + r.nextInt(20)) + "&pageSize=10"));
+        add("GET /report/*", 8, r -> get("/report/" + REPORTS[r.nextInt(REPORTS.length)]));
+        add("GET /ai/search", 5, r -> get("/ai/search?question=" + question(r)));
+        add("POST /upload", 2, r -> upload());
+    }
+
+    /**
+     * Run the configured users for warm-up plus duration and return the per-scenario report
+     * 运行压测（预热 + 统计时长），返回各接口的统计结果
+     */
+    public Map<String, Map<String, Object>> run() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + options.warmupSeconds() * 1_000_000_000L;
+        long end = warmupEnd + options.durationSeconds() * 1_000_000_000L;
+
+        List<Thread> users = new ArrayList<>();
+        for (int i = 0; i < options.users(); i++) {
+            users.add(Thread.ofVirtual().name("load-user-" + i).start(() -> userLoop(warmupEnd, end)));
+        }
+        for (Thread user : users) {
+            user.join();
+        }
+        return report();
+    }
+
+    private void userLoop(long warmupEnd, long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            Scenario scenario = pick(random);
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                HttpResponse<String> response = httpClient.send(scenario.request().apply(random)
+                        .header("token", token)
+                        .timeout(Duration.ofSeconds(60))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                ok = response.statusCode() == 200
+                        && (!response.body().startsWith("{\"code\"") || response.body().startsWith("{\"code\":1"));
+            } catch (Exception e) {
+                ok = false;
+            }
+            // Counted by start time; a request still running at the end is completed and counted, so slow
+            // requests are not dropped from the tail / 按开始时间统计，结束时仍在执行的请求也计入，避免遗漏慢请求
+            if (start >= warmupEnd) {
+                Stats s = stats.get(scenario.name());
+                s.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (!ok) {
+                    s.errors().increment();
+                }
+            }
+            if (options.thinkMs() > 0) {
+                try {
+                    Thread.sleep(options.thinkMs());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private Map<String, Map<String, Object>> report() {
+        Map<String, Map<String, Object>> report = new LinkedHashMap<>();
+        stats.forEach((name, s) -> {
+            HistogramSnapshot snapshot = s.timer().takeSnapshot();
+            long count = snapshot.count();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", count);
+            row.put("throughput", round((double) count / options.durationSeconds()));
+            row.put("errors", s.errors().sum());
+            double max = snapshot.max(TimeUnit.MILLISECONDS);
+            row.put("p50Ms", round(percentile(snapshot, 0, max)));
+            row.put("p95Ms", round(percentile(snapshot, 1, max)));
+            row.put("p99Ms", round(percentile(snapshot, 2, max)));
+            row.put("maxMs", round(max));
+            report.put(name, row);
+        });
+        return report;
+    }
+
+    // Percentiles are read from histogram buckets and can land just above the slowest request
+    // 分位数取自直方图分桶，可能略高于实际最大值
+    private static double percentile(HistogramSnapshot snapshot, int index, double max) {
+        return Math.min(snapshot.percentileValues()[index].value(TimeUnit.MILLISECONDS), max);
+    }
+
+    private void add(String name, int weight, Function<ThreadLocalRandom, HttpRequest.Builder> request) {
+        scenarios.add(new Scenario(name, weight, request));
+        Timer timer = Timer.builder("loadtest.request")
+                .tag("scenario", name)
+                .publishPercentiles(0.50, 0.95, 0.99)
+                .percentilePrecision(3)
+                .distributionStatisticExpiry(Duration.ofDays(1))
+                .distributionStatisticBufferLength(1)
+                .register(registry);
+        stats.put(name, new Stats(timer, new LongAdder()));
+        totalWeight += weight;
+    }
+
+    private Scenario pick(ThreadLocalRandom random) {
+        int n = random.nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            n -= scenario.weight();
+            if (n < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    // "<canned question> #k": k spreads the questions over ai-questions distinct cache keys
+    // 通过编号控制不同问题的数量（影响 AI 响应缓存命中率）
+    private String question(ThreadLocalRandom random) {
+        List<FakeAiServer.CannedAnswer> answers = FakeAiServer.ANSWERS;
+        String question = answers.get(random.nextInt(answers.size())).question() + " #" + random.nextInt(Math.max(1, options.aiQuestions()));
+        return URLEncoder.encode(question, StandardCharsets.UTF_8);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder put(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).PUT(HttpRequest.BodyPublishers.noBody());
+    }
+
+    private HttpRequest.Builder upload() {
+        String boundary = "----load-test-boundary";
+        byte[] head = ("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"avatar.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/upload"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArrays(List.of(head, IMAGE, tail)));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
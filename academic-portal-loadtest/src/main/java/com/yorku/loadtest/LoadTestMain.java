@@ -0,0 +1,161 @@
+package com.yorku.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.yorku.WebManagemenApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load Test Entry Point
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * 1. Starts an embedded MariaDB, loads portal.sql and appends synthetic data (--scale).
+ * 2. Starts the fake AI backend and boots the portal in this JVM against both, with
+ *    storage.type=local instead of Aliyun OSS.
+ * 3. Logs in as admin, drives the request mix (--users, --warmup, --duration) and prints
+ *    throughput and latency per endpoint. The full report, including the portal's own
+ *    Micrometer timers and /pools/stats, is written to the work directory as JSON.
+ *
+ * @Description: 压测入口（内嵌数据库 + 模拟 AI 接口 + 本地存储，按接口输出吞吐量与延迟）
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Files.createDirectories(options.workDir());
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+        try (EmbeddedDatabase database = EmbeddedDatabase.start(options.dbPort());
+             FakeAiServer ai = FakeAiServer.start(options.aiLatencyMs(), options.aiErrorRate())) {
+
+            System.out.printf("Embedded MariaDB on port %d, loading %s%n", database.port(), options.schema());
+            database.loadSchema(options.schema());
+            DataGenerator.Result seed;
+            try (Connection connection = database.connect()) {
+                seed = new DataGenerator(DataGeneratorOptions.forScale(options.scale())).generate(connection);
+            }
+            DataGenerator.print(seed);
+
+            try (ConfigurableApplicationContext app = new SpringApplicationBuilder(WebManagemenApplication.class)
+                    .run(portalArguments(options, database, ai))) {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                String baseUrl = "http://localhost:" + port;
+                String token = login(baseUrl, objectMapper);
+
+                System.out.printf("Portal on %s, %d users, %ds warm-up + %ds measured%n",
+                        baseUrl, options.users(), options.warmupSeconds(), options.durationSeconds());
+                Map<String, Map<String, Object>> client = new LoadDriver(baseUrl, token, options, seed).run();
+                print(client);
+
+                Map<String, Object> report = new LinkedHashMap<>();
+                report.put("options", options);
+                report.put("seed", seed);
+                report.put("aiStubCalls", ai.calls());
+                report.put("client", client);
+                report.put("server", serverTimings(app.getBean(MeterRegistry.class)));
+                report.put("pools", fetch(baseUrl + "/pools/stats", token, objectMapper));
+                Path file = options.workDir().resolve("report-"
+                        + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+                objectMapper.writeValue(file.toFile(), report);
+                System.out.printf("%nReport written to %s%n", file.toAbsolutePath());
+            }
+        }
+    }
+
+    // Command-line arguments take precedence over application.yml / 命令行参数优先于 application.yml
+    private static String[] portalArguments(LoadTestOptions options, EmbeddedDatabase database, FakeAiServer ai) {
+        return List.of(
+                "--server.port=0",
+                "--management.server.port=0",
+                // Client-side percentiles on the portal's timers for the report / 报告中使用的分位数
+                "--management.metrics.distribution.percentiles.all=0.5,0.95,0.99",
+                "--spring.datasource.url=" + database.jdbcUrl(),
+                "--spring.datasource.username=" + database.username(),
+                "--spring.datasource.password=",
+                "--storage.type=local",
+                "--storage.local.root-dir=" + options.workDir().resolve("upload").toAbsolutePath(),
+                "--ai.model.url=" + ai.url(),
+                "--ai.model.api-key=load-test",
+                // Mapper SQL goes through SLF4J (application.yml prints it to stdout) so the level below applies
+                // SQL 日志改走 SLF4J，受下面的日志级别控制（application.yml 中直接输出到控制台）
+                "--mybatis.configuration.log-impl=org.apache.ibatis.logging.slf4j.Slf4jImpl",
+                "--logging.level.root=" + options.appLogLevel(),
+                "--logging.level.com.yorku=" + options.appLogLevel(),
+                "--logging.level.org.springframework.jdbc.support.JdbcTransactionManager=" + options.appLogLevel()
+        ).toArray(String[]::new);
+    }
+
+    private static String login(String baseUrl, ObjectMapper objectMapper) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"123456\"}"))
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        JsonNode result = objectMapper.readTree(response.body());
+        if (result.path("code").asInt() != 1) {
+            throw new IllegalStateException("Login failed: " + response.body());
+        }
+        return result.path("data").path("token").asText();
+    }
+
+    // Server-side timings: count, mean, p50/p95/p99 and max (ms) per timer and tag set
+    // 服务端耗时：各计时器（按标签）的次数、平均值、分位数与最大值（毫秒）
+    private static Map<String, Map<String, Map<String, Object>>> serverTimings(MeterRegistry registry) {
+        Map<String, Map<String, Map<String, Object>>> timings = new TreeMap<>();
+        for (String name : List.of("http.server.requests", "mybatis.statement", "ai.model.call", "storage.upload")) {
+            for (Timer timer : registry.find(name).timers()) {
+                HistogramSnapshot snapshot = timer.takeSnapshot();
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("count", snapshot.count());
+                stats.put("meanMs", round(snapshot.mean(TimeUnit.MILLISECONDS)));
+                for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                    stats.put("p" + Math.round(percentile.percentile() * 100) + "Ms", round(percentile.value(TimeUnit.MILLISECONDS)));
+                }
+                stats.put("maxMs", round(snapshot.max(TimeUnit.MILLISECONDS)));
+                timings.computeIfAbsent(name, n -> new TreeMap<>()).put(timer.getId().getTags().toString(), stats);
+            }
+        }
+        return timings;
+    }
+
+    private static double round(double ms) {
+        return Math.round(ms * 100) / 100.0;
+    }
+
+    private static JsonNode fetch(String url, String token, ObjectMapper objectMapper) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).header("token", token).GET().build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).path("data");
+    }
+
+    private static void print(Map<String, Map<String, Object>> client) {
+        System.out.printf("%n%-32s %9s %9s %7s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Req/s", "Errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        client.forEach((name, row) -> System.out.printf("%-32s %9d %9.1f %7d %9.1f %9.1f %9.1f %9.1f%n", name,
+                (Long) row.get("requests"), (Double) row.get("throughput"), (Long) row.get("errors"),
+                (Double) row.get("p50Ms"), (Double) row.get("p95Ms"), (Double) row.get("p99Ms"), (Double) row.get("maxMs")));
+    }
+}
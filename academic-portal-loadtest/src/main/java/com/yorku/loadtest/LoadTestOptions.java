@@ -0,0 +1,62 @@
+package com.yorku.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load Test Options
+ * Parsed from --name=value arguments; every option has a default, so a bare run works.
+ *
+ * @Description: 压测参数（命令行 --参数名=值）
+ *
+ * @param scale             synthetic data multiplier (1 = 20k students, 100k audit rows) / 数据规模倍数
+ * @param users             concurrent virtual users / 并发用户数
+ * @param durationSeconds   measured duration / 统计时长(秒)
+ * @param warmupSeconds     load before measuring starts / 预热时长(秒)
+ * @param thinkMs           pause between a user's requests / 每个用户两次请求间的停顿(毫秒)
+ * @param aiLatencyMs       response time of the model stub / 模拟 AI 接口耗时(毫秒)
+ * @param aiErrorRate       share of stub calls answered with HTTP 503 / 模拟 AI 接口错误比例
+ * @param aiQuestions       distinct AI questions (low values mostly hit the response cache) / 不同 AI 问题的数量
+ * @param dbPort            embedded database port, 0 picks a free one / 内嵌数据库端口
+ * @param schema            schema and base data script / 建表脚本
+ * @param workDir           upload directory and the JSON report / 工作目录
+ * @param appLogLevel       log level of the portal under test / 被测应用日志级别
+ */
+public record LoadTestOptions(int scale, int users, int durationSeconds, int warmupSeconds, int thinkMs,
+                              int aiLatencyMs, double aiErrorRate, int aiQuestions, int dbPort,
+                              Path schema, Path workDir, String appLogLevel) {
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(take(values, "scale", "1")),
+                Integer.parseInt(take(values, "users", "50")),
+                Integer.parseInt(take(values, "duration", "60")),
+                Integer.parseInt(take(values, "warmup", "15")),
+                Integer.parseInt(take(values, "think-ms", "0")),
+                Integer.parseInt(take(values, "ai-latency-ms", "800")),
+                Double.parseDouble(take(values, "ai-error-rate", "0")),
+                Integer.parseInt(take(values, "ai-questions", "50")),
+                Integer.parseInt(take(values, "db-port", "0")),
+                Path.of(take(values, "schema", "../academic-portal/portal.sql")),
+                Path.of(take(values, "work-dir", "target/loadtest")),
+                take(values, "app-log-level", "WARN"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        return options;
+    }
+
+    private static String take(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value != null ? value : defaultValue;
+    }
+}
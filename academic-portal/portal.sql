@@ -69,7 +69,9 @@ CREATE TABLE student (
                          gpa               DECIMAL(3, 1) UNSIGNED DEFAULT 0.0 NOT NULL,
                          credits           INT UNSIGNED DEFAULT '0' NOT NULL,
                          create_time       DATETIME NULL,
-                         update_time       DATETIME NULL
+                         update_time       DATETIME NULL,
+                         scroll_time       DATETIME AS (coalesce(update_time, timestamp '1000-01-01 00:00:00')) VIRTUAL COMMENT 'Keyset pagination key, NULL update_time sorts last',
+                         INDEX idx_student_update_time_id (scroll_time, id) COMMENT 'Keyset pagination'
 ) COMMENT 'Student' ROW_FORMAT = DYNAMIC;
 
 -- 2.5 Experience
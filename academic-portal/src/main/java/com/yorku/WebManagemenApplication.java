@@ -3,9 +3,11 @@ package com.yorku;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.web.servlet.ServletComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @ServletComponentScan // 扫描过滤器
+@EnableScheduling // 开启定时任务（仪表盘统计对账）
 @SpringBootApplication
 public class WebManagemenApplication {
 
@@ -0,0 +1,202 @@
+package com.yorku.aop;
+
+import com.yorku.mapper.OperateLogMapper;
+import com.yorku.pojo.OperateLog;
+import com.yorku.util.AuditLogProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous Audit Log Writer
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Buffers OperateLog records produced by OperationLogAspect in a bounded queue and
+ * persists them from a single background thread using multi-row INSERT batches.
+ * A batch is flushed when it reaches the configured size or when the flush interval elapses.
+ * Shutdown never interrupts the writer (an interrupted Hikari borrow or JDBC call would lose the
+ * batch in flight): it clears the running flag and enqueues a wake-up marker, and the writer
+ * drains what is left before it exits.
+ *
+ * @Description: 异步审计日志写入器
+ * 切面只负责入队，由后台线程按批量大小/时间阈值合并写入数据库，
+ * 应用关闭时会将缓冲区中剩余的日志全部刷盘。
+ */
+@Slf4j
+@Component
+public class OperateLogWriter {
+
+    @Autowired
+    private OperateLogMapper operateLogMapper;
+
+    @Autowired
+    private AuditLogProperties auditLogProperties;
+
+    // Wake-up marker for an idle writer on shutdown, compared by identity (OperateLog equals by value)
+    // 关闭时唤醒空闲写入线程的标记对象，按引用比较（OperateLog 按字段比较相等）
+    private static final OperateLog STOP = new OperateLog();
+
+    private BlockingQueue<OperateLog> queue;
+
+    private Thread writerThread;
+
+    private volatile boolean running;
+
+    // Records dropped because the buffer was full / 缓冲区满被丢弃的日志数
+    private final LongAdder dropped = new LongAdder();
+
+    // Records written by the background thread / 后台线程已写入的日志数
+    private final LongAdder written = new LongAdder();
+
+    /**
+     * Start the background writer thread
+     * 启动后台写入线程
+     */
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(auditLogProperties.getCapacity());
+        running = true;
+        writerThread = new Thread(this::drainLoop, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Enqueue an audit record, applying the configured overflow policy when the buffer is full.
+     * 日志入队；缓冲区已满时按配置的策略处理（等待 / 丢弃 / 同步写入）。
+     */
+    public void submit(OperateLog operateLog) {
+        if (!running) {
+            // Shutting down: write directly so nothing is lost / 正在关闭，直接同步写入
+            operateLogMapper.insert(operateLog);
+            return;
+        }
+
+        if (queue.offer(operateLog)) {
+            return;
+        }
+
+        switch (auditLogProperties.getOverflowPolicy()) {
+            case DROP -> {
+                dropped.increment();
+                log.warn("⚠️ [Audit] Buffer full, audit record dropped: {}", operateLog);
+            }
+            case CALLER_RUNS -> operateLogMapper.insert(operateLog);
+            case BLOCK -> {
+                try {
+                    if (!queue.offer(operateLog, auditLogProperties.getOfferTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                        operateLogMapper.insert(operateLog);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    operateLogMapper.insert(operateLog);
+                }
+            }
+        }
+    }
+
+    /**
+     * Background loop: collect a batch until size or time threshold, then flush.
+     * 后台循环：累积到批量大小或等待超时后批量写入。
+     */
+    private void drainLoop() {
+        int batchSize = auditLogProperties.getBatchSize();
+        long flushIntervalMs = auditLogProperties.getFlushIntervalMs();
+        List<OperateLog> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                OperateLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null || first == STOP) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    OperateLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null || next == STOP) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Not used for shutdown; flush what we have and keep draining
+                // 关闭流程不会中断本线程；写入已收集的日志后继续
+                log.warn("⚠️ [Audit] Writer thread interrupted, continuing until shutdown");
+            }
+
+            batch.removeIf(record -> record == STOP);
+            flush(batch);
+        }
+    }
+
+    /**
+     * Persist one batch with a single multi-row INSERT
+     * 使用一条多行 INSERT 写入一批日志
+     */
+    private void flush(List<OperateLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            operateLogMapper.insertBatch(batch);
+            written.add(batch.size());
+            log.debug("📝 [Audit] Flushed {} audit records", batch.size());
+        } catch (Exception e) {
+            log.error("❌ [Audit] Failed to persist {} audit records", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * Graceful shutdown: stop accepting, drain the buffer and wait for the writer to finish.
+     * 优雅关闭：停止接收新日志，等待后台线程把缓冲区写完。
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        // Wakes the writer if it is idle in poll; when the buffer is full it is busy and sees the flag after this batch
+        // 唤醒空闲等待中的写入线程；缓冲区已满时写入线程正忙，写完本批后会检查关闭标志
+        queue.offer(STOP);
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+
+        // Anything the writer could not finish in time, or submitted while it was exiting, is written inline
+        // 超时未写完或关闭期间入队的日志由当前线程补写
+        List<OperateLog> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        rest.removeIf(record -> record == STOP);
+        if (!rest.isEmpty()) {
+            flush(rest);
+        }
+        log.info("Audit log writer stopped. Written: {}, Dropped: {}", written.sum(), dropped.sum());
+    }
+
+    public int getPending() {
+        return queue.size();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+}
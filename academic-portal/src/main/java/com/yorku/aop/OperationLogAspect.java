@@ -1,6 +1,5 @@
 package com.yorku.aop;
 
-import com.yorku.mapper.OperateLogMapper;
 import com.yorku.pojo.OperateLog;
 import com.yorku.util.CurrentHolder;
 import lombok.extern.slf4j.Slf4j;
@@ -21,11 +20,12 @@ import java.util.Arrays;
  * Intercepts methods annotated with @Log to record operational audit trails.
  * Uses AOP (Aspect Oriented Programming) to capture execution details including
  * operator ID, method signature, execution time, and return values.
+ * Records are handed to OperateLogWriter and persisted asynchronously in batches.
  *
  * @Description: 系统操作日志切面类
  * 用于拦截控制器方法并记录审计日志。
  * 通过AOP实现环绕通知，记录方法执行详情（操作人、耗时、参数等），
- * 并持久化到数据库中。
+ * 并交由异步写入器批量持久化到数据库中。
  */
 @Slf4j
 @Aspect
@@ -33,7 +33,7 @@ import java.util.Arrays;
 public class OperationLogAspect {
 
     @Autowired
-    private OperateLogMapper operateLogMapper;
+    private OperateLogWriter operateLogWriter;
 
     /**
      * Around Advice: Wraps the target method execution to capture metrics.
@@ -44,9 +44,10 @@ public class OperationLogAspect {
      */
     @Around("@annotation(com.yorku.anno.Log)")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        // 1. Record Start Time
-        // 记录开始时间
+        // 1. Record Start Time and the operator (read on the request thread, before any hand-off)
+        // 记录开始时间与操作人（在请求线程上读取 ThreadLocal）
         long startTime = System.currentTimeMillis();
+        Integer operateEmpId = getOperateEmpId();
 
         // 2. Execute Target Method (Proceed with the actual business logic)
         // 执行目标方法（继续执行实际业务逻辑）
@@ -63,7 +64,7 @@ public class OperationLogAspect {
 
         // Operator ID (Current Logged-in Staff/Admin from ThreadLocal)
         // 获取当前操作人ID（从当前线程获取）
-        operateLog.setOperateEmpId(getOperateEmpId());
+        operateLog.setOperateEmpId(operateEmpId);
 
         // Operation Timestamp
         // 操作时间
@@ -89,10 +90,10 @@ public class OperationLogAspect {
         // 返回值 (处理空值情况)
         operateLog.setReturnValue(result != null ? result.toString() : "void");
 
-        // 5. Persist Audit Log to Database
-        // 保存日志到数据库
+        // 5. Hand off to the async writer (batched persistence off the request thread)
+        // 提交给异步写入器，由后台线程批量保存到数据库
         log.info("Audit Log Entry: {}", operateLog);
-        operateLogMapper.insert(operateLog);
+        operateLogWriter.submit(operateLog);
 
         return result;
     }
@@ -0,0 +1,145 @@
+package com.yorku.config;
+
+import com.yorku.util.PoolMetrics;
+import com.yorku.util.ReadWriteRoutingDataSource;
+import com.yorku.util.ReplicaHealth;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Connection Pool Configuration
+ * 数据库连接池配置类
+ *
+ * Description: Hikari pools and the read/write routing on top of them.
+ * - "oltp" (spring.datasource.hikari.*): primary database, CRUD traffic and all writes.
+ * - "replica" (replica.datasource.*, optional): read-only replica; created only when
+ *   replica.datasource.url is set (username/password default to the primary's).
+ * - "analytics" (analytics.datasource.hikari.*): AI-generated queries and CSV exports, so
+ *   long-running reads wait for their own connections instead of starving CRUD requests.
+ * The primary DataSource (MyBatis, transactions) routes read-only transactions and
+ * ReplicaReads calls to the replica; the analytics DataSource prefers the replica for
+ * everything. Both fall back to the primary database when the replica is down or lagging.
+ * Exports run in @Transactional(value = "analytics", readOnly = true) on the analytics transaction manager.
+ * 描述：业务(OLTP)、只读副本与分析(AI 查询、导出)连接池，以及读写分离路由。
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * CRUD Pool on the primary database
+     * 主库业务连接池
+     */
+    @Qualifier("oltp")
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource oltpDataSource(DataSourceProperties dataSourceProperties, PoolMetrics poolMetrics) {
+        return newPool(dataSourceProperties, poolMetrics);
+    }
+
+    /**
+     * Replica Connection Settings (url, username, password)
+     * 只读副本连接信息
+     */
+    @Qualifier("replica")
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("replica.datasource")
+    @ConditionalOnProperty(name = "replica.datasource.url")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Read-only Pool on the replica
+     * 只读副本连接池
+     */
+    @Qualifier("replica")
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("replica.datasource.hikari")
+    @ConditionalOnProperty(name = "replica.datasource.url")
+    public HikariDataSource replicaDataSource(@Qualifier("replica") DataSourceProperties replicaProperties,
+                                              DataSourceProperties dataSourceProperties, PoolMetrics poolMetrics) {
+        if (replicaProperties.getUsername() == null) {
+            replicaProperties.setUsername(dataSourceProperties.getUsername());
+            replicaProperties.setPassword(dataSourceProperties.getPassword());
+        }
+        if (replicaProperties.getDriverClassName() == null) {
+            replicaProperties.setDriverClassName(dataSourceProperties.getDriverClassName());
+        }
+        HikariDataSource dataSource = newPool(replicaProperties, poolMetrics);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Analytics Pool on the primary database (used while the replica is unavailable)
+     * 主库分析连接池（副本不可用时使用）
+     */
+    @Qualifier("analyticsPool")
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("analytics.datasource.hikari")
+    public HikariDataSource analyticsPool(DataSourceProperties dataSourceProperties, PoolMetrics poolMetrics) {
+        return newPool(dataSourceProperties, poolMetrics);
+    }
+
+    /**
+     * Application DataSource: read/write routing when a replica is configured, the oltp pool otherwise
+     * 主数据源：配置了副本时按读写分离路由，否则直接使用业务连接池
+     */
+    @Primary
+    @Bean
+    public DataSource dataSource(@Qualifier("oltp") DataSource oltp, @Qualifier("replica") ObjectProvider<DataSource> replica,
+                                 ReplicaHealth replicaHealth) {
+        DataSource replicaPool = replica.getIfAvailable();
+        if (replicaPool == null) {
+            return oltp;
+        }
+        // Lazy proxy: take the physical connection at the first statement, after the read-only flag is set
+        // 延迟获取物理连接：事务的只读标记确定之后再选择主库或副本
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(oltp, replicaPool, replicaHealth, false));
+    }
+
+    /**
+     * Analytics DataSource (AI queries and exports); only injected with @Qualifier("analytics")
+     * 分析数据源，优先使用副本，仅在显式指定 @Qualifier("analytics") 时注入
+     */
+    @Qualifier("analytics")
+    @Bean(defaultCandidate = false)
+    public DataSource analyticsDataSource(@Qualifier("analyticsPool") DataSource analyticsPool,
+                                          @Qualifier("replica") ObjectProvider<DataSource> replica,
+                                          ReplicaHealth replicaHealth) {
+        DataSource replicaPool = replica.getIfAvailable();
+        if (replicaPool == null) {
+            return analyticsPool;
+        }
+        return new ReadWriteRoutingDataSource(analyticsPool, replicaPool, replicaHealth, true);
+    }
+
+    /**
+     * Transaction Manager on the analytics DataSource (read-only export snapshots); only used with @Transactional("analytics")
+     * 分析数据源的事务管理器（导出的只读一致性快照），仅在 @Transactional("analytics") 时使用
+     */
+    @Qualifier("analytics")
+    @Bean(defaultCandidate = false)
+    public JdbcTransactionManager analyticsTransactionManager(@Qualifier("analytics") DataSource analyticsDataSource) {
+        return new JdbcTransactionManager(analyticsDataSource);
+    }
+
+    // Pool settings are bound from the @ConfigurationProperties prefix of each bean
+    // 连接池参数由各 Bean 的配置前缀绑定
+    private static HikariDataSource newPool(DataSourceProperties dataSourceProperties, PoolMetrics poolMetrics) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setMetricsTrackerFactory(poolMetrics);
+        return dataSource;
+    }
+}
@@ -0,0 +1,49 @@
+package com.yorku.config;
+
+import com.aliyun.oss.ClientBuilderConfiguration;
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.OSSClientBuilder;
+import com.aliyun.oss.common.auth.CredentialsProviderFactory;
+import com.aliyun.oss.common.auth.EnvironmentVariableCredentialsProvider;
+import com.aliyun.oss.common.comm.SignVersion;
+import com.yorku.util.AliyunOSSProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * Object Storage Configuration
+ * 对象存储配置类
+ *
+ * Description: Provides a single long-lived OSS client (connection pool, TLS sessions and
+ * worker threads are reused across uploads) instead of building one per request.
+ * 描述：提供全局复用的 OSS 客户端（连接池、TLS 会话复用），避免每次上传都创建并销毁客户端。
+ */
+@Configuration
+public class OSSConfig {
+
+    /**
+     * Shared OSS Client
+     * 共享的 OSS 客户端（首次使用时创建，应用关闭时释放）
+     */
+    @Lazy
+    @Bean(destroyMethod = "shutdown")
+    public OSS ossClient(AliyunOSSProperties aliyunOSSProperties) throws Exception {
+        // 从环境变量中获取访问凭证。请确保已设置环境变量OSS_ACCESS_KEY_ID和OSS_ACCESS_KEY_SECRET。
+        EnvironmentVariableCredentialsProvider credentialsProvider = CredentialsProviderFactory.newEnvironmentVariableCredentialsProvider();
+
+        ClientBuilderConfiguration clientBuilderConfiguration = new ClientBuilderConfiguration();
+        clientBuilderConfiguration.setSignatureVersion(SignVersion.V4);
+        clientBuilderConfiguration.setMaxConnections(aliyunOSSProperties.getMaxConnections());
+        clientBuilderConfiguration.setConnectionTimeout(aliyunOSSProperties.getConnectionTimeout());
+        clientBuilderConfiguration.setSocketTimeout(aliyunOSSProperties.getSocketTimeout());
+        clientBuilderConfiguration.setIdleConnectionTime(aliyunOSSProperties.getIdleConnectionTime());
+
+        return OSSClientBuilder.create()
+                .endpoint(aliyunOSSProperties.getEndpoint())
+                .credentialsProvider(credentialsProvider)
+                .clientConfiguration(clientBuilderConfiguration)
+                .region(aliyunOSSProperties.getRegion())
+                .build();
+    }
+}
@@ -4,18 +4,33 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yorku.pojo.Result;
 import com.yorku.service.AiService;
+import com.yorku.util.AiQueryExecutor;
+import com.yorku.util.AiResponseCache;
+import com.yorku.util.SingleFlight;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * York University AI Command Interface
@@ -33,21 +48,52 @@ public class AiSearchController {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Autowired
+    private AiResponseCache aiResponseCache;
+
+    @Autowired
+    private AiQueryExecutor aiQueryExecutor;
+
+    // Spring's mapper, so JDBC date/time values serialize the same as in Result responses
+    // 使用 Spring 配置的 ObjectMapper，日期时间类型与普通响应保持一致
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Runs the database step once the model answers (virtual threads when spring.threads.virtual.enabled)
+    // 模型返回后在此执行数据库操作（启用虚拟线程时为虚拟线程）
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor applicationTaskExecutor;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    // In-flight SELECT executions by SQL text: concurrent requests that got the same translation share one query
+    // 进行中的查询（按 SQL 文本）：得到相同 SQL 的并发请求共享同一次执行
+    private final SingleFlight<String, QueryResult> queries = new SingleFlight<>();
+
+    private record QueryResult(List<Map<String, Object>> rows, boolean truncated) {
+    }
 
     /**
      * AI Search Endpoint
      * Endpoint: /ai/search
+     * The request thread is released while the model call is in flight (async servlet request).
+     * 模型调用期间释放请求线程（Servlet 异步请求）。
      */
     @GetMapping("/ai/search")
-    public Result search(@RequestParam String question) {
+    public CompletableFuture<Result> search(@RequestParam String question) {
         // Log the incoming request (Audit Trail)
         log.info("📢 [York U AI] Incoming Inquiry: {}", question);
 
+        // 1. Call AI Agent (The York U Brain)
+        // 调用 AI 服务，获取结构化的 JSON 响应
+        return aiService.generateAiResponseAsync(question)
+                .thenApplyAsync(this::execute, applicationTaskExecutor);
+    }
+
+    // Run the model's intent against the database / 按模型返回的意图操作数据库
+    private Result execute(String jsonResponse) {
         try {
-            // 1. Call AI Agent (The York U Brain)
-            // 调用 AI 服务，获取结构化的 JSON 响应
-            String jsonResponse = aiService.generateAiResponse(question);
             log.info("🤖 [AI Reasoning]: {}", jsonResponse);
 
             // 2. Parse JSON Response
@@ -64,13 +110,15 @@ public class AiSearchController {
 
             // 3. Routing Logic (Execute Intent on Database)
             if ("SELECT".equals(type) && sql != null && !sql.isEmpty()) {
-                // READ Operation: Execute Query
+                // READ Operation: Execute Query (bounded by row cap and timeout, shared with identical concurrent queries)
+                // 查询受最大行数与超时限制，超出部分截断；并发的相同查询只执行一次
                 log.info("🔍 [DB Query]: {}", sql);
-                List<Map<String, Object>> data = jdbcTemplate.queryForList(sql);
-                finalResult.put("data", data);
+                QueryResult queryResult = queries.execute(sql, () -> runQuery(sql));
+                finalResult.put("data", queryResult.rows());
+                finalResult.put("truncated", queryResult.truncated());
 
             } else if ("DML".equals(type) && sql != null && !sql.isEmpty()) {
-                // WRITE Operation: Update/Insert/Delete
+                // WRITE Operation: Update/Insert/Delete (never coalesced, every request is its own write)
                 log.warn("⚠️ [DB Update]: {}", sql); // Warn log for write operations
 
                 int rowsAffected = jdbcTemplate.update(sql);
@@ -88,4 +136,107 @@ public class AiSearchController {
             return Result.error("York U AI System Malfunction: " + e.getMessage());
         }
     }
+
+    /**
+     * AI Search Endpoint (Streaming)
+     * Endpoint: /ai/search/stream
+     * Writes NDJSON: a header line {type, aiMessage}, one line per row, then a summary line
+     * {rows, truncated}. Rows are read with a forward-only cursor and flushed as they arrive.
+     * 流式查询接口：以 NDJSON 格式逐行输出结果，避免将整张表加载到内存。
+     */
+    @GetMapping("/ai/search/stream")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> searchStream(@RequestParam String question) {
+        log.info("📢 [York U AI] Incoming Streaming Inquiry: {}", question);
+
+        // 1. Translate the question before the response is committed
+        // 先调用 AI 服务，确定查询意图
+        return aiService.generateAiResponseAsync(question).thenApply(jsonResponse -> {
+            try {
+                return stream(jsonResponse);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Build the NDJSON body for the model's intent; rows are read when the body is written
+    // 按模型返回的意图构建 NDJSON 响应体，写出响应时才读取数据
+    private ResponseEntity<StreamingResponseBody> stream(String jsonResponse) throws IOException {
+        log.info("🤖 [AI Reasoning]: {}", jsonResponse);
+
+        JsonNode aiResult = objectMapper.readTree(jsonResponse);
+        String type = aiResult.path("type").asText();
+        String sql = aiResult.path("sql").asText(null);
+        String message = aiResult.path("message").asText();
+
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("type", type);
+        header.put("aiMessage", message);
+
+        // 2. Stream rows to the client / 逐行写出结果
+        StreamingResponseBody body = out -> {
+            writeLine(out, header);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            try {
+                if ("SELECT".equals(type) && sql != null && !sql.isEmpty()) {
+                    log.info("🔍 [DB Stream Query]: {}", sql);
+                    int[] count = {0};
+                    boolean truncated = aiQueryExecutor.forEachRow(sql, row -> {
+                        writeLine(out, row);
+                        count[0]++;
+                    });
+                    summary.put("rows", count[0]);
+                    summary.put("truncated", truncated);
+                } else if ("DML".equals(type) && sql != null && !sql.isEmpty()) {
+                    log.warn("⚠️ [DB Update]: {}", sql);
+                    int rowsAffected = jdbcTemplate.update(sql);
+                    summary.put("data", "Operation Confirmed. Database Records Affected: " + rowsAffected);
+                } else {
+                    summary.put("rows", 0);
+                }
+            } catch (DataAccessException e) {
+                // Headers are already sent, report the failure in-band / 响应头已发送，错误写入最后一行
+                log.error("❌ [System Failure]: ", e);
+                summary.put("error", "York U AI System Malfunction: " + e.getMostSpecificCause().getMessage());
+            }
+            writeLine(out, summary);
+        };
+
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    // Rows of one SELECT, shared read-only by every request that waited for it
+    // 一次查询的结果，由所有等待的请求只读共享
+    private QueryResult runQuery(String sql) {
+        List<Map<String, Object>> data = new ArrayList<>();
+        try {
+            boolean truncated = aiQueryExecutor.forEachRow(sql, data::add);
+            return new QueryResult(Collections.unmodifiableList(data), truncated);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Write one JSON document followed by a newline and flush it to the client
+    // 写出一行 JSON 并立即刷新到客户端
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * AI Response Cache Statistics
+     * Endpoint: /ai/cache/stats (hit ratio, model latency saved, coalesced model calls and queries,
+     * circuit breaker and bulkhead)
+     * AI 响应缓存统计（命中率、节省的模型调用耗时、合并的模型调用与查询、熔断器与舱壁状态）
+     */
+    @GetMapping("/ai/cache/stats")
+    public Result cacheStats() {
+        Map<String, Object> stats = aiResponseCache.stats();
+        stats.put("modelCalls", aiService.coalescingStats());
+        stats.put("queries", queries.stats());
+        stats.put("modelClient", aiService.clientStats());
+        return Result.success(stats);
+    }
 }
\ No newline at end of file
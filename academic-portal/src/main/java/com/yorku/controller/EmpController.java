@@ -5,8 +5,12 @@ import com.yorku.pojo.EmpQueryParam;
 import com.yorku.pojo.PageResult;
 import com.yorku.pojo.Result;
 import com.yorku.service.EmpService;
+import com.yorku.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -29,6 +33,9 @@ public class EmpController {
     @Autowired
     private EmpService empService;
 
+    @Autowired
+    private ExportService exportService;
+
     /**
      * Faculty Directory - Paginated Search
      * Retrieves a list of staff members based on filters (Name, Gender, Date Range).
@@ -111,4 +118,20 @@ public class EmpController {
         List<Emp> empList = empService.findAll();
         return Result.success(empList);
     }
+
+    /**
+     * Export Staff Directory (CSV)
+     * Same filters as the paginated search, streamed from a database cursor.
+     *
+     * 教职工管理 - 导出 CSV（条件与分页查询相同，游标流式导出）
+     */
+    @GetMapping("/export")
+    public void export(EmpQueryParam empQueryParam, HttpServletResponse response) throws Exception {
+        log.info("📤 [York U Admin] Exporting Staff Directory: {}", empQueryParam);
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("staff.csv").build().toString());
+        long rows = exportService.exportEmps(empQueryParam, response.getOutputStream());
+        log.info("✅ [Export Finished] {} rows written", rows);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.yorku.controller;
+
+import com.yorku.util.LocalStorageOperator;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+
+/**
+ * Local File Delivery Controller
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Serves files stored by LocalStorageOperator (storage.type=local).
+ * Uses Tomcat's sendfile support when the connector offers it, otherwise
+ * FileChannel.transferTo straight into the response channel.
+ * Files are public and their type comes from the uploader's file name, so only raster
+ * images are shown inline; anything else (HTML, SVG, ...) is sent as a download and
+ * the browser may not sniff another type.
+ *
+ * @Description: 本地文件读取控制器
+ * 仅在本地存储模式下启用，优先使用 Tomcat sendfile，其次使用 FileChannel.transferTo 输出文件。
+ * 只有位图图片内联显示，其余类型（HTML、SVG 等）一律作为附件下载，防止存储型 XSS。
+ */
+@Slf4j
+@RestController
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class FileController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Types a browser renders without running scripts / 浏览器内联显示时不会执行脚本的图片类型
+    private static final Set<MediaType> INLINE_TYPES = Set.of(MediaType.IMAGE_PNG, MediaType.IMAGE_JPEG,
+            MediaType.IMAGE_GIF, MediaType.parseMediaType("image/webp"), MediaType.parseMediaType("image/bmp"));
+
+    @Autowired
+    private LocalStorageOperator localStorageOperator;
+
+    /**
+     * Download Stored File
+     * 读取本地存储的文件（路径格式 yyyy/MM/文件名）
+     */
+    @GetMapping("/files/{year}/{month}/{name}")
+    public void download(@PathVariable String year, @PathVariable String month, @PathVariable String name,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path path;
+        try {
+            path = localStorageOperator.resolve(year + "/" + month + "/" + name);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        if (!Files.isRegularFile(path)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long size = Files.size(path);
+        MediaType mediaType = MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(mediaType.toString());
+        response.setContentLengthLong(size);
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (!INLINE_TYPES.contains(mediaType)) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(name).build().toString());
+        }
+
+        // 1. Let Tomcat hand the file to the kernel (sendfile) / 交给 Tomcat 使用 sendfile 发送
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+
+        // 2. Fallback: channel-to-channel transfer / 回退：通道间直接传输
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
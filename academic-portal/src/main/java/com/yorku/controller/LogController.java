@@ -4,9 +4,13 @@ import com.yorku.pojo.LogList;
 import com.yorku.pojo.LogQueryParam;
 import com.yorku.pojo.PageResult;
 import com.yorku.pojo.Result;
+import com.yorku.service.ExportService;
 import com.yorku.service.LogService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -26,6 +30,9 @@ public class LogController {
     @Autowired
     private LogService logService;
 
+    @Autowired
+    private ExportService exportService;
+
     @GetMapping("/page")
     public Result page(LogQueryParam logQueryParam) {
         log.info("分页查询日志信息,参数：{}", logQueryParam);
@@ -33,4 +40,16 @@ public class LogController {
         return Result.success(page);
     }
 
-}
+    /**
+     * 导出操作日志 CSV（游标流式导出）
+     */
+    @GetMapping("/export")
+    public void export(LogQueryParam logQueryParam, HttpServletResponse response) throws Exception {
+        log.info("导出操作日志,参数：{}", logQueryParam);
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("operate-logs.csv").build().toString());
+        long rows = exportService.exportLogs(logQueryParam, response.getOutputStream());
+        log.info("✅ [Export Finished] {} rows written", rows);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.yorku.controller;
+
+import com.yorku.pojo.Result;
+import com.yorku.util.PoolMetrics;
+import com.yorku.util.ReplicaHealth;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * @Description: 数据库连接池监控
+ * 各连接池（oltp / replica / analytics）的活跃、空闲、等待连接数与连接获取耗时
+ */
+@RestController
+@Slf4j
+@RequestMapping("/pools")
+public class PoolController {
+
+    @Autowired
+    private PoolMetrics poolMetrics;
+
+    @Autowired
+    private ReplicaHealth replicaHealth;
+
+    /**
+     * 连接池统计（连接池在首次使用后才会出现在结果中）
+     */
+    @GetMapping("/stats")
+    public Result stats() {
+        return Result.success(poolMetrics.stats());
+    }
+
+    /**
+     * 只读副本状态（是否可用、复制延迟）
+     */
+    @GetMapping("/replica")
+    public Result replica() {
+        return Result.success(replicaHealth.status());
+    }
+}
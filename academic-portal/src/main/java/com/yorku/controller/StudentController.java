@@ -1,14 +1,30 @@
 package com.yorku.controller;
 
+import com.yorku.pojo.BatchUpdateResult;
+import com.yorku.pojo.CursorResult;
+import com.yorku.pojo.GradeUpdate;
+import com.yorku.pojo.ImportResult;
 import com.yorku.pojo.PageResult;
 import com.yorku.pojo.Result;
 import com.yorku.pojo.Student;
 import com.yorku.pojo.StudentQueryParam;
+import com.yorku.service.ExportService;
+import com.yorku.service.StudentImportService;
 import com.yorku.service.StudentService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -29,6 +45,12 @@ public class StudentController {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Autowired
+    private ExportService exportService;
+
     /**
      * Student Records - Paginated Search
      * Retrieves student list based on filters (Name, Student No, GPA, Course Section).
@@ -43,6 +65,21 @@ public class StudentController {
         return Result.success(pageResult);
     }
 
+    /**
+     * Student Records - Cursor (Keyset) Scroll
+     * Seeks past the last row of the previous page instead of using OFFSET,
+     * so deep pages cost the same as the first one. Total count is optional (withTotal=true).
+     *
+     * 学籍管理 - 游标分页查询
+     * 传入上一页返回的 nextCursor 获取下一页，性能与页码深度无关。
+     */
+    @GetMapping("/scroll")
+    public Result scroll(StudentQueryParam studentQueryParam) {
+        log.info("📢 [York U Admin] Scrolling Student Records: {}", studentQueryParam);
+        CursorResult<Student> cursorResult = studentService.scroll(studentQueryParam);
+        return Result.success(cursorResult);
+    }
+
     /**
      * Enroll New Student
      * Registers a new undergraduate student into the system.
@@ -57,6 +94,44 @@ public class StudentController {
         return Result.success();
     }
 
+    /**
+     * Bulk Enrollment (CSV Import)
+     * Streams the uploaded CSV row by row and inserts valid rows in batched, per-chunk transactions.
+     * Header columns: name, no, gender, phone, idCard, enrollmentStatus (required),
+     * address, yearLevel, graduationDate, clazzId, gpa, credits (optional).
+     * Rejected rows can be downloaded from /students/import/{reportId}/errors.
+     *
+     * 学籍管理 - 批量导入新生
+     * 逐行解析上传的 CSV，分块批量写入；校验失败的行写入错误报告。
+     */
+    @PostMapping("/import")
+    public Result importStudents(MultipartFile file) throws Exception {
+        log.info("📥 [York U Admin] Bulk Student Import. Filename: {}, Size: {} bytes", file.getOriginalFilename(), file.getSize());
+        ImportResult importResult;
+        try (InputStream in = file.getInputStream()) {
+            importResult = studentImportService.importCsv(in);
+        }
+        log.info("✅ [Import Finished] {}", importResult);
+        return Result.success(importResult);
+    }
+
+    /**
+     * Download Import Error Report
+     * CSV of the rejected rows (line number, reason, original values).
+     *
+     * 学籍管理 - 下载导入错误报告
+     */
+    @GetMapping("/import/{reportId}/errors")
+    public ResponseEntity<Resource> importErrors(@PathVariable("reportId") String reportId) {
+        log.info("📄 [York U Admin] Downloading Import Error Report: {}", reportId);
+        FileSystemResource report = new FileSystemResource(studentImportService.errorReport(reportId));
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("import-errors-" + reportId + ".csv").build().toString())
+                .body(report);
+    }
+
     /**
      * Retrieve Student Profile
      * Fetches detailed academic record by Student ID (Primary Key).
@@ -110,4 +185,53 @@ public class StudentController {
         studentService.updateGPA(id, gpa);
         return Result.success();
     }
+
+    /**
+     * Bulk Update Academic Standing (GPA / Credits)
+     * Accepts a list of {id, gpa, credits}; null fields keep their current value.
+     * Applied as multi-row CASE updates in one transaction (all or nothing).
+     *
+     * 学务管理 - 批量更新 GPA / 学分
+     * 以多行 CASE 语句批量执行，返回影响行数与吞吐量。
+     */
+    @PutMapping("/grades")
+    public Result updateGrades(@RequestBody List<GradeUpdate> updates) {
+        log.info("🎓 [York U Admin] Bulk Grade Update. Entries: {}", updates.size());
+        BatchUpdateResult batchResult = studentService.updateGrades(updates);
+        return Result.success(batchResult);
+    }
+
+    /**
+     * Bulk Update Academic Standing from CSV
+     * Streams a CSV with the columns id, gpa, credits (header required, order free).
+     * Every 1,000 rows commit on their own, so a large file never holds its row locks to the end.
+     *
+     * 学务管理 - 通过 CSV 文件批量更新 GPA / 学分（流式读取，每 1000 行提交一次）
+     */
+    @PostMapping("/grades/import")
+    public Result importGrades(MultipartFile file) throws Exception {
+        log.info("🎓 [York U Admin] Bulk Grade Update from File: {}", file.getOriginalFilename());
+        BatchUpdateResult batchResult;
+        try (InputStream in = file.getInputStream()) {
+            batchResult = studentService.updateGradesCsv(in);
+        }
+        return Result.success(batchResult);
+    }
+
+    /**
+     * Export Student Records (CSV)
+     * Same filters as the paginated search; rows are streamed from a database cursor
+     * straight to the response, without COUNT/OFFSET paging.
+     *
+     * 学籍管理 - 导出 CSV（条件与分页查询相同，游标流式导出）
+     */
+    @GetMapping("/export")
+    public void export(StudentQueryParam studentQueryParam, HttpServletResponse response) throws Exception {
+        log.info("📤 [York U Admin] Exporting Student Records: {}", studentQueryParam);
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("students.csv").build().toString());
+        long rows = exportService.exportStudents(studentQueryParam, response.getOutputStream());
+        log.info("✅ [Export Finished] {} rows written", rows);
+    }
 }
\ No newline at end of file
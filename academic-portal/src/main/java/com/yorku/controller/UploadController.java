@@ -1,9 +1,12 @@
 package com.yorku.controller;
 
 import com.yorku.pojo.Result;
-import com.yorku.util.AliyunOSSOperator;
+import com.yorku.util.StorageOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
@@ -14,7 +17,8 @@ import org.springframework.web.multipart.MultipartFile;
  *
  * Description:
  * Handles the ingestion of binary files (e.g., Faculty headshots, Student ID photos).
- * Integrates with Cloud Object Storage (Aliyun OSS) for scalable asset hosting.
+ * Integrates with Cloud Object Storage (Aliyun OSS) for scalable asset hosting,
+ * or local disk storage when storage.type=local.
  *
  * @Description: 文件上传控制器 (数字资产管理)
  * 处理教职工/学生证件照的上传请求，对接云存储服务。
@@ -24,7 +28,14 @@ import org.springframework.web.multipart.MultipartFile;
 public class UploadController {
 
     @Autowired
-    private AliyunOSSOperator aliyunOSSOperator;
+    private StorageOperator storageOperator;
+
+    // Upload latency by storage backend (Micrometer timer storage.upload) / 上传耗时统计
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${storage.type:oss}")
+    private String storageType;
 
     /**
      * Upload Profile Image
@@ -42,9 +53,22 @@ public class UploadController {
         // 记录上传请求日志
         log.info("📤 [York U Admin] Initiating Profile Image Upload. Filename: {}", file.getOriginalFilename());
 
-        // Delegate to OSS Operator for storage
-        // 调用阿里云OSS工具类进行文件存储
-        String url = aliyunOSSOperator.upload(file.getBytes(), file.getOriginalFilename());
+        // Delegate to the configured storage backend: OSS streams the upload, local storage moves the spooled file
+        // 调用存储组件进行文件存储（OSS 直接传递文件流，本地存储直接移动容器落盘的临时文件）
+        String url;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            url = storageOperator.upload(file);
+            outcome = "success";
+        } finally {
+            sample.stop(Timer.builder("storage.upload")
+                    .description("File upload latency by storage backend")
+                    .tag("storage", storageType)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
 
         // Log the successful transaction
         // 记录上传成功日志及返回的URL
@@ -1,12 +1,14 @@
 package com.yorku.exception;
 
 import com.yorku.pojo.Result;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 
 import java.util.Objects;
 
@@ -16,7 +18,8 @@ import java.util.Objects;
  *
  * Description:
  * Centralized exception handling to ensure standardized JSON responses
- * and secure error logging.
+ * and secure error logging. Handled exceptions are still reported to the
+ * request observation, so http.server.requests carries the exception tag.
  */
 @Slf4j
 @RestControllerAdvice
@@ -27,7 +30,8 @@ public class GlobalExceptionHandler {
      * (e.g., "Cannot delete department with active employees")
      */
     @ExceptionHandler(BusinessException.class)
-    public Result handleBusinessException(BusinessException e) {
+    public Result handleBusinessException(BusinessException e, HttpServletRequest request) {
+        recordError(request, e);
         log.warn("Business Logic Error: {}", e.getMessage());
         return Result.error(e.getMessage());
     }
@@ -37,7 +41,8 @@ public class GlobalExceptionHandler {
      * (e.g., Duplicate Username)
      */
     @ExceptionHandler(DuplicateKeyException.class)
-    public Result handleDuplicateKeyException(DuplicateKeyException e) {
+    public Result handleDuplicateKeyException(DuplicateKeyException e, HttpServletRequest request) {
+        recordError(request, e);
         log.error("Database Integrity Violation:", e);
 
         String message = e.getMessage();
@@ -66,7 +71,8 @@ public class GlobalExceptionHandler {
      * This is crucial for RESTful APIs.
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public Result handleValidationException(MethodArgumentNotValidException e) {
+    public Result handleValidationException(MethodArgumentNotValidException e, HttpServletRequest request) {
+        recordError(request, e);
         // Get the specific validation error message (e.g., "Username cannot be empty")
         String errorMsg = Objects.requireNonNull(e.getBindingResult().getFieldError()).getDefaultMessage();
         log.warn("Input Validation Failed: {}", errorMsg);
@@ -78,7 +84,8 @@ public class GlobalExceptionHandler {
      * (This aligns with your resume about "JsonParseException handling")
      */
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    public Result handleJsonException(HttpMessageNotReadableException e) {
+    public Result handleJsonException(HttpMessageNotReadableException e, HttpServletRequest request) {
+        recordError(request, e);
         log.error("JSON Parse Error:", e);
         return Result.error("Invalid Request Format: Please check your JSON syntax.");
     }
@@ -87,11 +94,18 @@ public class GlobalExceptionHandler {
      * 5. Catch-All System Exception (Last Resort)
      */
     @ExceptionHandler(Exception.class)
-    public Result handleGenericException(Exception e) {
+    public Result handleGenericException(Exception e, HttpServletRequest request) {
+        recordError(request, e);
         // Log full stack trace for debugging
         log.error("Unhandled System Exception:", e);
 
         // Return generic message to user for security
         return Result.error("System Error. Please contact IT Helpdesk.");
     }
-}
\ No newline at end of file
+
+    // Handled exceptions end in a normal response, so tag the request metrics explicitly
+    // 已处理的异常不会传播到过滤器，需显式记录到请求观测（http.server.requests 的 exception 标签）
+    private static void recordError(HttpServletRequest request, Exception e) {
+        ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> context.setError(e));
+    }
+}
@@ -1,8 +1,7 @@
 package com.yorku.filter;
 
 import com.yorku.util.CurrentHolder;
-import com.yorku.util.JwtUtils;
-import io.jsonwebtoken.Claims;
+import com.yorku.util.TokenCache;
 import jakarta.servlet.*;
 import jakarta.servlet.annotation.WebFilter;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,6 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.util.Objects;
 
 /**
  * Token Validation Filter
@@ -18,7 +18,9 @@ import java.io.IOException;
  * 拦截请求并校验 JWT 令牌的有效性。
  */
 @Slf4j
-@WebFilter(urlPatterns = {"/*"}) // Intercept all requests / 拦截所有请求
+// asyncSupported: the AI endpoints complete asynchronously (CompletableFuture / StreamingResponseBody)
+// 支持异步请求：AI 接口以异步方式完成
+@WebFilter(urlPatterns = {"/*"}, asyncSupported = true) // Intercept all requests / 拦截所有请求
 public class TokenFilter implements Filter {
 
     @Override
@@ -31,10 +33,16 @@ public class TokenFilter implements Filter {
         // 1. 获取请求路径
         String path = request.getRequestURI();
 
+        // Never let a previous request's user leak into this one (pooled platform threads)
+        // 清除可能残留的上一个请求的用户信息（平台线程池复用线程时）
+        CurrentHolder.remove();
+
         // 2. Check for public endpoints (Login or AI Search). If matched, permit the request directly.
         // 2. 检查是否为公开接口（登录 或 AI搜索）。如果是，直接放行，无需校验令牌。
         // 🔴 KEY CHANGE: Added "|| path.contains("/ai")" to allow AI testing without login
-        if (path.contains("/login") || path.contains("/ai")) {
+        // Locally stored files (/files/**) are public like OSS object URLs, since <img> tags cannot send the token header
+        // 本地存储的文件与 OSS 文件地址一样公开访问（图片标签无法携带令牌）
+        if (path.contains("/login") || path.contains("/ai") || path.startsWith("/files/")) {
             log.info("Public endpoint accessed (Login/AI), permitting request. Path: {}", path);
             filterChain.doFilter(request, response);
             return;
@@ -55,13 +63,13 @@ public class TokenFilter implements Filter {
         // 5. Parse token and validate. If valid, store user info; otherwise return 401.
         // 5. 解析并校验令牌。若合法则存储用户信息，否则返回 401。
         try {
-            // Parse token to get Claims (Payload)
-            // 解析令牌获取 Claims 载荷
-            Claims claims = JwtUtils.parseToken(token);
+            // Parse token to get the user fields, served from the verified-token cache when possible
+            // 解析令牌获取用户信息（优先从已校验令牌缓存中读取）
+            TokenCache.VerifiedToken verified = TokenCache.parseToken(token);
 
             // Extract User ID and store in ThreadLocal
             // 获取用户 ID 并存入 ThreadLocal
-            Integer id = Integer.valueOf(claims.get("id").toString());
+            Integer id = Objects.requireNonNull(verified.id(), "Token has no id claim");
             CurrentHolder.setCurrentId(id);
 
             log.info("Token validated. Current User ID: {}", id);
@@ -74,10 +82,12 @@ public class TokenFilter implements Filter {
 
         // 6. Token is valid, proceed with the request chain
         // 6. 令牌校验通过，放行请求
-        filterChain.doFilter(request, response);
-
-        // 7. Clean up ThreadLocal to prevent memory leaks
-        // 7. 请求结束后清除 ThreadLocal，防止内存泄漏
-        CurrentHolder.remove();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // 7. Clean up ThreadLocal even when the request fails
+            // 7. 请求结束后（包括异常时）清除 ThreadLocal，防止内存泄漏
+            CurrentHolder.remove();
+        }
     }
 }
\ No newline at end of file
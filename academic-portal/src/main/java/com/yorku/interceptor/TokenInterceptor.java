@@ -1,6 +1,6 @@
 package com.yorku.interceptor;
 
-import com.yorku.util.JwtUtils;
+import com.yorku.util.TokenCache;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -63,7 +63,7 @@ public class TokenInterceptor implements HandlerInterceptor {
         // 5. Validation: Verify Token Integrity
         // 解析令牌，校验是否合法或过期
         try {
-            JwtUtils.parseToken(token);
+            TokenCache.parseToken(token);
             // Log success only on DEBUG level to avoid log spamming in production
             log.debug("✅ [Auth Success] Token Validated. Access Granted.");
             return true; // 放行
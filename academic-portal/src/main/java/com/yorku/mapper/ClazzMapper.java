@@ -2,7 +2,9 @@ package com.yorku.mapper;
 
 import com.yorku.pojo.Clazz;
 import com.yorku.pojo.ClazzQueryParam;
+import com.yorku.pojo.PageRequest;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
 
 import java.util.List;
 
@@ -25,9 +27,15 @@ public interface ClazzMapper {
      * Retrieves a list of courses based on dynamic filters (Name, Date).
      *
      * 课程管理 - 分页查询
-     * 根据查询参数（如课程名、日期）获取课程列表。
+     * 根据查询参数（如课程名、日期）获取一页课程列表。
      */
-    List<Clazz> list(ClazzQueryParam clazzQueryParam);
+    List<Clazz> list(ClazzQueryParam clazzQueryParam, PageRequest page);
+
+    /**
+     * Count of the Course Section Search
+     * 按查询条件统计课程总数
+     */
+    Long countList(ClazzQueryParam clazzQueryParam);
 
     /**
      * Schedule New Course Section
@@ -73,4 +81,8 @@ public interface ClazzMapper {
      * 获取系统中所有课程的列表（通常用于下拉框选项）。
      */
     List<Clazz> findAll();
+
+    // 查询全部班级的ID与名称（构建名称搜索索引）
+    @Select("select id, name from clazz")
+    List<Clazz> listNames();
 }
\ No newline at end of file
@@ -33,4 +33,27 @@ public interface EmpExprMapper {
      * * @param empIds - List of employee IDs whose work history should be deleted. (需要删除工作经历的员工 ID 列表)
      */
     void deleteByEmpIds(List<Integer> empIds);
+
+    /**
+     * List Work Experiences of One Employee
+     * 查询某个员工的全部工作经历
+     * * @param empId - Employee ID. (员工 ID)
+     */
+    List<EmpExpr> listByEmpId(Integer empId);
+
+    /**
+     * Batch Update Work Experiences
+     * 批量修改员工工作经历
+     * * Description: Updates several records by ID with a single CASE-based UPDATE statement.
+     * 描述：使用一条 CASE 语句按 ID 修改多条记录。
+     * * @param exprList - Records to update, each with its ID set. (要修改的记录，需包含 ID)
+     */
+    void updateBatch(List<EmpExpr> exprList);
+
+    /**
+     * Batch Delete by Record IDs
+     * 根据工作经历 ID 批量删除
+     * * @param ids - Work experience record IDs. (工作经历记录 ID 列表)
+     */
+    void deleteByIds(List<Integer> ids);
 }
\ No newline at end of file
@@ -2,8 +2,11 @@ package com.yorku.mapper;
 
 import com.yorku.pojo.Emp;
 import com.yorku.pojo.EmpQueryParam;
+import com.yorku.pojo.PageRequest;
 import org.apache.ibatis.annotations.MapKey; // 确保导入了这个包
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 import java.util.Map;
@@ -17,10 +20,29 @@ import java.util.Map;
 public interface EmpMapper {
 
     /**
-     * Conditional Query (Staff List)
-     * 条件查询员工信息
+     * Conditional Query (Staff List, one page)
+     * 条件分页查询员工信息（分页参数显式传入）
      */
-    List<Emp> list(EmpQueryParam empQueryParam);
+    List<Emp> list(EmpQueryParam empQueryParam, PageRequest page);
+
+    /**
+     * Count of the Conditional Query
+     * 按查询条件统计员工总数
+     */
+    Long countList(EmpQueryParam empQueryParam);
+
+    /**
+     * Conditional Query as a Cursor (Export)
+     * 条件查询员工信息（游标逐行读取，需在事务/会话内遍历）
+     */
+    Cursor<Emp> listCursor(EmpQueryParam empQueryParam);
+
+    /**
+     * All Staff IDs and Names (name search index)
+     * 查询全部员工的ID与姓名（构建名称搜索索引）
+     */
+    @Select("select id, name from emp")
+    List<Emp> listNames();
 
     /**
      * Add New Staff
@@ -64,6 +86,12 @@ public interface EmpMapper {
     @MapKey("name")
     List<Map<String, Object>> countEmpGenderData();
 
+    /**
+     * Get Role & Gender by IDs (for dashboard statistics maintenance)
+     * 根据ID批量查询员工职位与性别
+     */
+    List<Emp> listByIds(List<Integer> ids);
+
     /**
      * Find All Staff
      * 查询所有员工信息
@@ -2,7 +2,9 @@ package com.yorku.mapper;
 
 import com.yorku.pojo.LogList;
 import com.yorku.pojo.LogQueryParam;
+import com.yorku.pojo.PageRequest;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 
@@ -17,5 +19,12 @@ import java.util.List;
 public interface LogMapper {
 
 
-    List<LogList> list(LogQueryParam logQueryParam);
+    // 分页查询（分页参数显式传入）
+    List<LogList> list(PageRequest page);
+
+    // 统计日志总数
+    Long countList();
+
+    // 导出：以游标逐行读取（需在事务/会话内遍历）
+    Cursor<LogList> listCursor(LogQueryParam logQueryParam);
 }
@@ -4,6 +4,8 @@ import com.yorku.pojo.OperateLog;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 
+import java.util.List;
+
 /**
  * @Description: 记录操作日志的mapper接口
  */
@@ -16,4 +18,7 @@ public interface OperateLogMapper {
             "values (#{operateEmpId}, #{operateTime}, #{className}, #{methodName}, #{methodParams}, #{returnValue}, #{costTime});")
     public void insert(OperateLog log);
 
+    //批量插入日志数据（由异步审计写入线程调用）
+    void insertBatch(List<OperateLog> logs);
+
 }
\ No newline at end of file
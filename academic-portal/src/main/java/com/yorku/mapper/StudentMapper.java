@@ -1,11 +1,15 @@
 package com.yorku.mapper;
 
+import com.yorku.pojo.GradeUpdate;
+import com.yorku.pojo.PageRequest;
 import com.yorku.pojo.Student;
 import com.yorku.pojo.StudentQueryParam;
 import org.apache.ibatis.annotations.MapKey;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -16,8 +20,26 @@ import java.util.Map;
 @Mapper
 public interface StudentMapper {
 
-    // 分页查询 (需要去 StudentQueryParam 里把 degree 改为 yearLevel)
-    List<Student> list(StudentQueryParam studentQueryParam);
+    // 分页查询 (需要去 StudentQueryParam 里把 degree 改为 yearLevel)，分页参数显式传入
+    List<Student> list(StudentQueryParam studentQueryParam, PageRequest page);
+
+    // 导出：与分页查询相同的条件，以游标逐行读取（需在事务/会话内遍历）
+    Cursor<Student> listCursor(StudentQueryParam studentQueryParam);
+
+    // 查询全部学生的ID与姓名（构建名称搜索索引）
+    @Select("select id, name from student")
+    List<Student> listNames();
+
+    /**
+     * 游标(Keyset)分页查询：按 update_time desc, id desc 排序，从上一页最后一行之后开始读取，不使用 OFFSET
+     * @param lastUpdateTime 上一页最后一行的 update_time（第一页为 null）
+     * @param lastId 上一页最后一行的 id（第一页为 null）
+     * @param limit 读取条数
+     */
+    List<Student> scroll(StudentQueryParam studentQueryParam, LocalDateTime lastUpdateTime, Integer lastId, Integer limit);
+
+    // 按查询条件统计学生总数（分页查询与游标分页共用）
+    Long countList(StudentQueryParam studentQueryParam);
 
     // 统计某个专业(班级)的人数
     @Select("select count(*) from student where clazz_id = #{id}")
@@ -26,6 +48,12 @@ public interface StudentMapper {
     // 新增学生
     void save(Student student);
 
+    /**
+     * 查询学号/手机号/证件号已存在的学生（批量导入前的唯一性检查）
+     * @return 仅包含 no、phone、id_card 字段
+     */
+    List<Student> listConflicts(List<String> nos, List<String> phones, List<String> idCards);
+
     // 根据ID查询
     Student findById(Integer id);
 
@@ -43,12 +71,28 @@ public interface StudentMapper {
 
     void updateGPA(Integer id, Double gpa);
 
+    /**
+     * 批量更新 GPA / 学分：一条 CASE 语句更新多行，为空的字段保持原值
+     * @return 匹配到的行数
+     */
+    int updateGradesBatch(List<GradeUpdate> updates);
+
     /**
      * 统计各专业学生数量
      */
     @MapKey("clazz_id")
     List<Map<String, Object>> countStuNumData();
 
+    /**
+     * 按班级ID统计学生数量（仪表盘统计数据对账使用）
+     */
+    List<Map<String, Object>> countStuNumDataByClazzId();
+
+    /**
+     * 根据ID批量查询学生的班级与年级（用于增量维护统计数据）
+     */
+    List<Student> listByIds(List<Integer> ids);
+
     /**
      * 统计年级分布 (原学历统计)
      * 对应图表: Dashboard 饼图
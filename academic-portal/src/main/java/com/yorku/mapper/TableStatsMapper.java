@@ -0,0 +1,22 @@
+package com.yorku.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+
+/**
+ * Table Statistics Mapper Interface
+ * 表统计信息 Mapper 接口
+ * * Description: Reads the optimizer's row estimate instead of running COUNT(*).
+ * 描述：读取 InnoDB 统计信息中的估算行数，代替全表 COUNT(*)。
+ */
+@Mapper
+public interface TableStatsMapper {
+
+    /**
+     * Estimated row count of a table in the current schema
+     * 查询当前库中指定表的估算行数
+     * * @param tableName - The table to look up. (表名)
+     */
+    @Select("select table_rows from information_schema.tables where table_schema = database() and table_name = #{tableName}")
+    Long estimateRows(String tableName);
+}
@@ -0,0 +1,19 @@
+package com.yorku.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量更新结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUpdateResult {
+    private long submitted;     // 提交的条目数（去重后）
+    private long rowsAffected;  // 实际更新的行数（不存在的ID不计入）
+    private long statements;    // 执行的 UPDATE 语句数
+    private long elapsedMs;     // 耗时(毫秒)
+    private long rowsPerSecond; // 吞吐量(行/秒)
+}
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * @Description: 分页查询实体类
@@ -18,4 +19,8 @@ public class ClazzQueryParam {
     private LocalDate end;
     private Integer page=1;
     private Integer pageSize=10;
+    // 总数统计方式（EXACT / CACHED / ESTIMATED），为空时使用默认配置
+    private CountMode countMode;
+    // 内部使用：名称搜索索引解析出的ID（为空时按 name 做 LIKE 查询）
+    private List<Integer> nameIds;
 }
@@ -0,0 +1,13 @@
+package com.yorku.pojo;
+
+/**
+ * @Description: 分页查询总数的统计方式
+ */
+public enum CountMode {
+    // 每次执行 COUNT 查询
+    EXACT,
+    // 按查询条件缓存精确总数（短 TTL，写操作后失效）
+    CACHED,
+    // 无过滤条件时使用表统计信息估算总数，有过滤条件时退化为 CACHED
+    ESTIMATED
+}
@@ -0,0 +1,22 @@
+package com.yorku.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @Description: 游标分页返回的数据实体类
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorResult<T> {
+    //总记录数（未请求时为 null）
+    private Long total;
+    //当前页数据
+    private List<T> rows;
+    //下一页游标（没有更多数据时为 null）
+    private String nextCursor;
+}
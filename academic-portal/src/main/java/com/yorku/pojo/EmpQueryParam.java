@@ -5,6 +5,7 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat; // 1. 记得导包
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 @AllArgsConstructor
@@ -26,4 +27,9 @@ public class EmpQueryParam {
     // 结束时间
     @DateTimeFormat(pattern = "yyyy-MM-dd") // 3. 加上 @ 符号
     private LocalDate end;
+
+    // 总数统计方式（EXACT / CACHED / ESTIMATED），为空时使用默认配置
+    private CountMode countMode;
+    // 内部使用：名称搜索索引解析出的ID（为空时按 name 做 LIKE 查询）
+    private List<Integer> nameIds;
 }
\ No newline at end of file
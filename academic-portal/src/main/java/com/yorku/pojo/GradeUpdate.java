@@ -0,0 +1,17 @@
+package com.yorku.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量成绩更新条目（gpa / credits 为空时保持原值）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradeUpdate {
+    private Integer id;      // 学生ID
+    private Double gpa;      // 新的 GPA
+    private Integer credits; // 新的学分
+}
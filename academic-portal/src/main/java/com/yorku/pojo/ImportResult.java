@@ -0,0 +1,18 @@
+package com.yorku.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量导入结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+    private long total;      // 数据行数（不含表头）
+    private long imported;   // 成功导入行数
+    private long failed;     // 失败行数
+    private String reportId; // 错误报告ID（无错误时为空），通过 /students/import/{reportId}/errors 下载
+}
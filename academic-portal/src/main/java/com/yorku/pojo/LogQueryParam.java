@@ -13,5 +13,7 @@ import lombok.NoArgsConstructor;
 public class LogQueryParam {
     private Integer page=1;
     private Integer pageSize=10;
+    // 总数统计方式（EXACT / CACHED / ESTIMATED），为空时使用默认配置
+    private CountMode countMode;
 
 }
@@ -0,0 +1,25 @@
+package com.yorku.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * @Description: 分页参数（显式传入 Mapper，生成 limit #{offset}, #{limit}）
+ */
+@Data
+@AllArgsConstructor
+public class PageRequest {
+    //跳过的行数
+    private long offset;
+    //每页记录数
+    private int limit;
+
+    /**
+     * 由页码(从1开始)和每页记录数计算分页参数，非法值按第1页、每页1条处理
+     */
+    public static PageRequest of(Integer page, Integer pageSize) {
+        int p = page == null || page < 1 ? 1 : page;
+        int size = pageSize == null || pageSize < 1 ? 1 : pageSize;
+        return new PageRequest((long) (p - 1) * size, size);
+    }
+}
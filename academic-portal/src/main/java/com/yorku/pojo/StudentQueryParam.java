@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * @Description: 学员分页查询的响应参数
  */
@@ -21,6 +23,14 @@ public class StudentQueryParam {
     private Integer page=1;
     // 每页显示条数
     private Integer pageSize=10;
+    // 游标分页：上一页返回的 nextCursor（为空表示第一页）
+    private String cursor;
+    // 游标分页：是否同时返回总记录数
+    private Boolean withTotal=false;
+    // 总数统计方式（EXACT / CACHED / ESTIMATED），为空时使用默认配置
+    private CountMode countMode;
+    // 内部使用：名称搜索索引解析出的ID（为空时按 name 做 LIKE 查询）
+    private List<Integer> nameIds;
 
 
 }
@@ -2,13 +2,33 @@ package com.yorku.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yorku.util.AiModelProperties;
+import com.yorku.util.AiResponseCache;
+import com.yorku.util.CircuitBreaker;
+import com.yorku.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Service class for interacting with the Google Gemini AI Model.
@@ -22,22 +42,71 @@ public class AiService {
 
     // ⚠️ SECURITY WARNING: Never commit real API Keys to version control (Git).
     // ⚠️ 安全警告：永远不要将真实的 API Key 提交到版本控制系统（Git）中。
-    // In production, use environment variables (e.g., System.getenv("GEMINI_API_KEY")).
-    // 在生产环境中，请使用环境变量。
-    private static final String API_KEY = "Your Gemini API Key";
+    // Endpoint and key come from ai.model.* (e.g. the AI_MODEL_API_KEY environment variable).
+    // 接口地址与 API Key 来自 ai.model.* 配置（例如环境变量 AI_MODEL_API_KEY）。
+    @Autowired
+    private AiModelProperties aiModelProperties;
 
-    // API Endpoint for Gemini 2.5 Flash model (Optimized for speed and cost).
-    // Gemini 2.5 Flash 模型的 API 端点（针对速度和成本进行了优化）。
-    private static final String API_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent?key=" + API_KEY;
+    // Returned whenever the model cannot answer, so the frontend always gets valid JSON.
+    // 模型无法响应时返回的兜底 JSON，保证前端始终收到有效结果。
+    private static final String FALLBACK_RESPONSE = "{\"type\":\"CHAT\", \"message\":\"[SYSTEM FAILURE] AI Service Unreachable.\"}";
 
-    // HTTP Client for sending requests.
-    // 用于发送请求的 HTTP 客户端。
-    private final HttpClient httpClient = HttpClient.newHttpClient();
+    // Returned when ai.model.max-concurrent-calls model calls are already in flight.
+    // 进行中的模型调用已达上限时返回。
+    private static final String BUSY_RESPONSE = "{\"type\":\"CHAT\", \"message\":\"[SYSTEM BUSY] Too many AI requests in progress, please try again shortly.\"}";
+
+    // Shared HTTP/2 client: one multiplexed connection is reused across calls; responses complete on virtual threads.
+    // 共享的 HTTP/2 客户端：多个调用复用同一连接；响应在虚拟线程上完成。
+    private HttpClient httpClient;
+
+    private ExecutorService httpExecutor;
+
+    // Bulkhead: a slow model cannot tie up more than max-concurrent-calls requests.
+    // 舱壁隔离：限制同时进行的模型调用数，模型变慢时不会拖住所有请求。
+    private Semaphore bulkhead;
+
+    private final LongAdder busyRejections = new LongAdder();
+
+    // Opens after consecutive failures/timeouts; while open, requests get the fallback immediately.
+    // 连续失败或超时后熔断，熔断期间请求直接返回兜底结果。
+    private CircuitBreaker circuitBreaker;
 
     // Jackson Object Mapper for JSON processing.
     // 用于 JSON 处理的 Jackson 对象映射器。
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    // Cache of model translations for repeated questions.
+    // 重复问题的模型响应缓存。
+    @Autowired
+    private AiResponseCache aiResponseCache;
+
+    // Model call latency (Micrometer timer ai.model.call).
+    // 模型调用耗时统计。
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // In-flight model calls by cache key: concurrent identical questions share one call.
+    // 进行中的模型调用（按缓存键）：并发的相同问题共享同一次调用。
+    private final SingleFlight<String, String> modelCalls = new SingleFlight<>();
+
+    @PostConstruct
+    public void init() {
+        httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(aiModelProperties.getConnectTimeoutMs()))
+                .executor(httpExecutor)
+                .build();
+        bulkhead = new Semaphore(aiModelProperties.getMaxConcurrentCalls());
+        circuitBreaker = new CircuitBreaker(aiModelProperties.getCircuitFailureThreshold(), aiModelProperties.getCircuitOpenMs());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        httpClient.shutdownNow();
+        httpExecutor.shutdownNow();
+    }
+
     /**
      * York University AI Agent Logic
      * Processes user input and returns a JSON string containing SQL or a chat message.
@@ -45,9 +114,9 @@ public class AiService {
      * 处理用户输入并返回包含 SQL 或聊天消息的 JSON 字符串。
      *
      * @param userQuestion The natural language query from the user (e.g., "Show me all CS students"). / 用户输入的自然语言查询。
-     * @return A JSON string representing the AI's response. / 代表 AI 响应的 JSON 字符串。
+     * @return A future of the JSON string representing the AI's response; it never completes exceptionally. / 代表 AI 响应的 JSON 字符串（异步返回，不会异常完成）。
      */
-    public String generateAiResponse(String userQuestion) {
+    public CompletableFuture<String> generateAiResponseAsync(String userQuestion) {
 
         // =================================================================================
         // STEP 1: Define the Database Schema (Context)
@@ -104,6 +173,15 @@ public class AiService {
             );
             """;
 
+        // Serve repeated (normalized) questions from the cache, keyed by schema version.
+        // 规范化后的重复问题直接从缓存返回（缓存键包含模式版本）。
+        String cacheKey = aiResponseCache.key(yorkSchema, userQuestion);
+        String cached = aiResponseCache.get(cacheKey);
+        if (cached != null) {
+            log.info("⚡ [AI Cache] Hit for question: {}", userQuestion);
+            return CompletableFuture.completedFuture(cached);
+        }
+
         // =================================================================================
         // STEP 2: Construct the System Prompt
         // 步骤 2：构造系统提示词
@@ -134,6 +212,55 @@ public class AiService {
             }
             """, yorkSchema, userQuestion);
 
+        // Concurrent identical (normalized) questions wait for the first one's model call,
+        // e.g. dozens of clients opening the same shared dashboard link at once.
+        // 并发的相同问题等待第一个请求的模型调用结果（例如多人同时打开同一分享链接）。
+        return modelCalls.executeAsync(cacheKey, () -> callModel(prompt, cacheKey));
+    }
+
+    /**
+     * Model call statistics: executed calls and requests that shared one
+     * 模型调用合并统计：实际调用次数与共享结果的请求数
+     */
+    public Map<String, Object> coalescingStats() {
+        return modelCalls.stats();
+    }
+
+    /**
+     * Model client statistics: circuit breaker state, calls in flight and calls rejected by the bulkhead
+     * 模型客户端统计：熔断器状态、进行中的调用数与被舱壁拒绝的调用数
+     */
+    public Map<String, Object> clientStats() {
+        Map<String, Object> stats = circuitBreaker.stats();
+        stats.put("inFlight", aiModelProperties.getMaxConcurrentCalls() - bulkhead.availablePermits());
+        stats.put("maxConcurrentCalls", aiModelProperties.getMaxConcurrentCalls());
+        stats.put("busyRejections", busyRejections.sum());
+        return stats;
+    }
+
+    /**
+     * Send the prompt to Gemini and extract the JSON answer (cached on success)
+     * 发送提示词给 Gemini 并提取 JSON 结果（成功时写入缓存）
+     */
+    private CompletableFuture<String> callModel(String prompt, String cacheKey) {
+        // Fail fast instead of queueing behind a slow or broken backend
+        // 后端缓慢或故障时快速失败，而不是排队等待
+        if (!bulkhead.tryAcquire()) {
+            busyRejections.increment();
+            log.warn("🚧 [AI Bulkhead] {} model calls in flight, rejecting request", aiModelProperties.getMaxConcurrentCalls());
+            return CompletableFuture.completedFuture(BUSY_RESPONSE);
+        }
+        // The permit ties this call's outcome to the breaker state it was admitted in
+        // 调用凭证：结果只对放行时的熔断器状态有效
+        long permit = circuitBreaker.tryAcquire();
+        if (permit == CircuitBreaker.REJECTED) {
+            bulkhead.release();
+            log.warn("⛔ [AI Circuit] Open, answering with fallback");
+            return CompletableFuture.completedFuture(FALLBACK_RESPONSE);
+        }
+
+        long startNanos = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> exchange;
         try {
             // =================================================================================
             // STEP 3: Build and Send Request to Gemini
@@ -150,18 +277,70 @@ public class AiService {
                                                     .put("text", prompt)))))
                     .toString();
 
-            // Build HTTP Request
-            // 构建 HTTP 请求对象
+            // Build HTTP Request (timeout bounds the wait for the response headers)
+            // 构建 HTTP 请求对象（timeout 限制等待响应头的时间）
             HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_URL))
+                    .uri(URI.create(aiModelProperties.getUrl() + "?key=" + aiModelProperties.getApiKey()))
+                    .timeout(Duration.ofMillis(aiModelProperties.getTimeoutMs()))
                     .header("Content-Type", "application/json")
                     .POST(HttpRequest.BodyPublishers.ofString(requestBody))
                     .build();
 
-            // Send Synchronous Request
-            // 发送同步请求
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            // Send Asynchronous Request: no thread waits while the model thinks
+            // 发送异步请求：等待模型响应期间不占用线程
+            exchange = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            circuitBreaker.onFailure(permit);
+            log.error("York U AI Service Critical Failure:", e);
+            return CompletableFuture.completedFuture(FALLBACK_RESPONSE);
+        }
+
+        // Overall deadline, including the response body / 整体截止时间（包含读取响应体）
+        return exchange.copy()
+                .orTimeout(aiModelProperties.getTimeoutMs(), TimeUnit.MILLISECONDS)
+                .handle((response, error) -> {
+                    bulkhead.release();
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        boolean timedOut = cause instanceof TimeoutException || cause instanceof HttpTimeoutException;
+                        // Model latency: "timeout" or "failure" when no response arrived
+                        // 记录模型调用耗时：无响应时记为 timeout 或 failure
+                        recordModelCall(startNanos, timedOut ? "timeout" : "failure");
+                        if (timedOut) {
+                            exchange.cancel(true);
+                        }
+                        circuitBreaker.onFailure(permit);
+                        log.error("York U AI Service Critical Failure:", cause);
+                        return FALLBACK_RESPONSE;
+                    }
+
+                    // Model latency by HTTP status / 记录模型调用耗时，按 HTTP 状态码区分
+                    recordModelCall(startNanos, String.valueOf(response.statusCode()));
+                    // Overload and server errors count towards opening the circuit
+                    // 限流与服务端错误计入熔断
+                    if (response.statusCode() >= 500 || response.statusCode() == 429) {
+                        circuitBreaker.onFailure(permit);
+                    } else {
+                        circuitBreaker.onSuccess(permit);
+                    }
+                    return parseResponse(response, cacheKey, startNanos);
+                });
+    }
 
+    private void recordModelCall(long startNanos, String outcome) {
+        Timer.builder("ai.model.call")
+                .description("Latency of calls to the AI model API")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Extract the JSON answer from Gemini's response (cached on success)
+    // 从 Gemini 响应中提取 JSON 结果（成功时写入缓存）
+    private String parseResponse(HttpResponse<String> response, String cacheKey, long startNanos) {
+        try {
             // =================================================================================
             // STEP 4: Parse the Response
             // 步骤 4：解析响应
@@ -183,7 +362,12 @@ public class AiService {
 
             // Clean up Markdown code blocks (Gemini often wraps JSON in ```json ... ```)
             // 清理 Markdown 代码块标记（Gemini 经常将 JSON 包裹在 ```json ... ``` 中）
-            return content.replace("```json", "").replace("```", "").trim();
+            String result = content.replace("```json", "").replace("```", "").trim();
+
+            // Cache only successful translations (errors and fallbacks are never cached)
+            // 仅缓存成功的结果（错误与兜底响应不缓存）
+            aiResponseCache.put(cacheKey, result, System.nanoTime() - startNanos);
+            return result;
 
         } catch (Exception e) {
             // =================================================================================
@@ -194,7 +378,7 @@ public class AiService {
 
             // Return a valid JSON even if the system fails, so the frontend doesn't crash.
             // 即使系统失败也返回有效的 JSON，这样前端就不会崩溃。
-            return "{\"type\":\"CHAT\", \"message\":\"[SYSTEM FAILURE] AI Service Unreachable.\"}";
+            return FALLBACK_RESPONSE;
         }
     }
-}
\ No newline at end of file
+}
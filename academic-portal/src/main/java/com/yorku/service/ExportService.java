@@ -0,0 +1,35 @@
+package com.yorku.service;
+
+import com.yorku.pojo.EmpQueryParam;
+import com.yorku.pojo.LogQueryParam;
+import com.yorku.pojo.StudentQueryParam;
+
+import java.io.OutputStream;
+
+/**
+ * CSV Export Service Interface
+ * York University Academic Portal
+ *
+ * 数据导出（CSV）：以游标逐行读取并直接写入输出流，内存占用与数据量无关
+ */
+public interface ExportService {
+
+    /**
+     * Export Students matching the listing filters
+     * 导出学生（条件与分页查询相同）
+     * @return number of rows written / 导出行数
+     */
+    long exportStudents(StudentQueryParam studentQueryParam, OutputStream out) throws Exception;
+
+    /**
+     * Export Staff matching the listing filters
+     * 导出教职工（条件与分页查询相同）
+     */
+    long exportEmps(EmpQueryParam empQueryParam, OutputStream out) throws Exception;
+
+    /**
+     * Export Audit Logs
+     * 导出操作日志
+     */
+    long exportLogs(LogQueryParam logQueryParam, OutputStream out) throws Exception;
+}
@@ -0,0 +1,25 @@
+package com.yorku.service;
+
+import com.yorku.pojo.ImportResult;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Student Bulk Import Service Interface
+ * York University Academic Portal
+ */
+public interface StudentImportService {
+
+    /**
+     * Import Students from CSV
+     * 从 CSV 流式导入学生（逐行解析、分块批量写入）
+     */
+    ImportResult importCsv(InputStream in) throws Exception;
+
+    /**
+     * Locate the Error Report of an Import
+     * 获取导入错误报告文件
+     */
+    Path errorReport(String reportId);
+}
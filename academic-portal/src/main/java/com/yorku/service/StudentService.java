@@ -1,9 +1,13 @@
 package com.yorku.service;
 
+import com.yorku.pojo.BatchUpdateResult;
+import com.yorku.pojo.CursorResult;
+import com.yorku.pojo.GradeUpdate;
 import com.yorku.pojo.PageResult;
 import com.yorku.pojo.Student;
 import com.yorku.pojo.StudentQueryParam;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +23,12 @@ public interface StudentService {
      */
     PageResult<Student> page(StudentQueryParam studentQueryParam);
 
+    /**
+     * Cursor (Keyset) Query for Students
+     * 游标分页查询（不使用 OFFSET，总数可选）
+     */
+    CursorResult<Student> scroll(StudentQueryParam studentQueryParam);
+
     /**
      * Add New Student
      * 新增学员
@@ -51,6 +61,19 @@ public interface StudentService {
      */
     void updateGPA(Integer id, Double gpa);
 
+    /**
+     * Bulk Update GPA / Credits
+     * 批量更新绩点与学分（全部成功或全部回滚）
+     */
+    BatchUpdateResult updateGrades(List<GradeUpdate> updates);
+
+    /**
+     * Bulk Update GPA / Credits from a CSV stream (columns: id, gpa, credits)
+     * Each chunk of rows commits on its own; on an error, the message reports how far the file was applied.
+     * 从 CSV 流式读取并批量更新绩点与学分（每块独立提交，出错时报告已提交的进度）
+     */
+    BatchUpdateResult updateGradesCsv(InputStream in) throws Exception;
+
     /**
      * Get Course Enrollment Stats (Bar Chart)
      * 统计课程人数
@@ -1,7 +1,5 @@
 package com.yorku.service.impl;
 
-import com.github.pagehelper.Page;
-import com.github.pagehelper.PageHelper;
 import com.yorku.exception.BusinessException;
 import com.yorku.mapper.ClazzMapper;
 import com.yorku.mapper.StudentMapper;
@@ -9,8 +7,12 @@ import com.yorku.pojo.Clazz;
 import com.yorku.pojo.ClazzQueryParam;
 import com.yorku.pojo.PageResult;
 import com.yorku.service.ClazzService;
+import com.yorku.util.NameSearchIndex;
+import com.yorku.util.PageCountCache;
+import com.yorku.util.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -34,25 +36,31 @@ public class ClazzServiceImpl implements ClazzService {
     @Autowired
     private StudentMapper studentMapper;
 
+    @Autowired
+    private PageCountCache pageCountCache;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private NameSearchIndex nameSearchIndex;
+
     /**
      * Paginated Search for Course Sections
      *
      * 班级管理 - 分页查询
      */
+    @Transactional(readOnly = true)
     @Override
     public PageResult<Clazz> page(ClazzQueryParam clazzQueryParam) {
-        // 1. Setup Pagination (PageHelper)
-        // 设置分页参数
-        PageHelper.startPage(clazzQueryParam.getPage(), clazzQueryParam.getPageSize());
-
-        // 2. Execute Query
-        // 调用Mapper查询
-        List<Clazz> clazzList = clazzMapper.list(clazzQueryParam);
-
-        // 3. Encapsulate Results
-        // 封装结果并返回
-        Page<Clazz> pageResult = (Page<Clazz>) clazzList;
-        return new PageResult<>(pageResult.getTotal(), pageResult.getResult());
+        // Paginate and encapsulate results, reusing a cached total when allowed
+        // 分页查询并封装结果（按统计方式复用缓存的总数），名称条件优先走名称索引
+        clazzQueryParam.setNameIds(nameSearchIndex.search(NameSearchIndex.CLAZZ, clazzQueryParam.getName()));
+        return pageCountCache.page("clazz", clazzQueryParam.getCountMode(),
+                clazzQueryParam.getPage(), clazzQueryParam.getPageSize(),
+                page -> clazzMapper.list(clazzQueryParam, page),
+                () -> clazzMapper.countList(clazzQueryParam),
+                clazzQueryParam.getName(), clazzQueryParam.getBegin(), clazzQueryParam.getEnd());
     }
 
     /**
@@ -76,6 +84,9 @@ public class ClazzServiceImpl implements ClazzService {
         // Proceed with deletion if safe
         // 校验通过，执行删除
         clazzMapper.delete(id);
+        pageCountCache.invalidate("clazz");
+        referenceDataCache.invalidateClazzes();
+        nameSearchIndex.remove(NameSearchIndex.CLAZZ, List.of(id));
     }
 
     /**
@@ -94,6 +105,9 @@ public class ClazzServiceImpl implements ClazzService {
         // Insert into Database
         // 调用持久层保存
         clazzMapper.save(clazz);
+        pageCountCache.invalidate("clazz");
+        referenceDataCache.invalidateClazzes();
+        nameSearchIndex.put(NameSearchIndex.CLAZZ, clazz.getId(), clazz.getName());
     }
 
     /**
@@ -101,6 +115,7 @@ public class ClazzServiceImpl implements ClazzService {
      *
      * 班级管理 - 根据ID查询详情
      */
+    @Transactional(readOnly = true)
     @Override
     public Clazz findById(Integer id) {
         return clazzMapper.findById(id);
@@ -120,15 +135,20 @@ public class ClazzServiceImpl implements ClazzService {
 
         // Execute Update
         clazzMapper.update(clazz);
+        pageCountCache.invalidate("clazz");
+        referenceDataCache.invalidateClazzes();
+        if (clazz.getName() != null && !clazz.getName().isEmpty()) {
+            nameSearchIndex.put(NameSearchIndex.CLAZZ, clazz.getId(), clazz.getName());
+        }
     }
 
     /**
      * List All Course Sections
      *
-     * 班级管理 - 查询所有班级
+     * 班级管理 - 查询所有班级（从基础数据缓存读取）
      */
     @Override
     public List<Clazz> findAll() {
-        return clazzMapper.findAll();
+        return referenceDataCache.findAllClazzes();
     }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.yorku.exception.BusinessException;
 import com.yorku.mapper.DeptMapper;
 import com.yorku.pojo.Dept;
 import com.yorku.service.DeptService;
+import com.yorku.util.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -26,15 +27,18 @@ public class DeptServiceImpl implements DeptService {
     @Autowired
     private DeptMapper deptMapper;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     /**
      * List All Academic Units
-     * Retrieves the full directory of faculties and departments.
+     * Retrieves the full directory of faculties and departments (served from the reference cache).
      *
-     * 部门管理 - 查询所有部门
+     * 部门管理 - 查询所有部门（从基础数据缓存读取）
      */
     @Override
     public List<Dept> findAll() {
-        return deptMapper.findAll();
+        return referenceDataCache.findAllDepts();
     }
 
     /**
@@ -58,6 +62,7 @@ public class DeptServiceImpl implements DeptService {
         // 3. Perform deletion if safe
         // 校验通过，执行删除操作
         deptMapper.deleteById(id);
+        referenceDataCache.invalidateDepts();
     }
 
     /**
@@ -76,6 +81,7 @@ public class DeptServiceImpl implements DeptService {
         // Insert into Database
         // 调用持久层保存
         deptMapper.add(dept);
+        referenceDataCache.invalidateDepts();
     }
 
     /**
@@ -104,5 +110,6 @@ public class DeptServiceImpl implements DeptService {
         // Execute Update
         // 调用持久层更新
         deptMapper.update(dept);
+        referenceDataCache.invalidateDepts();
     }
 }
\ No newline at end of file
@@ -1,13 +1,16 @@
 package com.yorku.service.impl;
 
-import com.github.pagehelper.Page;
-import com.github.pagehelper.PageHelper;
 import com.yorku.mapper.EmpExprMapper;
 import com.yorku.mapper.EmpMapper;
 import com.yorku.pojo.*;
 import com.yorku.service.EmpLogService;
 import com.yorku.service.EmpService;
+import com.yorku.util.DashboardStatsStore;
+import com.yorku.util.NameSearchIndex;
+import com.yorku.util.EmpExprDiff;
 import com.yorku.util.JwtUtils;
+import com.yorku.util.PageCountCache;
+import com.yorku.util.ReferenceDataCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -19,6 +22,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Faculty & Staff Service Implementation
@@ -41,27 +45,42 @@ public class EmpServiceImpl implements EmpService {
     private EmpExprMapper empExprMapper;
     @Autowired
     private EmpLogService empLogService;
+    @Autowired
+    private PageCountCache pageCountCache;
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+    @Autowired
+    private DashboardStatsStore dashboardStatsStore;
+    @Autowired
+    private NameSearchIndex nameSearchIndex;
 
     /**
      * Paginated Directory Search
-     * Uses PageHelper to handle limit/offset logic automatically.
+     * The page is passed to the mapper explicitly (PageRequest -> LIMIT/OFFSET);
+     * the total count follows the requested CountMode (see PageCountCache).
+     * Read-only transaction: served by the replica while it is in sync.
      *
      * 分页查询教职工列表
      */
+    @Transactional(readOnly = true)
     @Override
     public PageResult<Emp> page(EmpQueryParam empQueryParam){
-        // 1. Setup Pagination
-        // 设置分页参数
-        PageHelper.startPage(empQueryParam.getPage(), empQueryParam.getPageSize());
-
-        // 2. Execute Query
-        // 调用Mapper查询
-        List<Emp> empList = empMapper.list(empQueryParam);
-
-        // 3. Encapsulate Results
-        // 封装分页结果
-        Page<Emp> pageResult = (Page<Emp>) empList;
-        return new PageResult<>(pageResult.getTotal(), pageResult.getResult());
+        // Resolve the name filter through the n-gram index (null falls back to LIKE)
+        // 通过名称索引解析姓名条件（返回 null 时使用 LIKE 查询）
+        empQueryParam.setNameIds(nameSearchIndex.search(NameSearchIndex.EMP, empQueryParam.getName()));
+
+        // Paginate and encapsulate results, reusing a cached total when allowed
+        // 分页查询并封装结果（按统计方式复用缓存的总数）
+        PageResult<Emp> pageResult = pageCountCache.page("emp", empQueryParam.getCountMode(),
+                empQueryParam.getPage(), empQueryParam.getPageSize(),
+                page -> empMapper.list(empQueryParam, page),
+                () -> empMapper.countList(empQueryParam),
+                empQueryParam.getName(), empQueryParam.getGender(), empQueryParam.getBegin(), empQueryParam.getEnd());
+
+        // Resolve department names from the reference cache instead of joining dept
+        // 从基础数据缓存中填充部门名称（不再关联查询 dept 表）
+        pageResult.getRows().forEach(emp -> emp.setDeptName(referenceDataCache.deptName(emp.getDeptId())));
+        return pageResult;
     }
 
     /**
@@ -94,6 +113,9 @@ public class EmpServiceImpl implements EmpService {
                 log.info("📝 [York U Admin] Saving Work History: {}", exprList);
                 empExprMapper.insertBatch(exprList);
             }
+            pageCountCache.invalidate("emp");
+            dashboardStatsStore.adjustEmp(emp.getJob(), emp.getGender(), 1);
+            nameSearchIndex.put(NameSearchIndex.EMP, emp.getId(), emp.getName());
         } finally {
             // 3. System Audit Log (Legacy requirement)
             // 记录操作日志 (无论成功失败)
@@ -111,6 +133,10 @@ public class EmpServiceImpl implements EmpService {
     @Transactional(rollbackFor = {Exception.class})
     @Override
     public void delete(List<Integer> ids) {
+        // 0. Capture role/gender of the removed staff for dashboard statistics
+        // 记录被删除员工的职位与性别，用于更新统计数据
+        List<Emp> removed = empMapper.listByIds(ids);
+
         // 1. Delete Basic Profile
         // 批量删除员工基本信息
         empMapper.deleteByIds(ids);
@@ -118,6 +144,13 @@ public class EmpServiceImpl implements EmpService {
         // 2. Delete Associated Work History
         // 批量删除关联的工作经历信息
         empExprMapper.deleteByEmpIds(ids);
+
+        // 3. Invalidate cached totals (log listing joins emp)
+        // 清除缓存的分页总数（日志列表关联了员工表）
+        pageCountCache.invalidate("emp");
+        pageCountCache.invalidate("operate_log");
+        removed.forEach(e -> dashboardStatsStore.adjustEmp(e.getJob(), e.getGender(), -1));
+        nameSearchIndex.remove(NameSearchIndex.EMP, ids);
     }
 
     /**
@@ -125,6 +158,7 @@ public class EmpServiceImpl implements EmpService {
      *
      * 根据ID查询员工信息
      */
+    @Transactional(readOnly = true)
     @Override
     public Emp getInfo(Integer id) {
         return empMapper.getById(id);
@@ -135,6 +169,7 @@ public class EmpServiceImpl implements EmpService {
      *
      * 查询所有员工
      */
+    @Transactional(readOnly = true)
     @Override
     public List<Emp> findAll() {
         return empMapper.findAll();
@@ -142,7 +177,7 @@ public class EmpServiceImpl implements EmpService {
 
     /**
      * Update Personnel Profile
-     * Strategy: "Delete-then-Insert" for work history updates.
+     * Strategy: diff-based work history update (only changed rows are written).
      *
      * 修改员工信息
      */
@@ -152,21 +187,38 @@ public class EmpServiceImpl implements EmpService {
         // 1. Update Basic Profile
         // 修改基本信息
         emp.setUpdateTime(LocalDateTime.now());
+        List<Emp> before = empMapper.listByIds(Arrays.asList(emp.getId()));
         empMapper.updateById(emp);
+        pageCountCache.invalidate("emp");
+        nameSearchIndex.put(NameSearchIndex.EMP, emp.getId(), emp.getName());
+
+        // Move the dashboard counters when role or gender changed
+        // 职位或性别变化时同步更新统计数据
+        if (!before.isEmpty()) {
+            Emp old = before.get(0);
+            Integer job = emp.getJob() != null ? emp.getJob() : old.getJob();
+            Integer gender = emp.getGender() != null ? emp.getGender() : old.getGender();
+            if (!Objects.equals(job, old.getJob()) || !Objects.equals(gender, old.getGender())) {
+                dashboardStatsStore.adjustEmp(old.getJob(), old.getGender(), -1);
+                dashboardStatsStore.adjustEmp(job, gender, 1);
+            }
+        }
 
-        // 2. Update Work History (Reset Strategy)
-        // 2.1 Delete existing history for this employee
-        // 先删除旧的工作经历
-        empExprMapper.deleteByEmpIds(Arrays.asList(emp.getId()));
-
-        // 2.2 Insert new history list
-        // 再添加新的工作经历
-        List<EmpExpr> exprList = emp.getExprList();
-        if (!CollectionUtils.isEmpty(exprList)) {
-            exprList.forEach(empExpr -> {
-                empExpr.setEmpId(emp.getId());
-            });
-            empExprMapper.insertBatch(exprList);
+        // 2. Update Work History (Diff Strategy)
+        // 2.1 Compare the submitted history with the stored rows
+        // 对比提交的工作经历与现有记录，计算新增/修改/删除的条目
+        EmpExprDiff diff = EmpExprDiff.of(emp.getId(), empExprMapper.listByEmpId(emp.getId()), emp.getExprList());
+
+        // 2.2 Apply only the changes, one batched statement per kind
+        // 只写入有变化的记录，每类变更一条批量语句
+        if (!diff.getDeleteIds().isEmpty()) {
+            empExprMapper.deleteByIds(diff.getDeleteIds());
+        }
+        if (!diff.getUpdates().isEmpty()) {
+            empExprMapper.updateBatch(diff.getUpdates());
+        }
+        if (!diff.getInserts().isEmpty()) {
+            empExprMapper.insertBatch(diff.getInserts());
         }
     }
 
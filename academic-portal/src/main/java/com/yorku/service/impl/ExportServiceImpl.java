@@ -0,0 +1,161 @@
+package com.yorku.service.impl;
+
+import com.yorku.mapper.EmpMapper;
+import com.yorku.mapper.LogMapper;
+import com.yorku.mapper.StudentMapper;
+import com.yorku.pojo.Emp;
+import com.yorku.pojo.EmpQueryParam;
+import com.yorku.pojo.LogList;
+import com.yorku.pojo.LogQueryParam;
+import com.yorku.pojo.Student;
+import com.yorku.pojo.StudentQueryParam;
+import com.yorku.service.ExportService;
+import com.yorku.util.CsvWriter;
+import com.yorku.util.NameSearchIndex;
+import com.yorku.util.ReferenceDataCache;
+import jakarta.annotation.PostConstruct;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.boot.autoconfigure.MybatisAutoConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+import javax.sql.DataSource;
+
+/**
+ * CSV Export Service Implementation
+ * York University Academic Portal
+ *
+ * Description:
+ * Runs the listing queries as MyBatis Cursors (server-side, fetch-size limited ResultSets) and
+ * writes each row straight to the response stream through a small buffer, so memory use stays
+ * constant however many rows are exported. Exports run in a read-only transaction on the analytics
+ * pool (see DataSourceConfig), so a long export reads one consistent snapshot and never takes a
+ * connection from the CRUD pool. Its MyBatis session factory is built by the MyBatis auto-configuration,
+ * so mybatis.configuration.*, type aliases, type handlers and Interceptor beans apply as on the primary one.
+ *
+ * @Description: CSV 导出实现
+ * 使用 MyBatis 游标逐行读取、逐行写出，不经过分页 COUNT/OFFSET 查询，内存占用恒定。
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Autowired
+    @Qualifier("analytics")
+    private DataSource analyticsDataSource;
+
+    @Autowired
+    private MybatisAutoConfiguration mybatisAutoConfiguration;
+
+    // MyBatis session on the analytics pool (same mappers, settings and plugins as the primary one).
+    // Not a bean: mapper factory beans autowire SqlSessionFactory / SqlSessionTemplate by type.
+    // 绑定分析连接池的 SqlSession（Mapper、配置与插件同主数据源）；不注册为 Bean，避免 Mapper 按类型注入时选中它
+    private SqlSessionTemplate analyticsSqlSession;
+
+    // Names are resolved from the reference cache, the cursors do not join dept / clazz
+    // 部门/班级名称从基础数据缓存中解析
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private NameSearchIndex nameSearchIndex;
+
+    @PostConstruct
+    public void init() throws Exception {
+        SqlSessionFactory sessionFactory = mybatisAutoConfiguration.sqlSessionFactory(analyticsDataSource);
+        // @Mapper interfaces are registered by the mapper scanner on the primary factory only
+        // @Mapper 接口只由扫描器注册到主 SqlSessionFactory，这里按包注册同一组 Mapper（mapper-locations 已加载时跳过）
+        Configuration configuration = sessionFactory.getConfiguration();
+        if (configuration.getMapperRegistry().getMappers().isEmpty()) {
+            configuration.addMappers(StudentMapper.class.getPackageName());
+        }
+        analyticsSqlSession = new SqlSessionTemplate(sessionFactory);
+    }
+
+    @Transactional(value = "analytics", readOnly = true)
+    @Override
+    public long exportStudents(StudentQueryParam studentQueryParam, OutputStream out) throws Exception {
+        CsvWriter csv = open(out, "id", "no", "name", "gender", "phone", "idCard", "enrollmentStatus", "address",
+                "yearLevel", "graduationDate", "clazzId", "clazzName", "gpa", "credits", "createTime", "updateTime");
+        long rows = 0;
+        studentQueryParam.setNameIds(nameSearchIndex.search(NameSearchIndex.STUDENT, studentQueryParam.getName()));
+        try (Cursor<Student> cursor = analyticsSqlSession.getMapper(StudentMapper.class).listCursor(studentQueryParam)) {
+            for (Student s : cursor) {
+                csv.writeRow(s.getId(), s.getNo(), s.getName(), s.getGender(), s.getPhone(), s.getIdCard(),
+                        s.getEnrollmentStatus(), s.getAddress(), s.getYearLevel(), s.getGraduationDate(),
+                        s.getClazzId(), referenceDataCache.clazzName(s.getClazzId()), s.getGpa(), s.getCredits(),
+                        format(s.getCreateTime()), format(s.getUpdateTime()));
+                rows++;
+            }
+        }
+        csv.flush();
+        return rows;
+    }
+
+    @Transactional(value = "analytics", readOnly = true)
+    @Override
+    public long exportEmps(EmpQueryParam empQueryParam, OutputStream out) throws Exception {
+        // Password hashes are never exported / 不导出密码
+        CsvWriter csv = open(out, "id", "username", "name", "gender", "phone", "job", "salary", "entryDate",
+                "deptId", "deptName", "createTime", "updateTime");
+        long rows = 0;
+        empQueryParam.setNameIds(nameSearchIndex.search(NameSearchIndex.EMP, empQueryParam.getName()));
+        try (Cursor<Emp> cursor = analyticsSqlSession.getMapper(EmpMapper.class).listCursor(empQueryParam)) {
+            for (Emp e : cursor) {
+                csv.writeRow(e.getId(), e.getUsername(), e.getName(), e.getGender(), e.getPhone(), e.getJob(),
+                        e.getSalary(), e.getEntryDate(), e.getDeptId(), referenceDataCache.deptName(e.getDeptId()),
+                        format(e.getCreateTime()), format(e.getUpdateTime()));
+                rows++;
+            }
+        }
+        csv.flush();
+        return rows;
+    }
+
+    @Transactional(value = "analytics", readOnly = true)
+    @Override
+    public long exportLogs(LogQueryParam logQueryParam, OutputStream out) throws Exception {
+        CsvWriter csv = open(out, "id", "operateEmpId", "operateEmpName", "operateTime", "className",
+                "methodName", "methodParams", "returnValue", "costTime");
+        long rows = 0;
+        try (Cursor<LogList> cursor = analyticsSqlSession.getMapper(LogMapper.class).listCursor(logQueryParam)) {
+            for (LogList l : cursor) {
+                csv.writeRow(l.getId(), l.getOperateEmpId(), l.getOperateEmpName(), l.getOperateTime(),
+                        l.getClassName(), l.getMethodName(), l.getMethodParams(), l.getReturnValue(), l.getCostTime());
+                rows++;
+            }
+        }
+        csv.flush();
+        return rows;
+    }
+
+    // UTF-8 with BOM so Excel detects the encoding; the writer is not closed (the container owns the stream)
+    // 写入 BOM 便于 Excel 识别编码；输出流由容器关闭
+    private static CsvWriter open(OutputStream out, String... header) throws IOException {
+        out.write(UTF8_BOM);
+        CsvWriter csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        csv.writeRow(Arrays.asList((Object[]) header));
+        return csv;
+    }
+
+    private static String format(LocalDateTime time) {
+        return time == null ? null : time.format(DATE_TIME);
+    }
+}
@@ -1,16 +1,14 @@
 package com.yorku.service.impl;
 
-import com.github.pagehelper.Page;
-import com.github.pagehelper.PageHelper;
 import com.yorku.mapper.LogMapper;
 import com.yorku.pojo.LogList;
 import com.yorku.pojo.LogQueryParam;
 import com.yorku.pojo.PageResult;
 import com.yorku.service.LogService;
+import com.yorku.util.PageCountCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 
 /**
  * @Description: 日志分页查询
@@ -20,14 +18,13 @@ public class LogServiceImpl implements LogService {
 
     @Autowired
     private LogMapper logMapper;
+    @Autowired
+    private PageCountCache pageCountCache;
     @Override
     public PageResult<LogList> page(LogQueryParam logQueryParam) {
-        //1.设置分页参数
-        PageHelper.startPage(logQueryParam.getPage(),logQueryParam.getPageSize());
-        //2.调用分页查询的方法
-        List<LogList> clazzList =logMapper.list(logQueryParam);
-        //3.封装结果并返回
-        Page<LogList> pageResult = (Page<LogList>) clazzList;
-        return new PageResult<LogList>(pageResult.getTotal(),pageResult.getResult());
+        //分页查询并封装结果（日志表写入频繁，总数仅依赖短 TTL 过期，不随每次写入失效）
+        return pageCountCache.page("operate_log", logQueryParam.getCountMode(),
+                logQueryParam.getPage(), logQueryParam.getPageSize(),
+                logMapper::list, logMapper::countList);
     }
 }
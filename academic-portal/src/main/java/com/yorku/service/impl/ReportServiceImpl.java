@@ -1,10 +1,9 @@
 package com.yorku.service.impl;
 
-import com.yorku.mapper.EmpMapper;
-import com.yorku.mapper.StudentMapper;
 import com.yorku.pojo.JobOption;
 import com.yorku.pojo.StudentCountOption;
 import com.yorku.service.ReportService;
+import com.yorku.util.DashboardStatsStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,22 +13,20 @@ import java.util.Map;
 /**
  * Report Service Implementation
  * (Legacy Service: Handles Employee Stats. Student stats are now mostly in StudentService)
+ * Aggregates are served from DashboardStatsStore instead of running GROUP BY on every load.
  */
 @Service
 public class ReportServiceImpl implements ReportService {
 
     @Autowired
-    private EmpMapper empMapper;
-
-    @Autowired
-    private StudentMapper studentMapper;
+    private DashboardStatsStore dashboardStatsStore;
 
     /**
      * 统计员工职位人数
      */
     @Override
     public JobOption getEmpJobData() {
-        List<Map<String, Object>> list = empMapper.countEmpJobData();
+        List<Map<String, Object>> list = dashboardStatsStore.empJobData();
         List<Object> jobList = list.stream().map(dataMap -> dataMap.get("pos")).toList();
         List<Object> dataList = list.stream().map(dataMap -> dataMap.get("cnt")).toList();
         return new JobOption(jobList, dataList);
@@ -40,7 +37,7 @@ public class ReportServiceImpl implements ReportService {
      */
     @Override
     public List<Map<String, Object>> getEmpGenderData() {
-        return empMapper.countEmpGenderData();
+        return dashboardStatsStore.empGenderData();
     }
 
     /**
@@ -48,7 +45,7 @@ public class ReportServiceImpl implements ReportService {
      */
     @Override
     public StudentCountOption getStudentCountData() {
-        List<Map<String, Object>> list = studentMapper.countStuNumData();
+        List<Map<String, Object>> list = dashboardStatsStore.studentClazzData();
         List<Object> clazzList = list.stream().map(dataMap -> dataMap.get("name")).toList();
         List<Object> dataList = list.stream().map(dataMap -> dataMap.get("value")).toList();
         return new StudentCountOption(clazzList, dataList);
@@ -59,6 +56,6 @@ public class ReportServiceImpl implements ReportService {
      */
     @Override
     public List<Map<String, Object>> getStudentEduData() {
-        return studentMapper.countStuYearLevelData();
+        return dashboardStatsStore.studentYearLevelData();
     }
 }
\ No newline at end of file
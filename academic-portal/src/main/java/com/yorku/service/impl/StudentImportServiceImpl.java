@@ -0,0 +1,415 @@
+package com.yorku.service.impl;
+
+import com.yorku.exception.BusinessException;
+import com.yorku.mapper.StudentMapper;
+import com.yorku.pojo.ImportResult;
+import com.yorku.pojo.Student;
+import com.yorku.service.StudentImportService;
+import com.yorku.util.CsvReader;
+import com.yorku.util.CsvWriter;
+import com.yorku.util.DashboardStatsStore;
+import com.yorku.util.NameSearchIndex;
+import com.yorku.util.PageCountCache;
+import com.yorku.util.StudentImportProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Student Bulk Import Service Implementation
+ * York University Academic Portal
+ *
+ * Description:
+ * Streams an uploaded CSV record by record, validates each row, and writes valid rows in chunks.
+ * Every chunk runs in its own transaction on a MyBatis BATCH executor, so a 40,000-row file is
+ * sent as a few dozen JDBC batches instead of 40,000 round trips, and a failure only rolls back
+ * one chunk. Rejected rows are written to a CSV error report that can be downloaded afterwards.
+ *
+ * @Description: 学生批量导入实现
+ * 逐行解析 CSV、校验，按块在独立事务中通过 BATCH 执行器批量写入；失败行写入错误报告供下载。
+ */
+@Slf4j
+@Service
+public class StudentImportServiceImpl implements StudentImportService {
+
+    // Columns that must be present in the header / 表头必须包含的列
+    private static final List<String> REQUIRED = List.of("name", "no", "gender", "phone", "idcard", "enrollmentstatus");
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StudentMapper studentMapper;
+
+    @Autowired
+    private StudentImportProperties studentImportProperties;
+
+    @Autowired
+    private PageCountCache pageCountCache;
+
+    @Autowired
+    private DashboardStatsStore dashboardStatsStore;
+
+    @Autowired
+    private NameSearchIndex nameSearchIndex;
+
+    // Mapper bound to a BATCH executor (statements are queued and sent with executeBatch)
+    // 绑定 BATCH 执行器的 Mapper，语句在 flush 时通过 executeBatch 一次发送
+    private SqlSessionTemplate batchSession;
+    private StudentMapper batchMapper;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        batchSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        batchMapper = batchSession.getMapper(StudentMapper.class);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public ImportResult importCsv(InputStream in) throws Exception {
+        removeExpiredReports();
+        long start = System.currentTimeMillis();
+
+        ImportJob job = new ImportJob();
+        try (CsvReader reader = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            // 1. Header / 解析表头
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new BusinessException("Import file is empty");
+            }
+            job.header = header;
+            for (int i = 0; i < header.size(); i++) {
+                job.columns.put(normalizeColumn(header.get(i)), i);
+            }
+            List<String> missing = REQUIRED.stream().filter(c -> !job.columns.containsKey(c)).toList();
+            if (!missing.isEmpty()) {
+                throw new BusinessException("Import file is missing required columns: " + missing);
+            }
+
+            // 2. Rows, one at a time / 逐行读取、校验，攒满一块后写入
+            List<String> values;
+            while ((values = reader.next()) != null) {
+                if (values.size() == 1 && values.get(0).isBlank()) {
+                    continue;
+                }
+                job.total++;
+                job.accept(new Row(reader.getRecordLine(), values));
+                if (job.chunk.size() >= studentImportProperties.getChunkSize()) {
+                    job.writeChunk();
+                }
+            }
+            job.writeChunk();
+        } finally {
+            job.close();
+        }
+
+        // 3. Refresh derived data once for the whole file / 整个文件导入后统一刷新缓存与统计
+        if (job.imported > 0) {
+            pageCountCache.invalidate("student");
+            dashboardStatsStore.reconcile();
+            nameSearchIndex.rebuild(NameSearchIndex.STUDENT);
+        }
+
+        ImportResult result = new ImportResult(job.total, job.imported, job.failed, job.reportId);
+        log.info("Student import finished in {} ms: {}", System.currentTimeMillis() - start, result);
+        return result;
+    }
+
+    @Override
+    public Path errorReport(String reportId) {
+        try {
+            UUID.fromString(reportId);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid error report id");
+        }
+        Path path = reportDir().resolve(reportId + ".csv");
+        if (!Files.exists(path)) {
+            throw new BusinessException("Error report not found or expired");
+        }
+        return path;
+    }
+
+    private record Row(long line, List<String> values) {
+    }
+
+    /**
+     * State of one import run / 单次导入的状态
+     */
+    private class ImportJob implements Closeable {
+        List<String> header;
+        final Map<String, Integer> columns = new HashMap<>();
+        final List<Row> chunk = new ArrayList<>();
+        final List<Student> chunkStudents = new ArrayList<>();
+
+        // Unique values already seen in this file / 文件内已出现的唯一字段值
+        final Set<String> seenNo = new HashSet<>();
+        final Set<String> seenPhone = new HashSet<>();
+        final Set<String> seenIdCard = new HashSet<>();
+
+        long total;
+        long imported;
+        long failed;
+        String reportId;
+        CsvWriter report;
+
+        void accept(Row row) throws IOException {
+            Student student = new Student();
+            String error = parse(row.values(), student);
+            if (error == null && !seenNo.add(student.getNo())) {
+                error = "Duplicate student number in file: " + student.getNo();
+            }
+            if (error == null && !seenPhone.add(student.getPhone())) {
+                error = "Duplicate phone in file: " + student.getPhone();
+            }
+            if (error == null && !seenIdCard.add(student.getIdCard())) {
+                error = "Duplicate ID card in file: " + student.getIdCard();
+            }
+            if (error != null) {
+                reject(row, error);
+                return;
+            }
+            chunk.add(row);
+            chunkStudents.add(student);
+        }
+
+        /**
+         * Write the buffered chunk in one transaction on the BATCH executor
+         * 在一个事务中通过 BATCH 执行器写入当前块
+         */
+        void writeChunk() throws IOException {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            // 1. Drop rows that clash with existing students (one query per chunk)
+            // 每块一次查询，排除与已有学生冲突的行
+            List<Student> conflicts = studentMapper.listConflicts(
+                    chunkStudents.stream().map(Student::getNo).toList(),
+                    chunkStudents.stream().map(Student::getPhone).toList(),
+                    chunkStudents.stream().map(Student::getIdCard).toList());
+            Set<String> usedNo = new HashSet<>();
+            Set<String> usedPhone = new HashSet<>();
+            Set<String> usedIdCard = new HashSet<>();
+            for (Student s : conflicts) {
+                usedNo.add(s.getNo());
+                usedPhone.add(s.getPhone());
+                usedIdCard.add(s.getIdCard());
+            }
+
+            List<Row> rows = new ArrayList<>();
+            List<Student> students = new ArrayList<>();
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < chunk.size(); i++) {
+                Student s = chunkStudents.get(i);
+                String error = usedNo.contains(s.getNo()) ? "Student number already exists: " + s.getNo()
+                        : usedPhone.contains(s.getPhone()) ? "Phone already exists: " + s.getPhone()
+                        : usedIdCard.contains(s.getIdCard()) ? "ID card already exists: " + s.getIdCard()
+                        : null;
+                if (error != null) {
+                    reject(chunk.get(i), error);
+                } else {
+                    s.setCreateTime(now);
+                    s.setUpdateTime(now);
+                    rows.add(chunk.get(i));
+                    students.add(s);
+                }
+            }
+            chunk.clear();
+            chunkStudents.clear();
+            if (students.isEmpty()) {
+                return;
+            }
+
+            // 2. Batched insert, committed per chunk / 批量插入，每块独立提交
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    students.forEach(batchMapper::save);
+                    batchSession.flushStatements();
+                });
+                imported += students.size();
+            } catch (RuntimeException e) {
+                // Chunk rolled back (e.g. a concurrent insert took a unique value): retry row by row
+                // 块写入失败已回滚（如并发写入导致唯一键冲突），逐行重试以定位错误行
+                log.warn("Import chunk of {} rows failed, retrying row by row: {}", students.size(), e.getMessage());
+                for (int i = 0; i < students.size(); i++) {
+                    try {
+                        studentMapper.save(students.get(i));
+                        imported++;
+                    } catch (RuntimeException rowError) {
+                        reject(rows.get(i), NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                    }
+                }
+            }
+        }
+
+        void reject(Row row, String error) throws IOException {
+            failed++;
+            if (report == null) {
+                reportId = UUID.randomUUID().toString();
+                Files.createDirectories(reportDir());
+                report = new CsvWriter(Files.newBufferedWriter(reportDir().resolve(reportId + ".csv"), StandardCharsets.UTF_8));
+                List<String> reportHeader = new ArrayList<>(List.of("line", "error"));
+                reportHeader.addAll(header);
+                report.writeRow(reportHeader);
+            }
+            List<String> line = new ArrayList<>(List.of(String.valueOf(row.line()), error));
+            line.addAll(row.values());
+            report.writeRow(line);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (report != null) {
+                report.close();
+            }
+        }
+
+        /**
+         * Parse and validate one row (limits follow the student table)
+         * 解析并校验一行数据（长度与取值范围与 student 表定义一致）
+         *
+         * @return error message, or null if the row is valid / 错误信息，合法时返回 null
+         */
+        private String parse(List<String> values, Student s) {
+            try {
+                s.setName(required(values, "name", 20));
+                s.setNo(required(values, "no", 10));
+                s.setGender(intValue(values, "gender", 1, 2, true));
+                s.setPhone(required(values, "phone", 11));
+                s.setIdCard(required(values, "idcard", 18));
+                s.setEnrollmentStatus(intValue(values, "enrollmentstatus", 0, 1, true));
+                s.setAddress(optional(values, "address", 100));
+                s.setYearLevel(intValue(values, "yearlevel", 1, 5, false));
+                String graduationDate = value(values, "graduationdate");
+                s.setGraduationDate(graduationDate == null ? null : LocalDate.parse(graduationDate));
+                s.setClazzId(intValue(values, "clazzid", 1, Integer.MAX_VALUE, false));
+                String gpa = value(values, "gpa");
+                s.setGpa(gpa == null ? 0.0 : Double.parseDouble(gpa));
+                // parseDouble accepts "NaN" / "Infinity", which pass a plain range check / NaN 与 Infinity 需单独排除
+                if (!Double.isFinite(s.getGpa()) || s.getGpa() < 0 || s.getGpa() > 9.0) {
+                    return "gpa must be between 0 and 9.0";
+                }
+                Integer credits = intValue(values, "credits", 0, Integer.MAX_VALUE, false);
+                s.setCredits(credits == null ? 0 : credits);
+                return null;
+            } catch (DateTimeParseException e) {
+                return "graduationDate must be yyyy-MM-dd";
+            } catch (NumberFormatException e) {
+                return "Invalid number: " + e.getMessage();
+            } catch (IllegalArgumentException e) {
+                return e.getMessage();
+            }
+        }
+
+        private String value(List<String> values, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= values.size()) {
+                return null;
+            }
+            String v = values.get(index).trim();
+            return v.isEmpty() ? null : v;
+        }
+
+        private String required(List<String> values, String column, int maxLength) {
+            String v = optional(values, column, maxLength);
+            if (v == null) {
+                throw new IllegalArgumentException(column + " is required");
+            }
+            return v;
+        }
+
+        private String optional(List<String> values, String column, int maxLength) {
+            String v = value(values, column);
+            if (v != null && v.length() > maxLength) {
+                throw new IllegalArgumentException(column + " is longer than " + maxLength + " characters");
+            }
+            return v;
+        }
+
+        private Integer intValue(List<String> values, String column, int min, int max, boolean required) {
+            String v = value(values, column);
+            if (v == null) {
+                if (required) {
+                    throw new IllegalArgumentException(column + " is required");
+                }
+                return null;
+            }
+            int n = Integer.parseInt(v);
+            if (n < min || n > max) {
+                throw new IllegalArgumentException(column + " is out of range: " + n);
+            }
+            return n;
+        }
+    }
+
+    // "ID Card", "id_card" and "idCard" all map to "idcard" / 表头名忽略大小写、空格与下划线
+    private static String normalizeColumn(String name) {
+        return name.trim().replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+
+    private Path reportDir() {
+        return Paths.get(studentImportProperties.getReportDir());
+    }
+
+    // Error reports are kept for a limited time / 错误报告保留一段时间后删除
+    private void removeExpiredReports() {
+        Path dir = reportDir();
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        FileTime cutoff = FileTime.from(Instant.now().minus(studentImportProperties.getReportRetentionHours(), ChronoUnit.HOURS));
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(p -> {
+                try {
+                    return Files.getLastModifiedTime(p).compareTo(cutoff) < 0;
+                } catch (IOException e) {
+                    return false;
+                }
+            }).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException e) {
+                    log.warn("Could not delete expired import report {}", p);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Could not clean import report directory: {}", e.getMessage());
+        }
+    }
+}
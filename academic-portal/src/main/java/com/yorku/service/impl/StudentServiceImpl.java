@@ -1,37 +1,133 @@
 package com.yorku.service.impl;
 
-import com.github.pagehelper.Page;
-import com.github.pagehelper.PageHelper;
+import com.yorku.exception.BusinessException;
 import com.yorku.mapper.StudentMapper;
+import com.yorku.pojo.BatchUpdateResult;
+import com.yorku.pojo.CursorResult;
+import com.yorku.pojo.GradeUpdate;
 import com.yorku.pojo.PageResult;
 import com.yorku.pojo.Student;
 import com.yorku.pojo.StudentQueryParam;
 import com.yorku.service.StudentService;
+import com.yorku.util.CsvReader;
+import com.yorku.util.CursorCodec;
+import com.yorku.util.DashboardStatsStore;
+import com.yorku.util.NameSearchIndex;
+import com.yorku.util.PageCountCache;
+import com.yorku.util.ReferenceDataCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
  * Student Service Implementation
  * Refactored for York University Academic Portal
  */
+@Slf4j
 @Service
 public class StudentServiceImpl implements StudentService {
 
+    // Rows per CASE-based UPDATE statement (5 bind parameters per row) / 每条批量 UPDATE 语句包含的行数
+    private static final int GRADE_CHUNK_SIZE = 1000;
+
+    // Largest page served by the cursor scroll / 游标分页每页最大条数
+    private static final int MAX_SCROLL_PAGE_SIZE = 500;
+
     @Autowired
     private StudentMapper studentMapper;
 
+    @Autowired
+    private PageCountCache pageCountCache;
+
+    @Autowired
+    private DashboardStatsStore dashboardStatsStore;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private NameSearchIndex nameSearchIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // One transaction per grade chunk (CSV uploads) / CSV 成绩文件每块一个事务
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Read-only transaction: served by the replica while it is in sync (see DataSourceConfig)
+    // 只读事务：副本同步正常时由副本提供查询
+    @Transactional(readOnly = true)
     @Override
     public PageResult<Student> page(StudentQueryParam studentQueryParam) {
-        PageHelper.startPage(studentQueryParam.getPage(), studentQueryParam.getPageSize());
-        List<Student> studentList = studentMapper.list(studentQueryParam);
-        Page<Student> pageResult = (Page<Student>) studentList;
-        return new PageResult<>(pageResult.getTotal(), pageResult.getResult());
+        // 通过名称索引解析姓名条件（返回 null 时使用 LIKE 查询）
+        studentQueryParam.setNameIds(nameSearchIndex.search(NameSearchIndex.STUDENT, studentQueryParam.getName()));
+        PageResult<Student> pageResult = pageCountCache.page("student", studentQueryParam.getCountMode(),
+                studentQueryParam.getPage(), studentQueryParam.getPageSize(),
+                page -> studentMapper.list(studentQueryParam, page),
+                () -> studentMapper.countList(studentQueryParam),
+                studentQueryParam.getName(), studentQueryParam.getYearLevel(), studentQueryParam.getClazzId());
+        fillClazzNames(pageResult.getRows());
+        return pageResult;
+    }
+
+    // 从基础数据缓存中填充班级名称（不再关联查询 clazz 表）
+    private void fillClazzNames(List<Student> rows) {
+        rows.forEach(s -> s.setClazzName(referenceDataCache.clazzName(s.getClazzId())));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorResult<Student> scroll(StudentQueryParam studentQueryParam) {
+        // 每页条数限制在 1..MAX_SCROLL_PAGE_SIZE 之间
+        Integer requested = studentQueryParam.getPageSize();
+        int pageSize = requested == null ? 1 : Math.max(1, Math.min(requested, MAX_SCROLL_PAGE_SIZE));
+        studentQueryParam.setNameIds(nameSearchIndex.search(NameSearchIndex.STUDENT, studentQueryParam.getName()));
+
+        // 1. 解析游标（第一页没有游标）
+        LocalDateTime lastUpdateTime = null;
+        Integer lastId = null;
+        if (studentQueryParam.getCursor() != null && !studentQueryParam.getCursor().isEmpty()) {
+            CursorCodec.Position position = CursorCodec.decode(studentQueryParam.getCursor());
+            lastUpdateTime = position.updateTime();
+            lastId = position.id();
+        }
+
+        // 2. 多取一条，用于判断是否还有下一页
+        List<Student> rows = studentMapper.scroll(studentQueryParam, lastUpdateTime, lastId, pageSize + 1);
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            Student last = rows.get(pageSize - 1);
+            nextCursor = CursorCodec.encode(last.getUpdateTime(), last.getId());
+        }
+
+        // 3. 仅在前端需要时才统计总数
+        Long total = Boolean.TRUE.equals(studentQueryParam.getWithTotal()) ? studentMapper.countList(studentQueryParam) : null;
+        fillClazzNames(rows);
+        return new CursorResult<>(total, rows, nextCursor);
     }
 
     @Override
@@ -41,8 +137,12 @@ public class StudentServiceImpl implements StudentService {
         if (student.getGpa() == null) student.setGpa(0.0);
         if (student.getCredits() == null) student.setCredits(0);
         studentMapper.save(student);
+        pageCountCache.invalidate("student");
+        dashboardStatsStore.adjustStudent(student.getClazzId(), student.getYearLevel(), 1);
+        nameSearchIndex.put(NameSearchIndex.STUDENT, student.getId(), student.getName());
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Student findById(Integer id) {
         return studentMapper.findById(id);
@@ -51,23 +151,188 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public void update(Student student) {
         student.setUpdateTime(LocalDateTime.now());
+        List<Student> before = studentMapper.listByIds(List.of(student.getId()));
         studentMapper.update(student);
+        pageCountCache.invalidate("student");
+        if (student.getName() != null && !student.getName().isEmpty()) {
+            nameSearchIndex.put(NameSearchIndex.STUDENT, student.getId(), student.getName());
+        }
+
+        // 班级或年级变化时同步更新统计数据
+        if (!before.isEmpty()) {
+            Student old = before.get(0);
+            Integer clazzId = student.getClazzId() != null ? student.getClazzId() : old.getClazzId();
+            Integer yearLevel = student.getYearLevel() != null ? student.getYearLevel() : old.getYearLevel();
+            if (!Objects.equals(clazzId, old.getClazzId()) || !Objects.equals(yearLevel, old.getYearLevel())) {
+                dashboardStatsStore.adjustStudent(old.getClazzId(), old.getYearLevel(), -1);
+                dashboardStatsStore.adjustStudent(clazzId, yearLevel, 1);
+            }
+        }
     }
 
     @Override
     public void delete(List<Integer> ids) {
+        List<Student> removed = studentMapper.listByIds(ids);
         studentMapper.delete(ids);
+        pageCountCache.invalidate("student");
+        removed.forEach(s -> dashboardStatsStore.adjustStudent(s.getClazzId(), s.getYearLevel(), -1));
+        nameSearchIndex.remove(NameSearchIndex.STUDENT, ids);
     }
 
     @Override
     public void updateGPA(Integer id, Double gpa) {
+        // GPA 不参与仪表盘统计（按班级/年级计数），无需更新统计数据
         studentMapper.updateGPA(id, gpa);
     }
 
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public BatchUpdateResult updateGrades(List<GradeUpdate> updates) {
+        GradeBatch batch = new GradeBatch(null);
+        for (int i = 0; i < updates.size(); i++) {
+            batch.add(updates.get(i), "Entry " + (i + 1));
+        }
+        return batch.finish();
+    }
+
+    @Override
+    public BatchUpdateResult updateGradesCsv(InputStream in) throws Exception {
+        try (CsvReader reader = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            // 1. 解析表头（列顺序不限，gpa / credits 至少包含一列）
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new BusinessException("Grade file is empty");
+            }
+            List<String> columns = header.stream().map(h -> h.trim().toLowerCase(Locale.ROOT)).toList();
+            int idColumn = columns.indexOf("id");
+            int gpaColumn = columns.indexOf("gpa");
+            int creditsColumn = columns.indexOf("credits");
+            if (idColumn < 0 || (gpaColumn < 0 && creditsColumn < 0)) {
+                throw new BusinessException("Grade file needs an 'id' column and a 'gpa' and/or 'credits' column");
+            }
+
+            // 2. 逐行读取，攒满一块即执行一次批量 UPDATE 并提交（大文件不会长时间持有行锁与 undo）
+            GradeBatch batch = new GradeBatch(transactionTemplate);
+            List<String> values;
+            while ((values = reader.next()) != null) {
+                if (values.size() == 1 && values.get(0).isBlank()) {
+                    continue;
+                }
+                String where = "Line " + reader.getRecordLine();
+                GradeUpdate update;
+                try {
+                    String id = cell(values, idColumn);
+                    String gpa = cell(values, gpaColumn);
+                    String credits = cell(values, creditsColumn);
+                    update = new GradeUpdate(id == null ? null : Integer.valueOf(id),
+                            gpa == null ? null : Double.valueOf(gpa),
+                            credits == null ? null : Integer.valueOf(credits));
+                } catch (NumberFormatException e) {
+                    throw batch.failure(where + ": invalid number " + e.getMessage());
+                }
+                batch.add(update, where);
+            }
+            return batch.finish();
+        }
+    }
+
+    private static String cell(List<String> values, int index) {
+        if (index < 0 || index >= values.size()) {
+            return null;
+        }
+        String v = values.get(index).trim();
+        return v.isEmpty() ? null : v;
+    }
+
+    /**
+     * 批量成绩更新：按块合并为 CASE 语句执行，同一块内重复的ID以最后一条为准
+     * chunkTransactions 为 null 时在调用方的事务中执行（全部成功或全部回滚），否则每块独立提交
+     */
+    private class GradeBatch {
+        private final long start = System.currentTimeMillis();
+        private final Map<Integer, GradeUpdate> chunk = new LinkedHashMap<>();
+        private final TransactionTemplate chunkTransactions;
+        private long submitted;
+        private long rowsAffected;
+        private long statements;
+        // 最后一条已加入 / 已提交条目的位置（用于报告部分进度）
+        private String lastAdded;
+        private String committedThrough;
+
+        GradeBatch(TransactionTemplate chunkTransactions) {
+            this.chunkTransactions = chunkTransactions;
+        }
+
+        void add(GradeUpdate update, String where) {
+            if (update.getId() == null) {
+                throw failure(where + ": id is required");
+            }
+            if (update.getGpa() == null && update.getCredits() == null) {
+                throw failure(where + ": gpa or credits is required");
+            }
+            // Double.isFinite 排除 NaN / Infinity（二者都能通过单纯的范围比较）
+            if (update.getGpa() != null && (!Double.isFinite(update.getGpa()) || update.getGpa() < 0 || update.getGpa() > 9.0)) {
+                throw failure(where + ": gpa must be between 0 and 9.0");
+            }
+            if (update.getCredits() != null && update.getCredits() < 0) {
+                throw failure(where + ": credits must not be negative");
+            }
+            chunk.remove(update.getId());
+            chunk.put(update.getId(), update);
+            lastAdded = where;
+            if (chunk.size() >= GRADE_CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<GradeUpdate> updates = new ArrayList<>(chunk.values());
+            if (chunkTransactions == null) {
+                rowsAffected += studentMapper.updateGradesBatch(updates);
+            } else {
+                try {
+                    Integer rows = chunkTransactions.execute(status -> studentMapper.updateGradesBatch(updates));
+                    rowsAffected += rows == null ? 0 : rows;
+                } catch (RuntimeException e) {
+                    log.error("Bulk grade update chunk ending at {} failed", lastAdded, e);
+                    throw failure("Update of the chunk ending at " + lastAdded + " failed: "
+                            + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+                committedThrough = lastAdded;
+            }
+            submitted += chunk.size();
+            statements++;
+            chunk.clear();
+        }
+
+        /**
+         * 构造错误信息；分块提交时附带已提交的进度（更新是幂等的，修正文件后可整体重新上传）
+         */
+        BusinessException failure(String message) {
+            if (committedThrough == null) {
+                return new BusinessException(message);
+            }
+            return new BusinessException(message + " (" + submitted + " entries up to " + committedThrough
+                    + " were already committed; re-uploading the corrected file is safe)");
+        }
+
+        BatchUpdateResult finish() {
+            flush();
+            long elapsedMs = System.currentTimeMillis() - start;
+            long rowsPerSecond = rowsAffected * 1000 / Math.max(elapsedMs, 1);
+            log.info("Bulk grade update: {} submitted, {} rows affected, {} statements, {} ms ({} rows/s)",
+                    submitted, rowsAffected, statements, elapsedMs, rowsPerSecond);
+            return new BatchUpdateResult(submitted, rowsAffected, statements, elapsedMs, rowsPerSecond);
+        }
+    }
+
     @Override
     public Map<String, Object> getStudentCountData() {
-        // 1. 获取原始数据 (List<Map>)
-        List<Map<String, Object>> dataList = studentMapper.countStuNumData();
+        // 1. 获取统计数据 (List<Map>)，由内存统计存储提供，不再每次 GROUP BY 扫表
+        List<Map<String, Object>> dataList = dashboardStatsStore.studentClazzData();
 
         // 2. 拆分为两个 List (Names 和 Values) 给前端 ECharts 使用
         // 使用 Stream 流提取数据
@@ -83,7 +348,7 @@ public class StudentServiceImpl implements StudentService {
 
     @Override
     public List<Map<String, Object>> getStudentYearLevelData() {
-        // 直接调用 Mapper 新写的 XML 查询
-        return studentMapper.countStuYearLevelData();
+        // 从内存统计存储读取（启动时加载，写操作增量维护）
+        return dashboardStatsStore.studentYearLevelData();
     }
 }
\ No newline at end of file
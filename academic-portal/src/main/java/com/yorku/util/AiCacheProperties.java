@@ -0,0 +1,21 @@
+package com.yorku.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: AI 响应缓存配置实体
+ */
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "ai.cache")
+public class AiCacheProperties {
+    // 是否启用缓存
+    private boolean enabled = true;
+    // 最多缓存的问题数（LRU淘汰）
+    private int maxEntries = 500;
+    // 缓存有效期(毫秒)
+    private long ttlMs = 10 * 60 * 1000;
+}
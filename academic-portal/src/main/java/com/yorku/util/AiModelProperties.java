@@ -0,0 +1,29 @@
+package com.yorku.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: AI 模型接口配置（可指向本地模拟服务，用于压测）
+ */
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "ai.model")
+public class AiModelProperties {
+    // Gemini generateContent 接口地址（不含 key 参数）
+    private String url = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent";
+    // API Key，生产环境请通过环境变量 AI_MODEL_API_KEY 配置，不要提交到版本库
+    private String apiKey = "Your Gemini API Key";
+    // 建立连接超时(毫秒)
+    private int connectTimeoutMs = 5000;
+    // 单次模型调用的截止时间(毫秒)，超时后返回兜底响应
+    private long timeoutMs = 20000;
+    // 同时进行的模型调用上限（隔离舱），超出时立即返回繁忙提示
+    private int maxConcurrentCalls = 16;
+    // 连续失败多少次后熔断（快速返回兜底响应）
+    private int circuitFailureThreshold = 5;
+    // 熔断持续时间(毫秒)，之后放行一次探测调用
+    private long circuitOpenMs = 30000;
+}
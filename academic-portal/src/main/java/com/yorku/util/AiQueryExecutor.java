@@ -0,0 +1,97 @@
+package com.yorku.util;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+/**
+ * AI Query Executor
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Runs model-generated SELECT statements on a forward-only, fetch-size-limited ResultSet and
+ * hands rows to the caller one at a time, so no more than one fetch batch is held in memory.
+ * Every query is bounded by a row cap and a query timeout, and runs on the read-only analytics
+ * connection pool (see DataSourceConfig) so it cannot hold up CRUD requests.
+ *
+ * @Description: AI 生成 SQL 的受限执行器
+ * 只读游标 + 分批拉取，逐行回调；强制限制最大行数与查询超时。
+ */
+@Component
+public class AiQueryExecutor {
+
+    @Autowired
+    @Qualifier("analytics")
+    private DataSource analyticsDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AiQueryProperties aiQueryProperties;
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate = new JdbcTemplate(analyticsDataSource);
+    }
+
+    /**
+     * Row callback that may write to the response / 逐行回调（可直接写入响应流）
+     */
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(Map<String, Object> row) throws IOException;
+    }
+
+    /**
+     * Stream the rows of a SELECT statement
+     * 流式执行查询，逐行交给回调处理
+     *
+     * @return true if the result was cut off at the row cap / 结果是否因超过行数上限被截断
+     */
+    public boolean forEachRow(String sql, RowConsumer consumer) throws IOException {
+        int maxRows = aiQueryProperties.getMaxRows();
+        ColumnMapRowMapper rowMapper = new ColumnMapRowMapper();
+        try {
+            Boolean truncated = jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(aiQueryProperties.getFetchSize());
+                // One extra row tells us whether the cap was hit / 多取一行用于判断是否被截断
+                ps.setMaxRows(maxRows + 1);
+                ps.setQueryTimeout(aiQueryProperties.getQueryTimeoutSeconds());
+                return ps;
+            }, rs -> {
+                int rowNum = 0;
+                while (rs.next()) {
+                    if (rowNum >= maxRows) {
+                        return true;
+                    }
+                    try {
+                        consumer.accept(rowMapper.mapRow(rs, rowNum++));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return false;
+            });
+            return Boolean.TRUE.equals(truncated);
+        } catch (UncheckedIOException e) {
+            // Client went away while streaming / 流式输出过程中客户端断开
+            throw e.getCause();
+        }
+    }
+
+    public int getMaxRows() {
+        return aiQueryProperties.getMaxRows();
+    }
+}
@@ -0,0 +1,21 @@
+package com.yorku.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: AI 生成 SQL 查询的执行限制配置
+ */
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "ai.query")
+public class AiQueryProperties {
+    // 单次查询最多返回的行数
+    private int maxRows = 1000;
+    // 每次从数据库拉取的行数（配合 useCursorFetch 实现流式读取）
+    private int fetchSize = 200;
+    // 查询超时时间(秒)
+    private int queryTimeoutSeconds = 15;
+}
@@ -0,0 +1,116 @@
+package com.yorku.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AI Response Cache
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Bounded LRU cache (with TTL) of model translations for normalized questions.
+ * Keys include a hash of the schema prompt, so changing the schema never serves stale SQL.
+ * Tracks hit ratio and the model latency saved by hits.
+ *
+ * @Description: AI 自然语言转 SQL 结果缓存
+ * 问题按大小写/空白规范化后作为键，并带上数据库模式版本；LRU + TTL 淘汰。
+ */
+@Component
+public class AiResponseCache {
+
+    @Autowired
+    private AiCacheProperties aiCacheProperties;
+
+    private record Entry(String response, long expiresAt, long latencyNanos) {
+    }
+
+    // Access-ordered map gives LRU eviction / 按访问顺序排列，实现 LRU 淘汰
+    private final LinkedHashMap<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > aiCacheProperties.getMaxEntries();
+        }
+    };
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder savedNanos = new LongAdder();
+
+    /**
+     * Build the cache key: schema version + normalized question
+     * 生成缓存键：模式版本 + 规范化后的问题
+     */
+    public String key(String schema, String question) {
+        String normalized = question == null ? "" : question.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return Integer.toHexString(schema.hashCode()) + "|" + normalized;
+    }
+
+    /**
+     * Look up a cached response, null on miss or expiry
+     * 查询缓存，未命中或已过期时返回 null
+     */
+    public String get(String key) {
+        if (!aiCacheProperties.isEnabled()) {
+            return null;
+        }
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(key);
+            if (entry != null && System.currentTimeMillis() >= entry.expiresAt()) {
+                cache.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        savedNanos.add(entry.latencyNanos());
+        return entry.response();
+    }
+
+    /**
+     * Store a successful model response along with how long it took
+     * 缓存成功的模型响应及其耗时
+     */
+    public void put(String key, String response, long latencyNanos) {
+        if (!aiCacheProperties.isEnabled()) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + aiCacheProperties.getTtlMs();
+        synchronized (cache) {
+            cache.put(key, new Entry(response, expiresAt, latencyNanos));
+        }
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Cache statistics: size, hits, misses, hit ratio and saved model latency
+     * 缓存统计：条目数、命中/未命中次数、命中率、节省的模型调用耗时
+     */
+    public Map<String, Object> stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (cache) {
+            stats.put("size", cache.size());
+        }
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("hitRatio", h + m == 0 ? 0.0 : (double) h / (h + m));
+        stats.put("savedLatencyMs", TimeUnit.NANOSECONDS.toMillis(savedNanos.sum()));
+        return stats;
+    }
+}
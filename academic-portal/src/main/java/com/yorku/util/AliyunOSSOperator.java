@@ -1,24 +1,39 @@
 package com.yorku.util;
 
-import com.aliyun.oss.ClientBuilderConfiguration;
 import com.aliyun.oss.OSS;
-import com.aliyun.oss.OSSClientBuilder;
-import com.aliyun.oss.common.auth.CredentialsProviderFactory;
-import com.aliyun.oss.common.auth.EnvironmentVariableCredentialsProvider;
-import com.aliyun.oss.common.comm.SignVersion;
+import com.aliyun.oss.model.AbortMultipartUploadRequest;
+import com.aliyun.oss.model.CompleteMultipartUploadRequest;
+import com.aliyun.oss.model.InitiateMultipartUploadRequest;
+import com.aliyun.oss.model.ObjectMetadata;
+import com.aliyun.oss.model.PartETag;
+import com.aliyun.oss.model.UploadPartRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayInputStream;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.UUID;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 /**
  * @Description: 阿里云OSS操作类
+ * 复用全局 OSS 客户端，直接以流的方式上传；大文件使用分片上传，分片并发数有上限。
  */
+@Slf4j
 @Component
-public class AliyunOSSOperator {
+@ConditionalOnProperty(name = "storage.type", havingValue = "oss", matchIfMissing = true)
+public class AliyunOSSOperator implements StorageOperator {
 
 //    private String endpoint;
 //
@@ -28,40 +43,112 @@ public class AliyunOSSOperator {
     //方式二
     @Autowired
     private AliyunOSSProperties aliyunOSSProperties;
+
+    // 全局共享的OSS客户端（见 OSSConfig）
+    @Lazy
+    @Autowired
+    private OSS ossClient;
+
+    // 分片上传线程池
+    private ExecutorService partExecutor;
+
+    @PostConstruct
+    public void init() {
+        partExecutor = Executors.newFixedThreadPool(aliyunOSSProperties.getUploadThreads());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        partExecutor.shutdown();
+    }
+
     public String upload(byte[] content, String originalFilename) throws Exception {
+        return upload(new ByteArrayInputStream(content), content.length, originalFilename);
+    }
+
+    /**
+     * 以流的方式上传文件，不把整个文件读入内存
+     * @param in 文件输入流（由调用方关闭）
+     * @param size 文件大小(字节)
+     * @param originalFilename 原始文件名
+     * @return 文件访问URL
+     */
+    @Override
+    public String upload(InputStream in, long size, String originalFilename) throws Exception {
         String endpoint = aliyunOSSProperties.getEndpoint();
         String bucketName = aliyunOSSProperties.getBucketName();
-        String region = aliyunOSSProperties.getRegion();
-
 
+        // 填写Object完整路径，例如2024/06/1.png。Object完整路径中不能包含Bucket名称。
+        String objectName = StorageOperator.newObjectName(originalFilename);
 
-        // 从环境变量中获取访问凭证。运行本代码示例之前，请确保已设置环境变量OSS_ACCESS_KEY_ID和OSS_ACCESS_KEY_SECRET。
-        EnvironmentVariableCredentialsProvider credentialsProvider = CredentialsProviderFactory.newEnvironmentVariableCredentialsProvider();
+        if (size > aliyunOSSProperties.getMultipartThreshold()) {
+            multipartUpload(bucketName, objectName, in, size);
+        } else {
+            // 设置内容长度，SDK可直接转发流而无需先缓冲
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentLength(size);
+            ossClient.putObject(bucketName, objectName, in, metadata);
+        }
 
-        // 填写Object完整路径，例如202406/1.png。Object完整路径中不能包含Bucket名称。
-        //获取当前系统日期的字符串,格式为 yyyy/MM
-        String dir = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM"));
-        //生成一个新的不重复的文件名
-        String newFileName = UUID.randomUUID() + originalFilename.substring(originalFilename.lastIndexOf("."));
-        String objectName = dir + "/" + newFileName;
+        return endpoint.split("//")[0] + "//" + bucketName + "." + endpoint.split("//")[1] + "/" + objectName;
+    }
 
-        // 创建OSSClient实例。
-        ClientBuilderConfiguration clientBuilderConfiguration = new ClientBuilderConfiguration();
-        clientBuilderConfiguration.setSignatureVersion(SignVersion.V4);
-        OSS ossClient = OSSClientBuilder.create()
-                .endpoint(endpoint)
-                .credentialsProvider(credentialsProvider)
-                .clientConfiguration(clientBuilderConfiguration)
-                .region(region)
-                .build();
+    /**
+     * 分片上传：顺序读取分片，并发上传；同一文件在内存中的分片数不超过上传线程数
+     */
+    private void multipartUpload(String bucketName, String objectName, InputStream in, long size) throws Exception {
+        String uploadId = ossClient.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, objectName)).getUploadId();
+        int partSize = aliyunOSSProperties.getPartSize();
+        Semaphore inFlight = new Semaphore(aliyunOSSProperties.getUploadThreads());
+        List<Future<PartETag>> futures = new ArrayList<>();
 
         try {
-            ossClient.putObject(bucketName, objectName, new ByteArrayInputStream(content));
-        } finally {
-            ossClient.shutdown();
-        }
+            long remaining = size;
+            int partNumber = 1;
+            while (remaining > 0) {
+                int length = (int) Math.min(partSize, remaining);
+                // 等待空闲分片槽位后再读取下一个分片，限制内存占用
+                inFlight.acquire();
+                byte[] part;
+                try {
+                    part = in.readNBytes(length);
+                } catch (Exception e) {
+                    inFlight.release();
+                    throw e;
+                }
+                if (part.length < length) {
+                    inFlight.release();
+                    throw new EOFException("Upload stream ended before the declared size");
+                }
 
-        return endpoint.split("//")[0] + "//" + bucketName + "." + endpoint.split("//")[1] + "/" + objectName;
+                int currentPart = partNumber++;
+                futures.add(partExecutor.submit(() -> {
+                    try {
+                        UploadPartRequest request = new UploadPartRequest(bucketName, objectName, uploadId,
+                                currentPart, new ByteArrayInputStream(part), part.length);
+                        return ossClient.uploadPart(request).getPartETag();
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+                remaining -= length;
+            }
+
+            List<PartETag> partETags = new ArrayList<>(futures.size());
+            for (Future<PartETag> future : futures) {
+                partETags.add(future.get());
+            }
+            ossClient.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, objectName, uploadId, partETags));
+            log.info("Multipart upload completed: {} ({} parts)", objectName, partETags.size());
+        } catch (Exception e) {
+            // 失败时取消未完成的分片并清理服务端分片
+            futures.forEach(f -> f.cancel(true));
+            ossClient.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, objectName, uploadId));
+            if (e instanceof ExecutionException && e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
-}
\ No newline at end of file
+}
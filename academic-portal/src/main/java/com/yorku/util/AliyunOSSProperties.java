@@ -15,4 +15,22 @@ public class AliyunOSSProperties {
     private String endpoint;
     private String bucketName;
     private String region;
+
+    // ----------- 客户端连接池配置 -----------
+    // 最大HTTP连接数
+    private int maxConnections = 64;
+    // 建立连接超时(毫秒)
+    private int connectionTimeout = 5000;
+    // Socket读写超时(毫秒)
+    private int socketTimeout = 30000;
+    // 空闲连接回收时间(毫秒)
+    private long idleConnectionTime = 60000;
+
+    // ----------- 分片上传配置 -----------
+    // 超过该大小(字节)的文件使用分片上传
+    private long multipartThreshold = 5 * 1024 * 1024;
+    // 分片大小(字节)，OSS要求最小100KB
+    private int partSize = 1024 * 1024;
+    // 分片上传线程数（同时也是单个文件在内存中的最大分片数）
+    private int uploadThreads = 4;
 }
@@ -0,0 +1,34 @@
+package com.yorku.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: 异步审计日志写入配置实体
+ */
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "audit.log")
+public class AuditLogProperties {
+    // 环形缓冲区容量
+    private int capacity = 4096;
+    // 单批次最多写入的日志条数
+    private int batchSize = 200;
+    // 批次最长等待时间(毫秒)，到期即刷盘
+    private long flushIntervalMs = 500;
+    // 缓冲区满时的处理策略
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    // BLOCK 策略下的最长等待时间(毫秒)，超时后由请求线程同步写入
+    private long offerTimeoutMs = 50;
+
+    public enum OverflowPolicy {
+        // 等待空位，超时后同步写入
+        BLOCK,
+        // 直接丢弃并计数
+        DROP,
+        // 由请求线程同步写入
+        CALLER_RUNS
+    }
+}
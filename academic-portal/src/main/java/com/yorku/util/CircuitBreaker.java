@@ -0,0 +1,135 @@
+package com.yorku.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit Breaker
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Consecutive-failure circuit breaker for a remote backend.
+ * - CLOSED: calls pass; after failureThreshold failures in a row the circuit opens.
+ * - OPEN: calls are rejected (the caller answers with its fallback) until openMs has passed.
+ * - HALF_OPEN: a single probe call passes; success closes the circuit, failure opens it again.
+ * Every permitted call must report onSuccess or onFailure with the permit tryAcquire returned.
+ * The permit is the generation of the state it was admitted in (the generation changes with every
+ * transition), so late outcomes of calls admitted before the last transition are ignored: a slow
+ * call admitted while CLOSED cannot close the circuit after it opened or count towards a new
+ * failure streak, and during HALF_OPEN only the probe decides. The state changes are short and do
+ * no I/O, so plain synchronized is fine on virtual threads.
+ *
+ * @Description: 熔断器（连续失败达到阈值后熔断，冷却期后放行一次探测调用）
+ * 每次放行返回当前状态的代号，状态转换后旧代号的调用结果不再影响熔断器。
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * Returned by tryAcquire when the call is not permitted / 不允许调用
+     */
+    public static final long REJECTED = -1;
+
+    private final int failureThreshold;
+
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    // Incremented on every state transition / 每次状态转换加一
+    private long generation;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+
+    public CircuitBreaker(int failureThreshold, long openMs) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+    }
+
+    /**
+     * Permit for a call to the backend now, or REJECTED
+     * 当前是否允许调用后端：返回调用凭证（状态代号），不允许时返回 REJECTED
+     */
+    public synchronized long tryAcquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            transition(State.HALF_OPEN);
+        }
+        boolean permitted = switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> !probeInFlight;
+        };
+        if (!permitted) {
+            rejected.increment();
+            return REJECTED;
+        }
+        if (state == State.HALF_OPEN) {
+            probeInFlight = true;
+        }
+        return generation;
+    }
+
+    public synchronized void onSuccess(long permit) {
+        if (isStale(permit)) {
+            return;
+        }
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            transition(State.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure(long permit) {
+        if (isStale(permit)) {
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            transition(State.OPEN);
+            openedAt = System.nanoTime();
+            opened.increment();
+        }
+    }
+
+    // Admitted before the last transition (OPEN never admits, so only CLOSED / HALF_OPEN permits are current)
+    // 上次状态转换之前放行的调用，其结果忽略
+    private boolean isStale(long permit) {
+        if (permit != generation) {
+            stale.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private void transition(State next) {
+        state = next;
+        generation++;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * State, current failure streak, times opened, calls rejected and outcomes ignored as stale
+     * 熔断器状态、连续失败次数、熔断次数、被拒绝的调用数与被忽略的过期结果数
+     */
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", state.name());
+        stats.put("consecutiveFailures", consecutiveFailures);
+        stats.put("opened", opened.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("staleOutcomes", stale.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,77 @@
+package com.yorku.util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CSV Writer (RFC 4180)
+ * Writes records one at a time, quoting fields that contain commas, quotes or line breaks.
+ * Text fields starting with =, +, -, @, tab or CR get a leading apostrophe, so a spreadsheet
+ * shows them as text instead of evaluating them as formulas (CSV injection). Numbers are written as is.
+ *
+ * @Description: CSV 写出工具，逐行写出记录
+ * 以公式字符开头的文本字段前加单引号，防止在 Excel 中被当作公式执行（CSV 注入）
+ */
+public class CsvWriter implements Closeable, Flushable {
+
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Write one record, null values are written as empty fields
+     * 写出一行记录，null 写为空字段
+     */
+    public void writeRow(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value instanceof CharSequence text) {
+                writer.write(escape(neutralize(text.toString())));
+            } else if (value != null) {
+                writer.write(escape(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    public void writeRow(Object... values) throws IOException {
+        writeRow(Arrays.asList(values));
+    }
+
+    // Prefix text that a spreadsheet would run as a formula / 可能被表格软件当作公式的文本前加单引号
+    private static String neutralize(String value) {
+        if (value.isEmpty()) {
+            return value;
+        }
+        return switch (value.charAt(0)) {
+            case '=', '+', '-', '@', '\t', '\r' -> "'" + value;
+            default -> value;
+        };
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -2,7 +2,8 @@ package com.yorku.util;
 
 /**
  * @Description: 利用ThreadLocal获取当前登录用户的id
- *
+ * 由 TokenFilter 在请求线程上设置并在请求结束时清除；开启虚拟线程后每个请求独占一个虚拟线程，
+ * 不会与其他请求共享。值只在请求线程上可见，交给其他线程（如异步写入器）的任务需要提前读取。
  */
 public class CurrentHolder {
     private static final ThreadLocal<Integer> CURRENT_LOCAL = new ThreadLocal<>();
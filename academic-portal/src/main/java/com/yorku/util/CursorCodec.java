@@ -0,0 +1,51 @@
+package com.yorku.util;
+
+import com.yorku.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * @Description: 游标分页的游标编解码工具
+ * 游标内容为 "最后一行的 update_time + id"，对前端以不透明的 Base64URL 字符串呈现。
+ * update_time 为 NULL 的行按 NULL_UPDATE_TIME 排序与定位（与 StudentMapper.scroll 中的 coalesce 一致）。
+ */
+public class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * NULL update_time 的排序值：MySQL DATETIME 的最小值，降序排列时位于最后
+     */
+    public static final LocalDateTime NULL_UPDATE_TIME = LocalDateTime.of(1000, 1, 1, 0, 0);
+
+    /**
+     * 解码后的游标位置
+     */
+    public record Position(LocalDateTime updateTime, Integer id) {
+    }
+
+    /**
+     * 编码游标（updateTime 为 null 时按 NULL_UPDATE_TIME 编码）
+     */
+    public static String encode(LocalDateTime updateTime, Integer id) {
+        String raw = (updateTime != null ? updateTime : NULL_UPDATE_TIME) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标，格式非法时抛出业务异常
+     */
+    public static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            LocalDateTime updateTime = LocalDateTime.parse(raw.substring(0, idx));
+            Integer id = Integer.valueOf(raw.substring(idx + 1));
+            return new Position(updateTime, id);
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid Request: Malformed page cursor.");
+        }
+    }
+}
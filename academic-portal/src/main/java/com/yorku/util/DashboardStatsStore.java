@@ -0,0 +1,285 @@
+package com.yorku.util;
+
+import com.yorku.mapper.EmpMapper;
+import com.yorku.mapper.StudentMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dashboard Statistics Store
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Keeps the dashboard aggregates (staff by role / gender, students by course section / year level)
+ * in memory. The counters are loaded from the database once at startup, adjusted incrementally by
+ * the Emp/Student write paths after their transaction commits, and periodically reconciled
+ * against the database to correct any drift (e.g. rows changed through the AI DML path).
+ * Reconciliation always reads the primary: the counters already include every committed change,
+ * so counts from a replica that is still within its allowed lag would undo the newest ones.
+ *
+ * @Description: 仪表盘统计数据内存存储
+ * 启动时从数据库加载一次，业务写操作提交后增量更新，并定期与数据库对账。
+ */
+@Slf4j
+@Component
+public class DashboardStatsStore {
+
+    @Autowired
+    private EmpMapper empMapper;
+
+    @Autowired
+    private StudentMapper studentMapper;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    // Immutable holder swapped as a whole on reload / 对账时整体替换的快照
+    private record Snapshot(Map<String, AtomicLong> empJob,
+                            Map<String, AtomicLong> empGender,
+                            Map<Integer, AtomicLong> studentClazz,
+                            Map<String, AtomicLong> studentYearLevel) {
+    }
+
+    private volatile Snapshot snapshot;
+
+    // Lock instead of synchronized: reload does JDBC I/O and must not pin a virtual thread's carrier
+    // 使用显式锁而非 synchronized，避免数据库 I/O 期间固定虚拟线程的载体线程
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    /**
+     * Initial load once the application is up
+     * 应用启动完成后加载一次统计数据
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        reconcile();
+    }
+
+    /**
+     * Periodic reconciliation on the primary (one set of GROUP BY aggregates per interval)
+     * 定期与主库对账；不走副本，避免副本延迟内的计数覆盖已提交的增量
+     */
+    @Scheduled(fixedDelayString = "${dashboard.stats.reconcile-interval-ms:300000}",
+            initialDelayString = "${dashboard.stats.reconcile-interval-ms:300000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Reconcile against the primary database (e.g. right after a bulk import)
+     * 与主库对账，修正增量维护可能产生的偏差（如批量导入之后）
+     */
+    public void reconcile() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("❌ [Dashboard] Statistics reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild all counters with the GROUP BY queries
+     * 使用 GROUP BY 查询重建全部计数
+     */
+    public void reload() {
+        reloadLock.lock();
+        try {
+            doReload();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void doReload() {
+        Map<String, AtomicLong> empJob = new ConcurrentHashMap<>();
+        for (Map<String, Object> row : empMapper.countEmpJobData()) {
+            empJob.merge(String.valueOf(row.get("pos")), new AtomicLong(toLong(row.get("cnt"))), DashboardStatsStore::sum);
+        }
+
+        Map<String, AtomicLong> empGender = new ConcurrentHashMap<>();
+        for (Map<String, Object> row : empMapper.countEmpGenderData()) {
+            empGender.merge(String.valueOf(row.get("name")), new AtomicLong(toLong(row.get("value"))), DashboardStatsStore::sum);
+        }
+
+        Map<Integer, AtomicLong> studentClazz = new ConcurrentHashMap<>();
+        for (Map<String, Object> row : studentMapper.countStuNumDataByClazzId()) {
+            Integer clazzId = ((Number) row.get("clazzId")).intValue();
+            studentClazz.put(clazzId, new AtomicLong(toLong(row.get("value"))));
+        }
+
+        Map<String, AtomicLong> studentYearLevel = new ConcurrentHashMap<>();
+        for (Map<String, Object> row : studentMapper.countStuYearLevelData()) {
+            studentYearLevel.merge(String.valueOf(row.get("name")), new AtomicLong(toLong(row.get("value"))), DashboardStatsStore::sum);
+        }
+
+        snapshot = new Snapshot(empJob, empGender, studentClazz, studentYearLevel);
+        log.info("📊 [Dashboard] Statistics loaded: {} roles, {} course sections", empJob.size(), studentClazz.size());
+    }
+
+    // ----------- Incremental Maintenance (called from the service write paths) -----------
+
+    /**
+     * Adjust staff counters (delta: +1 on hire, -1 on removal)
+     * 调整教职工统计（新增 +1，删除 -1）
+     */
+    public void adjustEmp(Integer job, Integer gender, int delta) {
+        TransactionHooks.afterCommit(() -> {
+            Snapshot s = snapshot;
+            if (s == null) {
+                return;
+            }
+            s.empJob().computeIfAbsent(jobLabel(job), k -> new AtomicLong()).addAndGet(delta);
+            s.empGender().computeIfAbsent(genderLabel(gender), k -> new AtomicLong()).addAndGet(delta);
+        });
+    }
+
+    /**
+     * Adjust student counters (delta: +1 on enrollment, -1 on removal)
+     * 调整学生统计（新增 +1，删除 -1）
+     */
+    public void adjustStudent(Integer clazzId, Integer yearLevel, int delta) {
+        TransactionHooks.afterCommit(() -> {
+            Snapshot s = snapshot;
+            if (s == null) {
+                return;
+            }
+            if (clazzId != null) {
+                s.studentClazz().computeIfAbsent(clazzId, k -> new AtomicLong()).addAndGet(delta);
+            }
+            s.studentYearLevel().computeIfAbsent(yearLevelLabel(yearLevel), k -> new AtomicLong()).addAndGet(delta);
+        });
+    }
+
+    // ----------- Read Side -----------
+
+    /**
+     * Staff by role: rows with keys 'pos' and 'cnt', ordered by count desc
+     * 教职工职位统计，按人数降序
+     */
+    public List<Map<String, Object>> empJobData() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        snapshot().empJob().forEach((pos, cnt) -> {
+            if (cnt.get() > 0) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("pos", pos);
+                row.put("cnt", cnt.get());
+                rows.add(row);
+            }
+        });
+        rows.sort(Comparator.comparingLong((Map<String, Object> row) -> (Long) row.get("cnt")).reversed());
+        return rows;
+    }
+
+    /**
+     * Staff by gender: rows with keys 'name' and 'value'
+     * 教职工性别统计
+     */
+    public List<Map<String, Object>> empGenderData() {
+        return toNameValueRows(snapshot().empGender());
+    }
+
+    /**
+     * Students by course section: rows with keys 'name' and 'value'
+     * 各课程学生人数统计
+     */
+    public List<Map<String, Object>> studentClazzData() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        snapshot().studentClazz().forEach((clazzId, value) -> {
+            String name = referenceDataCache.clazzName(clazzId);
+            if (value.get() > 0 && name != null) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("name", name);
+                row.put("value", value.get());
+                rows.add(row);
+            }
+        });
+        return rows;
+    }
+
+    /**
+     * Students by year level: rows with keys 'name' and 'value'
+     * 学生年级分布统计
+     */
+    public List<Map<String, Object>> studentYearLevelData() {
+        return toNameValueRows(snapshot().studentYearLevel());
+    }
+
+    private Snapshot snapshot() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            // Startup load failed (e.g. database was not reachable yet), load on first use
+            // 启动加载失败（如数据库尚未就绪），首次读取时加载
+            reload();
+            s = snapshot;
+        }
+        return s;
+    }
+
+    private static List<Map<String, Object>> toNameValueRows(Map<String, AtomicLong> counters) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        counters.forEach((name, value) -> {
+            if (value.get() > 0) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("name", name);
+                row.put("value", value.get());
+                rows.add(row);
+            }
+        });
+        return rows;
+    }
+
+    // Labels mirror the CASE expressions in EmpMapper.xml / StudentMapper.xml
+    // 标签与 Mapper XML 中 CASE 表达式保持一致
+    private static String jobLabel(Integer job) {
+        if (job == null) {
+            return "Other";
+        }
+        return switch (job) {
+            case 1 -> "Class Master";
+            case 2 -> "Lecturer";
+            case 3 -> "Student Affairs Mgr";
+            case 4 -> "Research Mgr";
+            case 5 -> "Consultant";
+            default -> "Other";
+        };
+    }
+
+    private static String genderLabel(Integer gender) {
+        return Integer.valueOf(1).equals(gender) ? "Male" : "Female";
+    }
+
+    private static String yearLevelLabel(Integer yearLevel) {
+        if (yearLevel == null) {
+            return "Alumni";
+        }
+        return switch (yearLevel) {
+            case 1 -> "1st Year";
+            case 2 -> "2nd Year";
+            case 3 -> "3rd Year";
+            case 4 -> "4th Year";
+            case 5 -> "Graduate";
+            default -> "Alumni";
+        };
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    private static AtomicLong sum(AtomicLong a, AtomicLong b) {
+        return new AtomicLong(a.get() + b.get());
+    }
+}
@@ -0,0 +1,111 @@
+package com.yorku.util;
+
+import com.yorku.pojo.EmpExpr;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Work History Diff
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Compares the submitted work history of an employee with the rows currently stored and
+ * works out the minimal set of changes. Entries are matched by id first; entries without a
+ * (known) id are then matched to remaining stored rows with identical content, so clients that
+ * resend the history without ids still produce no writes for unchanged entries.
+ *
+ * @Description: 员工工作经历差异计算
+ * 对比提交的工作经历与数据库中的现有记录，只计算需要新增、修改、删除的条目。
+ */
+public class EmpExprDiff {
+
+    private final List<EmpExpr> inserts = new ArrayList<>();
+    private final List<EmpExpr> updates = new ArrayList<>();
+    private final List<Integer> deleteIds = new ArrayList<>();
+
+    private EmpExprDiff() {
+    }
+
+    /**
+     * Compute the changes for one employee
+     * 计算单个员工的工作经历变更
+     *
+     * @param empId    Employee ID / 员工ID
+     * @param current  Rows currently stored for the employee / 数据库中的现有记录
+     * @param incoming Submitted history (may be null) / 提交的工作经历（可为空）
+     */
+    public static EmpExprDiff of(Integer empId, List<EmpExpr> current, List<EmpExpr> incoming) {
+        EmpExprDiff diff = new EmpExprDiff();
+        Map<Integer, EmpExpr> remaining = new LinkedHashMap<>();
+        for (EmpExpr expr : current) {
+            remaining.put(expr.getId(), expr);
+        }
+
+        // 1. Match by id: update only when the content changed / 按ID匹配，内容变化时才修改
+        List<EmpExpr> unmatched = new ArrayList<>();
+        if (incoming != null) {
+            for (EmpExpr expr : incoming) {
+                expr.setEmpId(empId);
+                EmpExpr stored = expr.getId() != null ? remaining.remove(expr.getId()) : null;
+                if (stored == null) {
+                    unmatched.add(expr);
+                } else if (!sameContent(stored, expr)) {
+                    diff.updates.add(expr);
+                }
+            }
+        }
+
+        // 2. Match the rest by content, otherwise insert / 其余条目按内容匹配，匹配不到则新增
+        for (EmpExpr expr : unmatched) {
+            EmpExpr stored = null;
+            for (Iterator<EmpExpr> it = remaining.values().iterator(); it.hasNext(); ) {
+                EmpExpr candidate = it.next();
+                if (sameContent(candidate, expr)) {
+                    stored = candidate;
+                    it.remove();
+                    break;
+                }
+            }
+            if (stored == null) {
+                expr.setId(null);
+                diff.inserts.add(expr);
+            }
+        }
+
+        // 3. Stored rows that were not submitted again are removed / 未再提交的记录删除
+        diff.deleteIds.addAll(remaining.keySet());
+        return diff;
+    }
+
+    private static boolean sameContent(EmpExpr a, EmpExpr b) {
+        return Objects.equals(a.getBegin(), b.getBegin())
+                && Objects.equals(a.getEnd(), b.getEnd())
+                && Objects.equals(a.getCompany(), b.getCompany())
+                && Objects.equals(a.getJob(), b.getJob());
+    }
+
+    public List<EmpExpr> getInserts() {
+        return inserts;
+    }
+
+    public List<EmpExpr> getUpdates() {
+        return updates;
+    }
+
+    public List<Integer> getDeleteIds() {
+        return deleteIds;
+    }
+
+    /**
+     * Number of rows the diff writes (inserted + updated + deleted)
+     * 本次变更写入的行数
+     */
+    public int rowsWritten() {
+        return inserts.size() + updates.size() + deleteIds.size();
+    }
+}
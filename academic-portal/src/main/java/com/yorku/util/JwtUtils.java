@@ -12,7 +12,7 @@ import java.util.Map;
  */
 public class JwtUtils {
     private static final String SECRET_KEY = "bGl5YW5n";
-    private static final long EXPIRATION_TIME = 12*60*60*1000;
+    static final long EXPIRATION_TIME = 12*60*60*1000;
 
     /**
      * 生成JWT令牌
@@ -0,0 +1,92 @@
+package com.yorku.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.EOFException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @Description: 本地磁盘存储操作类
+ * 上传文件由容器落盘的临时文件直接移动到目标位置（同一文件系统时只是重命名，不复制数据）；
+ * 其他输入流使用 NIO FileChannel.transferFrom 写入。文件通过 FileController 的 /files/** 接口读取。
+ * 用于压测及无法访问OSS的离线环境。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalStorageOperator implements StorageOperator {
+
+    @Autowired
+    private LocalStorageProperties localStorageProperties;
+
+    /**
+     * 上传文件：交给容器写出（Tomcat 将落盘的临时文件移动到目标路径，仅在内存中的小文件才写出字节）
+     */
+    @Override
+    public String upload(MultipartFile file) throws Exception {
+        String objectName = StorageOperator.newObjectName(file.getOriginalFilename());
+        Path target = resolve(objectName);
+        Files.createDirectories(target.getParent());
+
+        // transferTo(File) goes through Part.write, which renames the spooled file; transferTo(Path) would copy the stream
+        // transferTo(File) 调用 Part.write 移动临时文件；transferTo(Path) 会改为复制输入流
+        try {
+            file.transferTo(target.toFile());
+        } catch (Exception e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+
+        log.info("Stored {} bytes at {}", file.getSize(), target);
+        return localStorageProperties.getBaseUrl() + "/files/" + objectName;
+    }
+
+    @Override
+    public String upload(InputStream in, long size, String originalFilename) throws Exception {
+        String objectName = StorageOperator.newObjectName(originalFilename);
+        Path target = resolve(objectName);
+        Files.createDirectories(target.getParent());
+
+        ReadableByteChannel source = Channels.newChannel(in);
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long position = 0;
+            while (position < size) {
+                long transferred = channel.transferFrom(source, position, size - position);
+                if (transferred <= 0) {
+                    throw new EOFException("Upload stream ended before the declared size");
+                }
+                position += transferred;
+            }
+        } catch (Exception e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+
+        log.info("Stored {} bytes at {}", size, target);
+        return localStorageProperties.getBaseUrl() + "/files/" + objectName;
+    }
+
+    /**
+     * 将对象路径解析为本地文件路径，拒绝越出根目录的路径
+     */
+    public Path resolve(String objectName) {
+        Path root = Paths.get(localStorageProperties.getRootDir()).toAbsolutePath().normalize();
+        Path path = root.resolve(objectName).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid object path: " + objectName);
+        }
+        return path;
+    }
+}
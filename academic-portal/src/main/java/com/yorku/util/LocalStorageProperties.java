@@ -0,0 +1,19 @@
+package com.yorku.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: 本地磁盘存储配置实体
+ */
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "storage.local")
+public class LocalStorageProperties {
+    // 文件存放的根目录
+    private String rootDir = "./upload";
+    // 对外访问地址前缀（拼接 /files/对象路径）
+    private String baseUrl = "http://localhost:8080";
+}
@@ -0,0 +1,188 @@
+package com.yorku.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram Inverted Index
+ * Maps every 3-character substring of a name to the sorted IDs containing it. A substring query
+ * intersects the posting lists of its trigrams and verifies the candidates, giving the same
+ * result as a case-insensitive LIKE '%query%' without scanning every name.
+ * Queries shorter than 3 characters scan the in-memory names instead.
+ *
+ * @Description: 三元组(n-gram)倒排索引，将子串查询解析为 ID 集合
+ */
+public class NGramIndex {
+
+    private static final int N = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // id -> normalized name / ID -> 规范化后的名称
+    private final Map<Integer, String> names = new HashMap<>();
+
+    // trigram -> sorted ids (compact int arrays rather than boxed sets) / 三元组 -> 有序 ID 数组
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * Add or replace the name of an ID
+     * 新增或替换名称
+     */
+    public void put(Integer id, String name) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (name == null) {
+                return;
+            }
+            String normalized = normalize(name);
+            names.put(id, normalized);
+            for (String gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * IDs whose name contains the query (case-insensitive), in ascending order
+     * 名称包含查询串（忽略大小写）的 ID，升序
+     */
+    public List<Integer> search(String query) {
+        String q = normalize(query);
+        lock.readLock().lock();
+        try {
+            List<Integer> result = new ArrayList<>();
+            if (q.length() < N) {
+                names.forEach((id, name) -> {
+                    if (name.contains(q)) {
+                        result.add(id);
+                    }
+                });
+                result.sort(null);
+                return result;
+            }
+
+            // Intersect from the shortest posting list / 从最短的倒排列表开始求交集
+            List<Postings> lists = new ArrayList<>();
+            for (String gram : grams(q)) {
+                Postings p = postings.get(gram);
+                if (p == null) {
+                    return result;
+                }
+                lists.add(p);
+            }
+            lists.sort(Comparator.comparingInt(p -> p.size));
+            int[] candidates = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+            int count = candidates.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = lists.get(i).retain(candidates, count);
+            }
+
+            // Trigram hits can be false positives (grams in a different order) / 三元组命中需再校验
+            for (int i = 0; i < count; i++) {
+                if (names.get(candidates[i]).contains(q)) {
+                    result.add(candidates[i]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(Integer id) {
+        String old = names.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (String gram : grams(old)) {
+            Postings p = postings.get(gram);
+            if (p != null && p.remove(id) && p.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static String normalize(String s) {
+        return s.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String s) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + N <= s.length(); i++) {
+            grams.add(s.substring(i, i + N));
+        }
+        return grams;
+    }
+
+    /**
+     * Sorted, growable int array / 有序可扩容的 int 数组
+     */
+    private static final class Postings {
+        int[] ids = new int[2];
+        int size;
+
+        void add(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        // Keep only the candidates also present here, returns the new count / 保留同时出现在本列表中的候选
+        int retain(int[] candidates, int count) {
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                if (Arrays.binarySearch(ids, 0, size, candidates[i]) >= 0) {
+                    candidates[kept++] = candidates[i];
+                }
+            }
+            return kept;
+        }
+    }
+}
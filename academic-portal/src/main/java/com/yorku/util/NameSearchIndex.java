@@ -0,0 +1,223 @@
+package com.yorku.util;
+
+import com.yorku.mapper.ClazzMapper;
+import com.yorku.mapper.EmpMapper;
+import com.yorku.mapper.StudentMapper;
+import com.yorku.pojo.Clazz;
+import com.yorku.pojo.Emp;
+import com.yorku.pojo.Student;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Name Search Index
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * In-process trigram indexes over employee, student and course section names. The listing
+ * services resolve the name filter to a set of IDs here, and the mapper queries then fetch
+ * only those IDs by primary key instead of running like '%name%' over the whole table.
+ * Indexes are built at startup, maintained by the service write paths after commit, and
+ * rebuilt periodically. When an index is not available, or a query matches too many rows,
+ * search returns null and the mappers fall back to LIKE.
+ *
+ * @Description: 名称子串搜索内存索引
+ * 启动时构建，业务写操作提交后增量维护，定期全量重建；索引不可用时退化为 LIKE 查询。
+ */
+@Slf4j
+@Component
+public class NameSearchIndex {
+
+    public static final String EMP = "emp";
+    public static final String STUDENT = "student";
+    public static final String CLAZZ = "clazz";
+
+    @Autowired
+    private EmpMapper empMapper;
+
+    @Autowired
+    private StudentMapper studentMapper;
+
+    @Autowired
+    private ClazzMapper clazzMapper;
+
+    @Autowired
+    private NameSearchProperties nameSearchProperties;
+
+    private final Map<String, Table> tables = Map.of(
+            EMP, new Table(EMP, () -> toNames(empMapper.listNames(), Emp::getId, Emp::getName)),
+            STUDENT, new Table(STUDENT, () -> toNames(studentMapper.listNames(), Student::getId, Student::getName)),
+            CLAZZ, new Table(CLAZZ, () -> toNames(clazzMapper.listNames(), Clazz::getId, Clazz::getName)));
+
+    /**
+     * Build all indexes once the application is up
+     * 应用启动完成后构建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        rebuildAll();
+    }
+
+    /**
+     * Periodic full rebuild (picks up changes made outside the services, e.g. the AI DML path)
+     * 定期全量重建
+     */
+    @Scheduled(fixedDelayString = "${search.index.rebuild-interval-ms:600000}",
+            initialDelayString = "${search.index.rebuild-interval-ms:600000}")
+    public void rebuildAll() {
+        if (!nameSearchProperties.isEnabled()) {
+            return;
+        }
+        tables.keySet().forEach(this::rebuild);
+    }
+
+    /**
+     * Resolve a name filter to matching IDs
+     * 将名称条件解析为匹配的 ID 列表
+     *
+     * @return matching IDs (possibly empty), or null when the caller should use LIKE instead
+     *         匹配的 ID（可能为空）；返回 null 表示无需过滤或应使用 LIKE 查询
+     */
+    public List<Integer> search(String table, String name) {
+        if (!nameSearchProperties.isEnabled() || name == null || name.isEmpty()) {
+            return null;
+        }
+        NGramIndex index = tables.get(table).index;
+        if (index == null) {
+            return null;
+        }
+        List<Integer> ids = index.search(name);
+        return ids.size() > nameSearchProperties.getMaxIds() ? null : ids;
+    }
+
+    /**
+     * Record a new or renamed row (applied after the surrounding transaction commits)
+     * 新增或改名（事务提交后生效）
+     */
+    public void put(String table, Integer id, String name) {
+        if (id != null && name != null) {
+            TransactionHooks.afterCommit(() -> tables.get(table).apply(id, name));
+        }
+    }
+
+    /**
+     * Record removed rows (applied after the surrounding transaction commits)
+     * 删除（事务提交后生效）
+     */
+    public void remove(String table, List<Integer> ids) {
+        TransactionHooks.afterCommit(() -> ids.forEach(id -> tables.get(table).apply(id, null)));
+    }
+
+    /**
+     * Rebuild one index now (e.g. after a bulk import)
+     * 立即重建某张表的索引（如批量导入之后）
+     */
+    public void rebuild(String table) {
+        if (!nameSearchProperties.isEnabled()) {
+            return;
+        }
+        try {
+            tables.get(table).rebuild();
+        } catch (Exception e) {
+            // The periodic rebuild will retry / 失败时由定期重建补偿
+            log.error("❌ [Search] Rebuilding the {} name index failed: {}", table, e.getMessage());
+        }
+    }
+
+    private static <T> Map<Integer, String> toNames(List<T> rows, Function<T, Integer> id, Function<T, String> name) {
+        Map<Integer, String> names = new HashMap<>();
+        rows.forEach(row -> names.put(id.apply(row), name.apply(row)));
+        return names;
+    }
+
+    private record Op(Integer id, String name) {
+    }
+
+    /**
+     * One indexed table. Writes that arrive while a rebuild is loading are replayed onto
+     * the new index before it is swapped in, so no change is lost.
+     * 单张表的索引；重建期间的写操作会在切换前重放到新索引上。
+     */
+    private static final class Table {
+        private final String name;
+        private final Supplier<Map<Integer, String>> loader;
+        private final ReentrantLock rebuildLock = new ReentrantLock();
+        private final ReentrantLock opLock = new ReentrantLock();
+        private volatile NGramIndex index;
+        private List<Op> pending;
+
+        Table(String name, Supplier<Map<Integer, String>> loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+
+        void apply(Integer id, String value) {
+            opLock.lock();
+            try {
+                NGramIndex current = index;
+                if (current != null) {
+                    apply(current, new Op(id, value));
+                }
+                if (pending != null) {
+                    pending.add(new Op(id, value));
+                }
+            } finally {
+                opLock.unlock();
+            }
+        }
+
+        void rebuild() {
+            rebuildLock.lock();
+            try {
+                setPending(new ArrayList<>());
+                NGramIndex fresh = new NGramIndex();
+                try {
+                    loader.get().forEach(fresh::put);
+                } catch (RuntimeException e) {
+                    setPending(null);
+                    throw e;
+                }
+                opLock.lock();
+                try {
+                    pending.forEach(op -> apply(fresh, op));
+                    pending = null;
+                    index = fresh;
+                } finally {
+                    opLock.unlock();
+                }
+                log.info("🔎 [Search] {} name index built: {} entries", name, fresh.size());
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+
+        private void setPending(List<Op> ops) {
+            opLock.lock();
+            try {
+                pending = ops;
+            } finally {
+                opLock.unlock();
+            }
+        }
+
+        private static void apply(NGramIndex target, Op op) {
+            if (op.name() == null) {
+                target.remove(op.id());
+            } else {
+                target.put(op.id(), op.name());
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.yorku.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: 名称搜索索引配置实体
+ */
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "search.index")
+public class NameSearchProperties {
+    // 是否启用内存索引（关闭后使用 LIKE 查询）
+    private boolean enabled = true;
+    // 命中ID数超过该值时改用 LIKE 查询（IN 列表过长反而更慢）
+    private int maxIds = 1000;
+    // 定期全量重建间隔(毫秒)，覆盖绕过业务层的修改
+    private long rebuildIntervalMs = 600000;
+}
@@ -0,0 +1,190 @@
+package com.yorku.util;
+
+import com.yorku.mapper.TableStatsMapper;
+import com.yorku.pojo.CountMode;
+import com.yorku.pojo.PageRequest;
+import com.yorku.pojo.PageResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Page Count Strategy
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Runs a paginated listing with an explicit PageRequest (LIMIT/OFFSET passed to the mapper,
+ * no ThreadLocal paging state or SQL rewriting) and builds the PageResult, running the
+ * mapper's COUNT statement only when the total is not already known. Exact totals are cached per
+ * (table, normalized filter values) with a short TTL and invalidated by the service write paths;
+ * unfiltered listings can use the InnoDB row estimate instead.
+ *
+ * @Description: 分页总数统计策略
+ * 按查询条件缓存总数、写操作后失效，无过滤条件时可使用表统计信息估算总数。
+ */
+@Slf4j
+@Component
+public class PageCountCache {
+
+    private static final String ESTIMATE_KEY = "~estimate";
+
+    @Autowired
+    private PageCountProperties pageCountProperties;
+
+    @Autowired
+    private TableStatsMapper tableStatsMapper;
+
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    // Per-table write generation: a count computed before a write is never stored after it
+    // 每张表的写入版本号：写操作之前开始的统计结果不会在失效之后被写回缓存
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private record Entry(long total, long expiresAt) {
+    }
+
+    /**
+     * Run a paginated query with the requested count strategy
+     * 按指定的总数统计方式执行分页查询
+     *
+     * @param table   Base table of the listing (used for invalidation and estimates) / 列表的主表
+     * @param mode    Requested count mode, null for the configured default / 统计方式，为空时使用默认配置
+     * @param query   The mapper call for one page / 查询一页数据的 Mapper 方法
+     * @param count   The mapper call counting all matching rows / 统计总数的 Mapper 方法
+     * @param filters Filter values of the query (page/pageSize excluded) / 查询条件（不含页码参数）
+     */
+    public <T> PageResult<T> page(String table, CountMode mode, Integer page, Integer pageSize,
+                                  Function<PageRequest, List<T>> query, Supplier<Long> count, Object... filters) {
+        PageRequest pageRequest = PageRequest.of(page, pageSize);
+        CountMode countMode = mode != null ? mode : pageCountProperties.getDefaultMode();
+        String key = key(table, filters);
+        long generation = generation(table).get();
+
+        // 1. Resolve a known total (if any) / 尝试获取已知的总数
+        Long known = switch (countMode) {
+            case EXACT -> null;
+            case CACHED -> lookup(key);
+            case ESTIMATED -> isUnfiltered(filters) ? estimate(table) : lookup(key);
+        };
+
+        // 2. Count only when the total is unknown, and remember the exact total for subsequent requests
+        // 总数未知时才执行 COUNT 查询，并缓存本次精确总数
+        long total;
+        if (known != null) {
+            total = known;
+        } else {
+            Long counted = count.get();
+            total = counted == null ? 0 : counted;
+            store(table, key, total, generation, pageCountProperties.getTtlMs());
+        }
+
+        // 3. Fetch the page, skipped when an exact count shows it is past the last row
+        // 查询当前页数据（精确总数表明已超出末页时不再查询）
+        List<T> rows = known == null && pageRequest.getOffset() >= total ? List.of() : query.apply(pageRequest);
+        return new PageResult<>(total, rows);
+    }
+
+    /**
+     * Drop every cached total of a table (called from service write paths). Inside a transaction this
+     * happens after commit: bumping the generation earlier would let a concurrent read count the
+     * pre-commit rows and cache that total under the new generation.
+     * 使指定表的全部缓存总数失效（由业务层写操作调用）；在事务中调用时于提交后执行，
+     * 否则提交前的并发查询会把旧的总数以新版本号写回缓存
+     */
+    public void invalidate(String table) {
+        TransactionHooks.afterCommit(() -> {
+            generation(table).incrementAndGet();
+            String prefix = table + "|";
+            cache.keySet().removeIf(k -> k.startsWith(prefix));
+        });
+    }
+
+    private Long lookup(String key) {
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() >= entry.expiresAt()) {
+            cache.remove(key, entry);
+            return null;
+        }
+        return entry.total();
+    }
+
+    private Long estimate(String table) {
+        String key = table + "|" + ESTIMATE_KEY;
+        Long cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = generation(table).get();
+        try {
+            Long rows = tableStatsMapper.estimateRows(table);
+            if (rows != null) {
+                store(table, key, rows, generation, pageCountProperties.getEstimatedTtlMs());
+            }
+            return rows;
+        } catch (Exception e) {
+            // Statistics unavailable, fall back to an exact count / 统计信息不可用，退化为精确统计
+            log.warn("Row estimate unavailable for table {}: {}", table, e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(String table, String key, long total, long generation, long ttlMs) {
+        if (cache.size() >= pageCountProperties.getMaxEntries()) {
+            long now = System.currentTimeMillis();
+            cache.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (cache.size() >= pageCountProperties.getMaxEntries()) {
+                return;
+            }
+        }
+        if (generation(table).get() == generation) {
+            Entry entry = new Entry(total, System.currentTimeMillis() + ttlMs);
+            cache.put(key, entry);
+            // An invalidation between the check and the put must not leave the entry behind / 写入期间发生失效则撤销
+            if (generation(table).get() != generation) {
+                cache.remove(key, entry);
+            }
+        }
+    }
+
+    private AtomicLong generation(String table) {
+        return generations.computeIfAbsent(table, t -> new AtomicLong());
+    }
+
+    // Normalize filters: blank strings are ignored by the mappers, and LIKE is case-insensitive
+    // 规范化查询条件：空字符串等同于未传，字符串去空格并转小写（LIKE 不区分大小写）
+    private static String key(String table, Object... filters) {
+        StringBuilder sb = new StringBuilder(table).append('|');
+        for (Object filter : filters) {
+            sb.append(normalize(filter)).append('|');
+        }
+        return sb.toString();
+    }
+
+    private static Object normalize(Object filter) {
+        if (filter instanceof String s) {
+            String trimmed = s.trim();
+            return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+        }
+        return filter;
+    }
+
+    private static boolean isUnfiltered(Object... filters) {
+        for (Object filter : filters) {
+            if (normalize(filter) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
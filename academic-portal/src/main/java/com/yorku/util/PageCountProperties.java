@@ -0,0 +1,24 @@
+package com.yorku.util;
+
+import com.yorku.pojo.CountMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: 分页总数缓存配置实体
+ */
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "page.count")
+public class PageCountProperties {
+    // 请求未指定 countMode 时使用的默认方式
+    private CountMode defaultMode = CountMode.CACHED;
+    // 精确总数的缓存时间(毫秒)
+    private long ttlMs = 5000;
+    // 估算总数的缓存时间(毫秒)
+    private long estimatedTtlMs = 60000;
+    // 最多缓存的查询条件数
+    private int maxEntries = 1000;
+}
@@ -0,0 +1,118 @@
+package com.yorku.util;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection Pool Metrics
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Hikari metrics tracker shared by all pools (see DataSourceConfig). Hikari calls it on every
+ * connection checkout, so it only adds to counters; the gauges (active / idle / pending) come
+ * from the pool's own PoolStats and are read when the stats endpoint is called. Every event is
+ * also passed to Hikari's Micrometer tracker (hikaricp_* meters on /actuator/prometheus), which
+ * Spring Boot does not attach itself to pools that already have a tracker factory.
+ *
+ * @Description: 数据库连接池监控
+ * 记录各连接池的连接获取耗时、超时次数，并提供活跃/空闲/等待连接数。
+ */
+@Component
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    // poolName -> tracker, registered when a pool starts (pools start lazily on first use)
+    // 连接池名称 -> 统计器（连接池在首次使用时启动并注册）
+    private final Map<String, Tracker> trackers = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        Tracker tracker = new Tracker(poolStats, new MicrometerMetricsTrackerFactory(meterRegistry).create(poolName, poolStats));
+        trackers.put(poolName, tracker);
+        return tracker;
+    }
+
+    /**
+     * Snapshot of every started pool
+     * 各连接池的当前状态与累计统计
+     */
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        trackers.forEach((name, tracker) -> result.put(name, tracker.stats()));
+        return result;
+    }
+
+    private static class Tracker implements IMetricsTracker {
+        private final PoolStats poolStats;
+        private final IMetricsTracker micrometer;
+        private final LongAdder acquired = new LongAdder();
+        private final LongAdder acquireNanos = new LongAdder();
+        private final AtomicLong maxAcquireNanos = new AtomicLong();
+        private final LongAdder usageMillis = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+
+        Tracker(PoolStats poolStats, IMetricsTracker micrometer) {
+            this.poolStats = poolStats;
+            this.micrometer = micrometer;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            micrometer.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            micrometer.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            acquired.increment();
+            acquireNanos.add(elapsedAcquiredNanos);
+            maxAcquireNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            micrometer.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            usageMillis.add(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            micrometer.recordConnectionTimeout();
+            timeouts.increment();
+        }
+
+        @Override
+        public void close() {
+            micrometer.close();
+        }
+
+        Map<String, Object> stats() {
+            long count = acquired.sum();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("active", poolStats.getActiveConnections());
+            stats.put("idle", poolStats.getIdleConnections());
+            stats.put("pending", poolStats.getPendingThreads());
+            stats.put("total", poolStats.getTotalConnections());
+            stats.put("max", poolStats.getMaxConnections());
+            stats.put("acquired", count);
+            stats.put("avgAcquireMs", count == 0 ? 0.0 : acquireNanos.sum() / 1_000_000.0 / count);
+            stats.put("maxAcquireMs", maxAcquireNanos.get() / 1_000_000.0);
+            stats.put("avgUsageMs", count == 0 ? 0.0 : (double) usageMillis.sum() / count);
+            stats.put("timeouts", timeouts.sum());
+            return stats;
+        }
+    }
+}
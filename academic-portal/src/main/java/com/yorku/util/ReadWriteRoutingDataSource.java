@@ -0,0 +1,53 @@
+package com.yorku.util;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/Write Routing DataSource
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Chooses the primary or the replica pool each time a connection is taken. Reads go to the
+ * replica when they run in a @Transactional(readOnly = true) transaction or inside
+ * ReplicaReads.run/call (or always, for the analytics routing), and only while ReplicaHealth
+ * reports the replica as reachable and within the allowed lag; everything else uses the primary.
+ * For transactions the routing must be wrapped in a LazyConnectionDataSourceProxy (see
+ * DataSourceConfig): the read-only flag is set after the transaction manager asks for its
+ * connection, so the physical connection has to be taken at the first statement.
+ *
+ * @Description: 读写分离路由数据源
+ * 只读事务、指定的副本读、分析查询走副本；副本不可用或复制延迟过大时回退主库。
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final ReplicaHealth replicaHealth;
+
+    // true: every connection is a read (analytics) / 所有连接都是只读查询（分析连接池）
+    private final boolean readsOnly;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealth replicaHealth, boolean readsOnly) {
+        this.replicaHealth = replicaHealth;
+        this.readsOnly = readsOnly;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        targets.put(REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean read = readsOnly || TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReplicaReads.isActive();
+        return read && replicaHealth.isHealthy() ? REPLICA : PRIMARY;
+    }
+}
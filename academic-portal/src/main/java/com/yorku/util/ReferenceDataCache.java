@@ -0,0 +1,157 @@
+package com.yorku.util;
+
+import com.yorku.mapper.ClazzMapper;
+import com.yorku.mapper.DeptMapper;
+import com.yorku.pojo.Clazz;
+import com.yorku.pojo.Dept;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Reference Data Cache
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * In-process read-through cache of the small, rarely changing reference tables (departments and
+ * course sections). Serves the dropdown lists and resolves deptName / clazzName for the Emp and
+ * Student listings, so those queries no longer join dept / clazz. Entries are dropped by the
+ * Dept/Clazz write paths and periodically (to pick up changes made outside the services, such as
+ * the AI DML path), then reloaded on the next read.
+ *
+ * @Description: 部门/班级基础数据缓存
+ * 启动时加载，增删改后失效并在下次读取时重新加载；列表查询通过缓存解析名称，不再关联查询。
+ */
+@Slf4j
+@Component
+public class ReferenceDataCache {
+
+    @Autowired
+    private DeptMapper deptMapper;
+
+    @Autowired
+    private ClazzMapper clazzMapper;
+
+    private final Reference<Dept> depts = new Reference<>(() -> deptMapper.findAll(), Dept::getId);
+
+    private final Reference<Clazz> clazzes = new Reference<>(() -> clazzMapper.findAll(), Clazz::getId);
+
+    /**
+     * Warm up once the application is up
+     * 应用启动完成后预加载
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            depts.get();
+            clazzes.get();
+            log.info("📚 [Reference] Cached {} departments, {} course sections", depts.get().all().size(), clazzes.get().all().size());
+        } catch (Exception e) {
+            // Loaded on first use instead / 加载失败时在首次读取时再加载
+            log.error("❌ [Reference] Reference data preload failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Periodic refresh: drop both tables, the next read reloads them
+     * 定期失效，下次读取时重新加载（覆盖绕过业务层的修改）
+     */
+    @Scheduled(fixedDelayString = "${reference.cache.refresh-interval-ms:300000}",
+            initialDelayString = "${reference.cache.refresh-interval-ms:300000}")
+    public void refresh() {
+        depts.invalidate();
+        clazzes.invalidate();
+    }
+
+    // ----------- Departments / 部门 -----------
+
+    public List<Dept> findAllDepts() {
+        return depts.get().all();
+    }
+
+    public String deptName(Integer deptId) {
+        Dept dept = deptId == null ? null : depts.get().byId().get(deptId);
+        return dept == null ? null : dept.getName();
+    }
+
+    public void invalidateDepts() {
+        depts.invalidate();
+    }
+
+    // ----------- Course Sections / 班级 -----------
+
+    public List<Clazz> findAllClazzes() {
+        return clazzes.get().all();
+    }
+
+    public String clazzName(Integer clazzId) {
+        Clazz clazz = clazzId == null ? null : clazzes.get().byId().get(clazzId);
+        return clazz == null ? null : clazz.getName();
+    }
+
+    public void invalidateClazzes() {
+        clazzes.invalidate();
+    }
+
+    private record Snapshot<T>(List<T> all, Map<Integer, T> byId) {
+    }
+
+    /**
+     * One cached table: immutable snapshot, reloaded under a lock by the first reader after invalidation
+     * 单张表的缓存：不可变快照，失效后由第一个读取者加锁重新加载
+     */
+    private static final class Reference<T> {
+        private final Supplier<List<T>> loader;
+        private final Function<T, Integer> idOf;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // A load that started before an invalidation is not stored / 失效前开始的加载结果不写回
+        private final AtomicLong generation = new AtomicLong();
+        private volatile Snapshot<T> snapshot;
+
+        Reference(Supplier<List<T>> loader, Function<T, Integer> idOf) {
+            this.loader = loader;
+            this.idOf = idOf;
+        }
+
+        Snapshot<T> get() {
+            Snapshot<T> s = snapshot;
+            if (s != null) {
+                return s;
+            }
+            lock.lock();
+            try {
+                s = snapshot;
+                if (s == null) {
+                    long gen = generation.get();
+                    List<T> rows = List.copyOf(loader.get());
+                    Map<Integer, T> byId = new HashMap<>();
+                    rows.forEach(row -> byId.put(idOf.apply(row), row));
+                    s = new Snapshot<>(rows, Map.copyOf(byId));
+                    if (generation.get() == gen) {
+                        snapshot = s;
+                    }
+                }
+                return s;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void invalidate() {
+            generation.incrementAndGet();
+            snapshot = null;
+        }
+    }
+}
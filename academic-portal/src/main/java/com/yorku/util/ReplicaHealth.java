@@ -0,0 +1,124 @@
+package com.yorku.util;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+/**
+ * Replica Health
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Periodically reads the replication delay of the replica (SHOW REPLICA STATUS, falling back to
+ * SHOW SLAVE STATUS on older servers). The replica is used only while it is reachable, its
+ * replication threads are running and it is no more than replica.max-lag-seconds behind. A
+ * server that is not replicating at all (e.g. a local stand-in container) counts as up to date.
+ * Starts as unhealthy, so reads stay on the primary until the first successful check.
+ *
+ * @Description: 只读副本健康与复制延迟检测
+ * 副本不可达、复制中断或延迟过大时，读请求回退到主库。
+ */
+@Slf4j
+@Component
+public class ReplicaHealth {
+
+    @Autowired
+    @Qualifier("replica")
+    private ObjectProvider<DataSource> replicaDataSource;
+
+    @Autowired
+    private ReplicaProperties replicaProperties;
+
+    // null when no replica is configured / 未配置副本时为 null
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile boolean healthy;
+    private volatile Long lagSeconds;
+    private volatile String lastError;
+    private volatile long checkedAt;
+
+    @PostConstruct
+    public void init() {
+        DataSource dataSource = replicaDataSource.getIfAvailable();
+        if (dataSource != null) {
+            jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setQueryTimeout(2);
+        }
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * Check the replication delay (runs at startup and then every replica.lag-check-interval-ms)
+     * 检测复制延迟
+     */
+    @Scheduled(fixedDelayString = "${replica.lag-check-interval-ms:5000}")
+    public void check() {
+        if (jdbcTemplate == null) {
+            return;
+        }
+        boolean wasHealthy = healthy;
+        try {
+            Long lag = readLag();
+            lagSeconds = lag;
+            lastError = lag == null ? "Replication is not running" : null;
+            healthy = lag != null && lag <= replicaProperties.getMaxLagSeconds();
+        } catch (Exception e) {
+            lagSeconds = null;
+            lastError = e.getMessage();
+            healthy = false;
+        }
+        checkedAt = System.currentTimeMillis();
+
+        if (wasHealthy && !healthy) {
+            log.warn("⚠️ [Replica] Reads fall back to the primary (lag: {}s, error: {})", lagSeconds, lastError);
+        } else if (!wasHealthy && healthy) {
+            log.info("✅ [Replica] Replica is in sync (lag: {}s), read-only queries use it", lagSeconds);
+        }
+    }
+
+    private Long readLag() {
+        List<Map<String, Object>> rows;
+        try {
+            rows = jdbcTemplate.queryForList("SHOW REPLICA STATUS");
+        } catch (BadSqlGrammarException e) {
+            // MySQL before 8.0.22 / 旧版本 MySQL
+            rows = jdbcTemplate.queryForList("SHOW SLAVE STATUS");
+        }
+        if (rows.isEmpty()) {
+            // Not a replica (stand-in server): always current / 未配置复制（本地替身库），视为无延迟
+            return 0L;
+        }
+        Map<String, Object> row = rows.get(0);
+        Object lag = row.containsKey("Seconds_Behind_Source") ? row.get("Seconds_Behind_Source") : row.get("Seconds_Behind_Master");
+        return lag == null ? null : Long.valueOf(lag.toString());
+    }
+
+    /**
+     * Replica status for the pool stats endpoint / 副本状态（连接池监控接口使用）
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("configured", jdbcTemplate != null);
+        status.put("healthy", healthy);
+        status.put("lagSeconds", lagSeconds);
+        status.put("maxLagSeconds", replicaProperties.getMaxLagSeconds());
+        status.put("lastError", lastError);
+        status.put("checkedAt", checkedAt == 0 ? null : checkedAt);
+        return status;
+    }
+}
@@ -0,0 +1,20 @@
+package com.yorku.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: 只读副本(读写分离)配置实体
+ * 副本连接信息在 replica.datasource.* 下配置，未配置 url 时所有查询都走主库
+ */
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "replica")
+public class ReplicaProperties {
+    // 复制延迟超过该秒数时，读请求回退到主库
+    private long maxLagSeconds = 5;
+    // 复制延迟检测间隔(毫秒)
+    private long lagCheckIntervalMs = 5000;
+}
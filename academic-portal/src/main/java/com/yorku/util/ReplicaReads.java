@@ -0,0 +1,41 @@
+package com.yorku.util;
+
+import java.util.function.Supplier;
+
+/**
+ * @Description: 指定走只读副本的查询
+ * 包裹在 run/call 中的 Mapper 调用（不在读写事务内时）路由到副本，副本不可用或延迟过大时仍走主库。
+ */
+public class ReplicaReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    /**
+     * Whether the current thread is inside run/call / 当前线程是否处于副本读范围内
+     */
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(ACTIVE.get());
+    }
+
+    public static void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static <T> T call(Supplier<T> action) {
+        Boolean previous = ACTIVE.get();
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            // Restore instead of remove so nested calls keep the outer scope / 恢复外层状态，支持嵌套调用
+            if (previous == null) {
+                ACTIVE.remove();
+            } else {
+                ACTIVE.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.yorku.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-Flight Request Coalescing
+ * York University Academic Admin Portal
+ *
+ * Description:
+ * Concurrent calls with the same key share one execution: the first caller runs the loader,
+ * callers arriving while it is in flight wait for its result (or its exception) instead of
+ * running their own. Nothing is kept after the execution finishes, so a later call runs again;
+ * caching is left to the caller. Waiting blocks on a CompletableFuture, which does not pin
+ * the carrier thread of a virtual thread; executeAsync hands out the shared future instead.
+ *
+ * @Description: 并发相同请求合并（single-flight）
+ * 同一键的并发调用只执行一次，其余调用等待并共享结果；执行结束后不保留结果。
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Run the loader, or join the execution already in flight for this key
+     * 执行加载逻辑；若该键已有进行中的调用，则等待并共享其结果
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            shared.increment();
+            return await(existing);
+        }
+
+        executions.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Asynchronous variant: the first caller starts the loader, every caller gets a copy of its future
+     * (cancelling one copy does not affect the others)
+     * 异步版本：首个调用启动加载，所有调用得到同一 Future 的副本（取消副本不影响其他调用）
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            shared.increment();
+            return existing.copy();
+        }
+
+        executions.increment();
+        try {
+            loader.get().whenComplete((value, error) -> {
+                inFlight.remove(key, flight);
+                if (error != null) {
+                    flight.completeExceptionally(error);
+                } else {
+                    flight.complete(value);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+        }
+        return flight.copy();
+    }
+
+    /**
+     * Executions, calls that shared another call's execution, and keys currently in flight
+     * 实际执行次数、共享结果的调用次数、当前进行中的键数量
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("executions", executions.sum());
+        stats.put("shared", shared.sum());
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+
+    // Rethrow the leader's exception as is / 原样抛出首个调用的异常
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException r) {
+                throw r;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.yorku.util;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * @Description: 对象存储操作接口
+ * 由 storage.type 选择实现：oss（阿里云OSS，默认）或 local（本地磁盘，用于压测与离线环境）。
+ */
+public interface StorageOperator {
+
+    /**
+     * 以流的方式上传文件
+     * @param in 文件输入流（由调用方关闭）
+     * @param size 文件大小(字节)
+     * @param originalFilename 原始文件名
+     * @return 文件访问URL
+     */
+    String upload(InputStream in, long size, String originalFilename) throws Exception;
+
+    /**
+     * 上传前端提交的文件；默认读取其输入流，实现类可直接使用容器落盘的临时文件
+     * @param file 上传的文件
+     * @return 文件访问URL
+     */
+    default String upload(MultipartFile file) throws Exception {
+        try (InputStream in = file.getInputStream()) {
+            return upload(in, file.getSize(), file.getOriginalFilename());
+        }
+    }
+
+    /**
+     * 生成对象路径，格式为 yyyy/MM/随机文件名.扩展名
+     */
+    static String newObjectName(String originalFilename) {
+        //获取当前系统日期的字符串,格式为 yyyy/MM
+        String dir = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM"));
+        //生成一个新的不重复的文件名
+        String newFileName = UUID.randomUUID() + originalFilename.substring(originalFilename.lastIndexOf("."));
+        return dir + "/" + newFileName;
+    }
+}
@@ -0,0 +1,21 @@
+package com.yorku.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: 学生批量导入配置实体
+ */
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "student.import")
+public class StudentImportProperties {
+    // 每个事务批量写入的行数
+    private int chunkSize = 1000;
+    // 错误报告存放目录
+    private String reportDir = System.getProperty("java.io.tmpdir") + "/academic-portal/import-reports";
+    // 错误报告保留时长(小时)
+    private long reportRetentionHours = 24;
+}
@@ -0,0 +1,152 @@
+package com.yorku.util;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verified Token Cache
+ * Keeps the user fields of tokens that already passed signature verification,
+ * so repeated requests with the same token skip the HMAC check.
+ * Only an immutable copy of the fields is shared between requests (never the parser's Claims map),
+ * and when the cache is full the entry that expires first is evicted (O(log n) per new token).
+ *
+ * @Description: 已校验令牌缓存
+ * 以令牌的 SHA-256 摘要为键缓存解析出的用户信息（不可变），到达令牌自身的过期时间后失效；
+ * 缓存已满时淘汰最早过期的条目。
+ */
+public class TokenCache {
+
+    // Upper bound of cached tokens / 最大缓存条目数
+    private static final int MAX_ENTRIES = 10_000;
+
+    // Lowered in tests / 测试中可调小
+    private static int maxEntries = MAX_ENTRIES;
+
+    private static final Map<String, Entry> CACHE = new ConcurrentHashMap<>();
+
+    // The same entries ordered by expiry, earliest first / 同一批条目按过期时间排序，最早过期的在前
+    private static final NavigableSet<Entry> BY_EXPIRY = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(Entry::expiresAt).thenComparing(Entry::key));
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    /**
+     * User fields of a verified token / 已校验令牌中的用户信息
+     *
+     * @param id        Employee ID (null if the token carries none) / 员工ID（令牌中没有时为空）
+     * @param username  Username / 用户名
+     * @param expiresAt Expiry in epoch millis / 过期时间（毫秒时间戳）
+     */
+    public record VerifiedToken(Integer id, String username, long expiresAt) {
+    }
+
+    private record Entry(String key, VerifiedToken token) {
+        long expiresAt() {
+            return token.expiresAt();
+        }
+    }
+
+    /**
+     * 解析JWT令牌（优先读取缓存）
+     * Falls back to JwtUtils.parseToken on a miss or when the cached entry has expired.
+     */
+    public static VerifiedToken parseToken(String token) throws Exception {
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+
+        Entry entry = CACHE.get(key);
+        if (entry != null) {
+            if (now < entry.expiresAt()) {
+                HITS.increment();
+                return entry.token();
+            }
+            // Token has reached its own exp, drop it and let the parser raise ExpiredJwtException
+            // 令牌已过期，移除缓存并交由解析器抛出过期异常
+            if (CACHE.remove(key, entry)) {
+                BY_EXPIRY.remove(entry);
+            }
+        }
+
+        MISSES.increment();
+        Claims claims = JwtUtils.parseToken(token);
+
+        Date expiration = claims.getExpiration();
+        Object id = claims.get("id");
+        VerifiedToken verified = new VerifiedToken(id == null ? null : Integer.valueOf(id.toString()),
+                claims.get("username", String.class),
+                expiration != null ? expiration.getTime() : now + JwtUtils.EXPIRATION_TIME);
+
+        Entry added = new Entry(key, verified);
+        if (CACHE.putIfAbsent(key, added) == null) {
+            BY_EXPIRY.add(added);
+            // Full: evict the entries that expire first (expired ones come first) / 已满时淘汰最早过期的条目
+            while (CACHE.size() > maxEntries) {
+                Entry eldest = BY_EXPIRY.pollFirst();
+                if (eldest == null) {
+                    break;
+                }
+                CACHE.remove(eldest.key(), eldest);
+            }
+        }
+        return verified;
+    }
+
+    /**
+     * 清除已过期的缓存条目
+     */
+    public static void evictExpired(long now) {
+        for (Iterator<Entry> it = BY_EXPIRY.iterator(); it.hasNext(); ) {
+            Entry eldest = it.next();
+            if (eldest.expiresAt() > now) {
+                return;
+            }
+            if (BY_EXPIRY.remove(eldest)) {
+                CACHE.remove(eldest.key(), eldest);
+            }
+        }
+    }
+
+    /**
+     * 清空缓存（用于测试或密钥轮换）
+     */
+    public static void clear() {
+        CACHE.clear();
+        BY_EXPIRY.clear();
+    }
+
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    public static int size() {
+        return CACHE.size();
+    }
+
+    // Hash the token so the cache never retains raw credentials / 对令牌做摘要，避免缓存中保存原始令牌
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
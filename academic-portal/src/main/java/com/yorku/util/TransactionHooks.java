@@ -0,0 +1,28 @@
+package com.yorku.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * @Description: 事务回调工具
+ * 内存中的派生数据（统计、索引）只在事务提交后更新，避免回滚造成偏差。
+ */
+public class TransactionHooks {
+
+    /**
+     * Run the action once the surrounding transaction (if any) has committed, or right away otherwise
+     * 存在事务时在提交后执行，否则立即执行
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
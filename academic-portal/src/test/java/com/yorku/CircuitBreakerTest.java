@@ -0,0 +1,132 @@
+package com.yorku;
+
+import com.yorku.util.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Description: 熔断器状态转换测试
+ */
+public class CircuitBreakerTest {
+
+    private static final long OPEN_MS = 50;
+
+    /**
+     * 连续失败达到阈值后熔断；冷却期后只放行一次探测调用，探测失败重新熔断，探测成功恢复
+     */
+    @Test
+    public void testOpensAfterConsecutiveFailuresAndRecoversAfterProbe() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(3, OPEN_MS);
+
+        for (int i = 0; i < 2; i++) {
+            breaker.onFailure(acquire(breaker));
+        }
+        // A success resets the streak / 成功调用会重置连续失败次数
+        breaker.onSuccess(acquire(breaker));
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure(acquire(breaker));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+
+        // Failed probe opens the circuit again / 探测失败重新熔断
+        long probe = halfOpen(breaker);
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+        breaker.onFailure(probe);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        // Successful probe closes it / 探测成功恢复
+        breaker.onSuccess(halfOpen(breaker));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        acquire(breaker);
+        assertEquals(2L, breaker.stats().get("opened"));
+    }
+
+    /**
+     * 熔断前放行的慢调用在熔断后才成功：不能关闭熔断器，也不能占用或替代探测调用
+     */
+    @Test
+    public void testLateSuccessFromClosedDoesNotCloseCircuit() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(2, OPEN_MS);
+        long slow = acquire(breaker);
+        breaker.onFailure(acquire(breaker));
+        breaker.onFailure(acquire(breaker));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        breaker.onSuccess(slow);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+
+        // During HALF_OPEN only the probe decides / 半开状态只由探测调用决定
+        long probe = halfOpen(breaker);
+        breaker.onSuccess(slow);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+        breaker.onFailure(probe);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(2L, breaker.stats().get("staleOutcomes"));
+    }
+
+    /**
+     * 半开状态下旧调用的失败不会重新熔断；探测成功后旧调用的失败也不计入新的连续失败次数
+     */
+    @Test
+    public void testLateFailuresAreIgnoredAfterTransition() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(2, OPEN_MS);
+        long[] stragglers = {acquire(breaker), acquire(breaker), acquire(breaker)};
+        breaker.onFailure(acquire(breaker));
+        breaker.onFailure(acquire(breaker));
+        assertEquals(1L, breaker.stats().get("opened"));
+
+        long probe = halfOpen(breaker);
+        breaker.onFailure(stragglers[0]);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        breaker.onSuccess(probe);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        breaker.onFailure(stragglers[1]);
+        breaker.onFailure(stragglers[2]);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0, breaker.stats().get("consecutiveFailures"));
+
+        // The probe's permit is stale once the circuit closed / 恢复后探测凭证同样过期
+        breaker.onFailure(probe);
+        breaker.onFailure(acquire(breaker));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        breaker.onFailure(acquire(breaker));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(2L, breaker.stats().get("opened"));
+    }
+
+    /**
+     * 冷却期内保持熔断，冷却期结束后第一次请求成为探测调用
+     */
+    @Test
+    public void testStaysOpenUntilCooldownElapses() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(1, 200);
+        breaker.onFailure(acquire(breaker));
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        Thread.sleep(250);
+        long probe = breaker.tryAcquire();
+        assertNotEquals(CircuitBreaker.REJECTED, probe);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertEquals(1L, breaker.stats().get("rejected"));
+    }
+
+    private static long acquire(CircuitBreaker breaker) {
+        long permit = breaker.tryAcquire();
+        assertNotEquals(CircuitBreaker.REJECTED, permit);
+        return permit;
+    }
+
+    // Wait out the open period and take the probe permit / 等待冷却期结束并取得探测凭证
+    private static long halfOpen(CircuitBreaker breaker) throws InterruptedException {
+        Thread.sleep(OPEN_MS + 10);
+        long probe = acquire(breaker);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        return probe;
+    }
+}
@@ -0,0 +1,36 @@
+package com.yorku;
+
+import com.yorku.util.CsvReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Description: 流式 CSV 读取器测试
+ */
+public class CsvReaderTest {
+
+    /**
+     * 支持 BOM、CRLF、引号内的逗号/换行/双引号，并记录每条记录的起始行号
+     */
+    @Test
+    public void testQuotedFieldsAndLineNumbers() throws Exception {
+        String csv = "\uFEFFname,address\r\n"
+                + "Alice,\"12 Main St, Toronto\"\r\n"
+                + "Bob,\"Line 1\nLine 2\"\n"
+                + "\"Carol \"\"CJ\"\"\",\n";
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            assertEquals(List.of("name", "address"), reader.next());
+            assertEquals(List.of("Alice", "12 Main St, Toronto"), reader.next());
+            assertEquals(2, reader.getRecordLine());
+            assertEquals(List.of("Bob", "Line 1\nLine 2"), reader.next());
+            assertEquals(3, reader.getRecordLine());
+            assertEquals(List.of("Carol \"CJ\"", ""), reader.next());
+            assertEquals(5, reader.getRecordLine());
+            assertNull(reader.next());
+        }
+    }
+}
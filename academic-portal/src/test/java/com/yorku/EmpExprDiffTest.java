@@ -0,0 +1,94 @@
+package com.yorku;
+
+import com.yorku.pojo.EmpExpr;
+import com.yorku.util.EmpExprDiff;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Description: 工作经历差异更新测试
+ * 以 50 条工作经历为例，只计算需要新增、修改、删除的记录；SQL 的执行见 EmpExprMapperTest，耗时对比见 EmpExprBenchmark。
+ */
+public class EmpExprDiffTest {
+
+    private static final int HISTORY = 50;
+
+    /**
+     * 只修改基本信息（如薪资）时，工作经历不应产生任何写入
+     */
+    @Test
+    public void testUnchangedHistoryWritesNothing() {
+        EmpExprDiff diff = EmpExprDiff.of(1, history(), history());
+        assertEquals(0, diff.rowsWritten());
+    }
+
+    /**
+     * 客户端未回传ID时，按内容匹配，同样不产生写入
+     */
+    @Test
+    public void testHistoryWithoutIdsMatchesByContent() {
+        List<EmpExpr> incoming = history();
+        incoming.forEach(expr -> expr.setId(null));
+        assertEquals(0, EmpExprDiff.of(1, history(), incoming).rowsWritten());
+    }
+
+    /**
+     * 修改一条、新增一条、删除一条
+     */
+    @Test
+    public void testSingleEditAddAndRemove() {
+        List<EmpExpr> incoming = history();
+        incoming.get(3).setJob("Senior Lecturer");
+        incoming.remove(10);
+        EmpExpr added = expr(null, 2030);
+        incoming.add(added);
+
+        EmpExprDiff diff = EmpExprDiff.of(1, history(), incoming);
+
+        assertEquals(List.of(incoming.get(3)), diff.getUpdates());
+        assertEquals(List.of(11), diff.getDeleteIds());
+        assertEquals(List.of(added), diff.getInserts());
+        assertEquals(1, added.getEmpId());
+        assertEquals(3, diff.rowsWritten());
+    }
+
+    /**
+     * 其他员工的记录ID不能被当作本员工的记录修改
+     */
+    @Test
+    public void testForeignIdIsInserted() {
+        List<EmpExpr> incoming = history();
+        EmpExpr foreign = expr(999, 2040);
+        incoming.add(foreign);
+
+        EmpExprDiff diff = EmpExprDiff.of(1, history(), incoming);
+
+        assertEquals(List.of(foreign), diff.getInserts());
+        assertNull(foreign.getId());
+        assertTrue(diff.getUpdates().isEmpty());
+    }
+
+    private static List<EmpExpr> history() {
+        List<EmpExpr> list = new ArrayList<>();
+        for (int i = 1; i <= HISTORY; i++) {
+            list.add(expr(i, 1970 + i));
+        }
+        return list;
+    }
+
+    private static EmpExpr expr(Integer id, int year) {
+        EmpExpr expr = new EmpExpr();
+        expr.setId(id);
+        expr.setEmpId(1);
+        expr.setBegin(LocalDate.of(year, 1, 1));
+        expr.setEnd(LocalDate.of(year, 12, 31));
+        expr.setCompany("Company " + year);
+        expr.setJob("Lecturer");
+        return expr;
+    }
+}
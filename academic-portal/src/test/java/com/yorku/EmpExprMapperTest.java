@@ -0,0 +1,156 @@
+package com.yorku;
+
+import com.yorku.mapper.EmpExprMapper;
+import com.yorku.pojo.EmpExpr;
+import com.yorku.util.EmpExprDiff;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Description: 工作经历批量写入测试（EmpExprMapper.xml 的 SQL 在 H2 MySQL 模式下执行）
+ * 差异更新只写入变化的行：未修改的记录保留原 ID，CASE 批量更新逐行取各自的新值，其他员工的记录不受影响。
+ */
+public class EmpExprMapperTest {
+
+    private static final int HISTORY = 50;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private SqlSession session;
+    private EmpExprMapper empExprMapper;
+
+    @BeforeEach
+    public void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:emp_expr;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=BEGIN,END");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table emp_expr (id int auto_increment primary key, emp_id int, `begin` date, "
+                + "`end` date, company varchar(50), job varchar(50))");
+
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(EmpExprMapper.class);
+        session = new SqlSessionFactoryBuilder().build(configuration).openSession(true);
+        empExprMapper = session.getMapper(EmpExprMapper.class);
+
+        // Employee 1 has a long history, employee 2 a short one / 员工 1 有 50 条经历，员工 2 有 3 条
+        empExprMapper.insertBatch(history(1, HISTORY));
+        empExprMapper.insertBatch(history(2, 3));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        session.close();
+        jdbcTemplate.execute("drop table emp_expr");
+    }
+
+    /**
+     * CASE 批量更新：每行得到自己的新值（含置空的结束日期），未列出的行不变
+     */
+    @Test
+    public void testUpdateBatchSetsEachRowsOwnValues() {
+        List<EmpExpr> stored = empExprMapper.listByEmpId(1);
+        EmpExpr first = stored.get(0);
+        first.setJob("Senior Lecturer");
+        first.setEnd(null);
+        EmpExpr last = stored.get(HISTORY - 1);
+        last.setCompany("Seneca Polytechnic");
+        last.setBegin(LocalDate.of(1999, 1, 1));
+
+        empExprMapper.updateBatch(List.of(first, last));
+
+        List<EmpExpr> after = empExprMapper.listByEmpId(1);
+        assertEquals(stored, after);
+        assertEquals("Senior Lecturer", after.get(0).getJob());
+        assertNull(after.get(0).getEnd());
+        assertEquals("Seneca Polytechnic", after.get(HISTORY - 1).getCompany());
+        assertEquals(history(2, 3).stream().map(EmpExpr::getJob).toList(),
+                empExprMapper.listByEmpId(2).stream().map(EmpExpr::getJob).toList());
+    }
+
+    /**
+     * 按记录 ID 删除，只删除指定的行
+     */
+    @Test
+    public void testDeleteByIdsRemovesOnlyThoseRows() {
+        List<EmpExpr> stored = empExprMapper.listByEmpId(1);
+        empExprMapper.deleteByIds(List.of(stored.get(0).getId(), stored.get(7).getId()));
+
+        List<Integer> remaining = empExprMapper.listByEmpId(1).stream().map(EmpExpr::getId).toList();
+        assertEquals(HISTORY - 2, remaining.size());
+        assertFalse(remaining.contains(stored.get(0).getId()));
+        assertFalse(remaining.contains(stored.get(7).getId()));
+        assertEquals(3, empExprMapper.listByEmpId(2).size());
+    }
+
+    /**
+     * 差异更新（修改一条、删除一条、新增一条）与先删后增结果一致，但只写 3 行且未修改的记录保留原 ID
+     */
+    @Test
+    public void testDiffMatchesDeleteThenInsert() {
+        List<EmpExpr> stored = empExprMapper.listByEmpId(1);
+        List<EmpExpr> incoming = history(1, HISTORY);
+        for (int i = 0; i < HISTORY; i++) {
+            incoming.get(i).setId(stored.get(i).getId());
+        }
+        incoming.get(3).setJob("Senior Lecturer");
+        incoming.remove(10);
+        incoming.add(expr(1, 2030, "Humber Polytechnic"));
+
+        EmpExprDiff diff = EmpExprDiff.of(1, stored, incoming);
+        empExprMapper.deleteByIds(diff.getDeleteIds());
+        empExprMapper.updateBatch(diff.getUpdates());
+        empExprMapper.insertBatch(diff.getInserts());
+
+        Map<String, Object> written = Map.of("updated", diff.getUpdates().size(),
+                "deleted", diff.getDeleteIds().size(), "inserted", diff.getInserts().size());
+        assertEquals(Map.of("updated", 1, "deleted", 1, "inserted", 1), written);
+
+        List<EmpExpr> after = empExprMapper.listByEmpId(1);
+        assertEquals(content(incoming), content(after));
+        // Unchanged rows keep their ids / 未修改的记录保留原 ID
+        List<Integer> ids = after.stream().map(EmpExpr::getId).toList();
+        for (int i = 0; i < HISTORY; i++) {
+            assertEquals(i != 10, ids.contains(stored.get(i).getId()));
+        }
+    }
+
+    // Comparable content (company, job, dates) in begin-date order / 按开始日期排序后的内容
+    private static List<String> content(List<EmpExpr> exprs) {
+        return exprs.stream().sorted(Comparator.comparing(EmpExpr::getBegin))
+                .map(e -> e.getBegin() + "|" + e.getEnd() + "|" + e.getCompany() + "|" + e.getJob()).toList();
+    }
+
+    private static List<EmpExpr> history(int empId, int size) {
+        List<EmpExpr> list = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(expr(empId, 1970 + i, "Company " + i));
+        }
+        return list;
+    }
+
+    private static EmpExpr expr(int empId, int year, String company) {
+        EmpExpr expr = new EmpExpr();
+        expr.setEmpId(empId);
+        expr.setBegin(LocalDate.of(year, 9, 1));
+        expr.setEnd(LocalDate.of(year + 1, 6, 30));
+        expr.setCompany(company);
+        expr.setJob("Lecturer");
+        return expr;
+    }
+}
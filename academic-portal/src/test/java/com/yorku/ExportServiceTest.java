@@ -0,0 +1,145 @@
+package com.yorku;
+
+import com.yorku.interceptor.StatementTimingInterceptor;
+import com.yorku.mapper.StudentMapper;
+import com.yorku.pojo.StudentQueryParam;
+import com.yorku.service.ExportService;
+import com.yorku.util.ReferenceDataCache;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * @Description: 导出测试（H2 MySQL 模式）
+ * 导出使用分析连接池上的 MyBatis 会话（与主数据源相同的配置与插件），并在分析事务管理器的只读事务中执行。
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.url=jdbc:h2:mem:export;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa", "spring.datasource.password="})
+public class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    @Qualifier("analytics")
+    private DataSource analyticsDataSource;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private ReferenceDataCache referenceDataCache;
+
+    /**
+     * 分析会话工厂由 MyBatis 自动配置创建：mybatis.configuration.* 与拦截器均生效，且注册了全部 Mapper
+     */
+    @Test
+    public void testAnalyticsSessionFactoryUsesAutoConfiguration() throws Exception {
+        SqlSessionFactory analytics = analyticsSqlSession().getSqlSessionFactory();
+        assertNotSame(sqlSessionFactory, analytics);
+        Configuration configuration = analytics.getConfiguration();
+        assertSame(analyticsDataSource, configuration.getEnvironment().getDataSource());
+        assertTrue(configuration.isMapUnderscoreToCamelCase());
+        assertEquals(sqlSessionFactory.getConfiguration().getLogImpl(), configuration.getLogImpl());
+        assertTrue(configuration.getInterceptors().stream().anyMatch(StatementTimingInterceptor.class::isInstance));
+        assertTrue(configuration.hasMapper(StudentMapper.class));
+        // Unqualified @Transactional still uses the primary DataSource / 未指定名称的事务仍使用主数据源
+        assertNotEquals(analyticsDataSource, ReflectionTestUtils.invokeMethod(transactionManager, "getDataSource"));
+    }
+
+    /**
+     * 每一行都在分析数据源的只读事务中读取（同一连接、同一快照）
+     */
+    @Test
+    public void testExportRunsInReadOnlyAnalyticsTransaction() throws Exception {
+        createStudentTable();
+        jdbcTemplate.update("delete from student");
+        jdbcTemplate.update("insert into student (id, name, clazz_id) values (1, 'Alice', 1), (2, 'Bob', 1), (3, 'Carol', 1)");
+
+        List<Object> connections = new ArrayList<>();
+        when(referenceDataCache.clazzName(any())).thenAnswer(invocation -> {
+            assertTrue(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            ConnectionHolder holder = (ConnectionHolder) TransactionSynchronizationManager.getResource(analyticsDataSource);
+            assertNotNull(holder, "no transaction bound to the analytics DataSource");
+            connections.add(holder.getConnection());
+            return "Class 1";
+        });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportStudents(new StudentQueryParam(), out);
+
+        assertEquals(3, rows);
+        assertEquals(3, connections.size());
+        assertEquals(1, connections.stream().distinct().count());
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.contains("Alice") && csv.contains("Bob") && csv.contains("Carol"), csv);
+        assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+    }
+
+    /**
+     * 以 = + - @ 制表符 回车开头的文本字段前加单引号，打开 CSV 时不会作为公式执行；数值字段保持原样
+     */
+    @Test
+    public void testFormulaCellsAreNeutralized() throws Exception {
+        createStudentTable();
+        jdbcTemplate.update("delete from student");
+        jdbcTemplate.update("insert into student (id, name, address, clazz_id, credits) values "
+                + "(1, '=HYPERLINK(\"http://evil\",\"x\")', '+1 King St', 1, 10), (2, '-2+3', '@SUM(A1)', 1, 20), "
+                + "(3, CONCAT(CHAR(9), '=1+1'), CONCAT(CHAR(13), '=1+1'), 1, 30), (4, 'Dana', 'Keele St', 1, 40)");
+        when(referenceDataCache.clazzName(any())).thenReturn("=Class");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(4, exportService.exportStudents(new StudentQueryParam(), out));
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.contains(",\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\","), csv);
+        assertTrue(csv.contains(",'+1 King St,"), csv);
+        assertTrue(csv.contains(",'-2+3,"), csv);
+        assertTrue(csv.contains(",'@SUM(A1),"), csv);
+        assertTrue(csv.contains(",'\t=1+1,"), csv);
+        assertTrue(csv.contains(",\"'\r=1+1\","), csv);
+        assertTrue(csv.contains(",'=Class,"), csv);
+        assertTrue(csv.contains(",Dana,"), csv);
+    }
+
+    private void createStudentTable() {
+        jdbcTemplate.execute("create table if not exists student (id int primary key, name varchar(50), no char(10), "
+                + "gender tinyint, phone varchar(11), id_card char(18), enrollment_status tinyint, address varchar(100), "
+                + "year_level tinyint, graduation_date date, clazz_id int, gpa decimal(3, 1), credits int, "
+                + "create_time datetime, update_time datetime)");
+    }
+
+    private SqlSessionTemplate analyticsSqlSession() throws Exception {
+        Object target = ((Advised) exportService).getTargetSource().getTarget();
+        return (SqlSessionTemplate) ReflectionTestUtils.getField(target, "analyticsSqlSession");
+    }
+}
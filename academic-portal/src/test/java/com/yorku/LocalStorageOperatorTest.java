@@ -0,0 +1,132 @@
+package com.yorku;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yorku.util.JwtUtils;
+import com.yorku.util.LocalStorageOperator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @Description: 本地磁盘存储测试（真实 multipart 上传）
+ * 上传文件由 Tomcat 落盘的临时文件直接移动到存储目录，不经过输入流复制；
+ * 读取时只有位图图片内联显示，其余类型作为附件下载。
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"storage.type=local", "storage.local.base-url=http://localhost:8080"})
+public class LocalStorageOperatorTest {
+
+    private static final String BOUNDARY = "----york-portal-boundary";
+
+    @TempDir
+    static Path rootDir;
+
+    @DynamicPropertySource
+    static void storageProperties(DynamicPropertyRegistry registry) {
+        registry.add("storage.local.root-dir", () -> rootDir.toString());
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoSpyBean
+    private LocalStorageOperator localStorageOperator;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * multipart 上传的文件内容完整写入根目录，且走临时文件路径而不是输入流复制
+     */
+    @Test
+    public void testMultipartUploadMovesSpooledFile() throws Exception {
+        byte[] content = new byte[3 * 1024 * 1024];
+        new Random(42).nextBytes(content);
+
+        String objectName = upload("avatar.png", content);
+
+        assertArrayEquals(content, Files.readAllBytes(localStorageOperator.resolve(objectName)));
+        verify(localStorageOperator, never()).upload(any(InputStream.class), anyLong(), anyString());
+    }
+
+    /**
+     * 图片内联显示；HTML 等其他类型作为附件下载；均禁止浏览器猜测类型
+     */
+    @Test
+    public void testOnlyRasterImagesAreServedInline() throws Exception {
+        String image = upload("avatar.png", new byte[]{(byte) 0x89, 'P', 'N', 'G'});
+        HttpResponse<byte[]> imageResponse = download(image);
+        assertEquals(200, imageResponse.statusCode());
+        assertEquals("image/png", imageResponse.headers().firstValue("Content-Type").orElse(null));
+        assertEquals("nosniff", imageResponse.headers().firstValue("X-Content-Type-Options").orElse(null));
+        assertTrue(imageResponse.headers().firstValue("Content-Disposition").isEmpty());
+
+        for (String name : new String[]{"page.html", "logo.svg"}) {
+            String stored = upload(name, "<script>alert(1)</script>".getBytes(StandardCharsets.UTF_8));
+            HttpResponse<byte[]> response = download(stored);
+            assertEquals(200, response.statusCode());
+            assertEquals("nosniff", response.headers().firstValue("X-Content-Type-Options").orElse(null));
+            assertTrue(response.headers().firstValue("Content-Disposition").orElse("").startsWith("attachment"), name);
+        }
+    }
+
+    /**
+     * 越出根目录的路径应被拒绝
+     */
+    @Test
+    public void testResolveRejectsTraversal() {
+        assertThrows(IllegalArgumentException.class, () -> localStorageOperator.resolve("../../etc/passwd"));
+    }
+
+    // POST /upload as multipart/form-data, returns the stored object name / 以 multipart 上传并返回对象路径
+    private String upload(String filename, byte[] content) throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"" + filename
+                + "\"\r\nContent-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(content);
+        body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/upload"))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .header("token", JwtUtils.generateToken(Map.of("id", 1, "username", "admin")))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        JsonNode result = objectMapper.readTree(response.body());
+        assertEquals(1, result.path("code").asInt(), response.body());
+        String url = result.path("data").asText();
+        assertTrue(url.startsWith("http://localhost:8080/files/"), url);
+        return url.substring("http://localhost:8080/files/".length());
+    }
+
+    private HttpResponse<byte[]> download(String objectName) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/files/" + objectName)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
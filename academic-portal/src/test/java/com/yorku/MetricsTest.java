@@ -0,0 +1,74 @@
+package com.yorku;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Description: 监控指标测试
+ * 全局异常处理器处理的异常记录在 http.server.requests 的 exception 标签上；
+ * Prometheus 端点只在管理端口提供，业务端口仍需令牌。
+ */
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class MetricsTest {
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * 请求体不是合法 JSON：接口返回统一错误结果（HTTP 200），耗时按异常类型记录
+     */
+    @Test
+    public void testHandledExceptionIsTagged() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{not json"))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("Invalid Request Format"), response.body());
+
+        Timer timer = meterRegistry.find("http.server.requests")
+                .tags("uri", "/login", "exception", "HttpMessageNotReadableException").timer();
+        assertNotNull(timer, "http.server.requests not tagged with the handled exception");
+        assertEquals(1, timer.count());
+    }
+
+    /**
+     * 管理端口提供 Prometheus 格式（含直方图分桶）；业务端口上的同一路径需要登录
+     */
+    @Test
+    public void testPrometheusOnManagementPortOnly() throws Exception {
+        HttpResponse<String> scrape = client.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + managementPort + "/actuator/prometheus")).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, scrape.statusCode());
+        assertTrue(scrape.body().contains("jvm_threads_live_threads"), scrape.body());
+        // Startup preloads run mapper statements (failing here without a database) / 启动预加载执行过 SQL
+        assertTrue(scrape.body().contains("mybatis_statement_seconds_bucket{"), scrape.body());
+
+        HttpResponse<String> app = client.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/actuator/prometheus")).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(401, app.statusCode());
+    }
+}
@@ -0,0 +1,50 @@
+package com.yorku;
+
+import com.yorku.util.NGramIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Description: 三元组名称索引测试
+ */
+public class NGramIndexTest {
+
+    /**
+     * 子串查询忽略大小写，结果与 LIKE '%name%' 一致（包括短查询和三元组误命中）
+     */
+    @Test
+    public void testSubstringSearch() {
+        NGramIndex index = new NGramIndex();
+        index.put(1, "Alice Johnson");
+        index.put(2, "Bob Johnston");
+        index.put(3, "Carol Stone");
+        index.put(4, "Nhoj Sonn");
+
+        assertEquals(List.of(1, 2), index.search("JOHNS"));
+        assertEquals(List.of(3), index.search("stone"));
+        assertEquals(List.of(2, 3), index.search("ST"), "short queries scan the names");
+        assertEquals(List.of(), index.search("sonj"));
+        assertEquals(List.of(), index.search("xyz"));
+    }
+
+    /**
+     * 改名与删除后旧名称不再命中
+     */
+    @Test
+    public void testRenameAndRemove() {
+        NGramIndex index = new NGramIndex();
+        index.put(1, "Alice Johnson");
+        index.put(2, "Bob Johnston");
+
+        index.put(1, "Alice Smith");
+        assertEquals(List.of(2), index.search("johns"));
+        assertEquals(List.of(1), index.search("smith"));
+
+        index.remove(2);
+        assertEquals(List.of(), index.search("johns"));
+        assertEquals(1, index.size());
+    }
+}
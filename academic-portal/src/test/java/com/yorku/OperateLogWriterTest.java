@@ -0,0 +1,217 @@
+package com.yorku;
+
+import com.yorku.aop.OperateLogWriter;
+import com.yorku.mapper.OperateLogMapper;
+import com.yorku.pojo.OperateLog;
+import com.yorku.util.AuditLogProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @Description: 异步审计日志写入器测试
+ * 按批量大小 / 时间阈值刷盘、三种缓冲区溢出策略，以及关闭时写完缓冲区且不中断正在执行的批量写入。
+ */
+public class OperateLogWriterTest {
+
+    private final OperateLogMapper operateLogMapper = mock(OperateLogMapper.class);
+
+    // Sizes of the batches passed to insertBatch (the writer clears the list afterwards) / 每次批量写入的条数
+    private final List<Integer> batches = new CopyOnWriteArrayList<>();
+
+    private OperateLogWriter writer;
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (writer != null && ReflectionTestUtils.getField(writer, "running") == Boolean.TRUE) {
+            writer.shutdown();
+        }
+    }
+
+    /**
+     * 达到批量大小立即写入，不等待时间阈值
+     */
+    @Test
+    public void testFlushesWhenBatchIsFull() throws Exception {
+        recordBatches();
+        start(properties(100, 5, 10_000, AuditLogProperties.OverflowPolicy.BLOCK));
+
+        long start = System.nanoTime();
+        submit(5);
+        verify(operateLogMapper, timeout(2000)).insertBatch(anyList());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(List.of(5), batches);
+    }
+
+    /**
+     * 未达到批量大小时，等待时间阈值后写入
+     */
+    @Test
+    public void testFlushesAfterInterval() throws Exception {
+        recordBatches();
+        start(properties(100, 50, 300, AuditLogProperties.OverflowPolicy.BLOCK));
+
+        long start = System.nanoTime();
+        submit(3);
+        verify(operateLogMapper, timeout(3000)).insertBatch(anyList());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(250));
+        assertEquals(List.of(3), batches);
+    }
+
+    /**
+     * DROP：缓冲区满时丢弃并计数
+     */
+    @Test
+    public void testDropPolicyCountsDroppedRecords() throws Exception {
+        CountDownLatch release = blockWriter();
+        start(properties(2, 1, 10_000, AuditLogProperties.OverflowPolicy.DROP));
+        fillBuffer();
+
+        submit(1);
+        assertEquals(1, writer.getDropped());
+        verify(operateLogMapper, never()).insert(any());
+        release.countDown();
+    }
+
+    /**
+     * CALLER_RUNS：缓冲区满时由请求线程同步写入
+     */
+    @Test
+    public void testCallerRunsPolicyWritesInline() throws Exception {
+        CountDownLatch release = blockWriter();
+        start(properties(2, 1, 10_000, AuditLogProperties.OverflowPolicy.CALLER_RUNS));
+        fillBuffer();
+
+        submit(1);
+        verify(operateLogMapper).insert(any());
+        assertEquals(0, writer.getDropped());
+        release.countDown();
+    }
+
+    /**
+     * BLOCK：等待空位，超时后由请求线程同步写入
+     */
+    @Test
+    public void testBlockPolicyWaitsThenWritesInline() throws Exception {
+        CountDownLatch release = blockWriter();
+        AuditLogProperties properties = properties(2, 1, 10_000, AuditLogProperties.OverflowPolicy.BLOCK);
+        properties.setOfferTimeoutMs(200);
+        start(properties);
+        fillBuffer();
+
+        long start = System.nanoTime();
+        submit(1);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(150));
+        verify(operateLogMapper).insert(any());
+        assertEquals(2, writer.getPending());
+        release.countDown();
+    }
+
+    /**
+     * 关闭时写完缓冲区中的全部日志，正在执行的批量写入不会被中断
+     */
+    @Test
+    public void testShutdownDrainsBufferWithoutInterruptingBatch() throws Exception {
+        CountDownLatch inFlight = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        doAnswer(invocation -> {
+            batches.add(invocation.<List<OperateLog>>getArgument(0).size());
+            inFlight.countDown();
+            try {
+                // A slow INSERT, like a Hikari borrow or a JDBC round trip / 模拟较慢的数据库写入
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                throw e;
+            }
+            return null;
+        }).when(operateLogMapper).insertBatch(anyList());
+        start(properties(100, 10, 10_000, AuditLogProperties.OverflowPolicy.BLOCK));
+
+        submit(10);
+        assertTrue(inFlight.await(2, TimeUnit.SECONDS));
+        submit(25);
+        writer.shutdown();
+
+        assertFalse(interrupted.get());
+        assertEquals(35, batches.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(35, writer.getWritten());
+        assertEquals(0, writer.getPending());
+        verify(operateLogMapper, never()).insert(any());
+    }
+
+    /**
+     * 空闲的写入线程在关闭时立即被唤醒，不等待时间阈值
+     */
+    @Test
+    public void testShutdownWakesIdleWriter() throws Exception {
+        recordBatches();
+        start(properties(100, 50, 10_000, AuditLogProperties.OverflowPolicy.BLOCK));
+        submit(3);
+
+        long start = System.nanoTime();
+        writer.shutdown();
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(3, writer.getWritten());
+    }
+
+    private void start(AuditLogProperties properties) {
+        writer = new OperateLogWriter();
+        ReflectionTestUtils.setField(writer, "operateLogMapper", operateLogMapper);
+        ReflectionTestUtils.setField(writer, "auditLogProperties", properties);
+        writer.start();
+    }
+
+    private static AuditLogProperties properties(int capacity, int batchSize, long flushIntervalMs,
+                                                 AuditLogProperties.OverflowPolicy overflowPolicy) {
+        AuditLogProperties properties = new AuditLogProperties();
+        properties.setCapacity(capacity);
+        properties.setBatchSize(batchSize);
+        properties.setFlushIntervalMs(flushIntervalMs);
+        properties.setOverflowPolicy(overflowPolicy);
+        return properties;
+    }
+
+    private void recordBatches() {
+        doAnswer(invocation -> batches.add(invocation.<List<OperateLog>>getArgument(0).size()))
+                .when(operateLogMapper).insertBatch(anyList());
+    }
+
+    // insertBatch blocks until the returned latch is released / 批量写入阻塞，直到放行
+    private CountDownLatch blockWriter() {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(10, TimeUnit.SECONDS)).when(operateLogMapper).insertBatch(anyList());
+        return release;
+    }
+
+    // One record held by the blocked writer, then a full buffer (capacity 2) / 写入线程占用一条，缓冲区再放满两条
+    private void fillBuffer() throws Exception {
+        submit(1);
+        verify(operateLogMapper, timeout(2000)).insertBatch(anyList());
+        submit(2);
+        assertEquals(2, writer.getPending());
+    }
+
+    private void submit(int count) {
+        for (int i = 0; i < count; i++) {
+            OperateLog operateLog = new OperateLog();
+            operateLog.setMethodName("save");
+            writer.submit(operateLog);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.yorku;
+
+import com.yorku.mapper.TableStatsMapper;
+import com.yorku.pojo.CountMode;
+import com.yorku.pojo.PageResult;
+import com.yorku.util.PageCountCache;
+import com.yorku.util.PageCountProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @Description: 分页总数缓存失效测试
+ * 事务中的失效在提交后生效：提交前其他请求读到的旧总数不会以新版本号留在缓存中；回滚时不失效。
+ */
+public class PageCountCacheTest {
+
+    private PageCountCache pageCountCache;
+    private TransactionTemplate transactionTemplate;
+
+    // Rows visible to other requests (committed) / 其他请求可见（已提交）的行数
+    private final AtomicLong committedRows = new AtomicLong(3);
+    private final AtomicInteger counts = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        pageCountCache = new PageCountCache();
+        ReflectionTestUtils.setField(pageCountCache, "pageCountProperties", new PageCountProperties());
+        ReflectionTestUtils.setField(pageCountCache, "tableStatsMapper", mock(TableStatsMapper.class));
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:page_count;DB_CLOSE_DELAY=-1");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * 提交前的并发查询统计到旧行数；提交后下一次查询重新统计
+     */
+    @Test
+    public void testInvalidationTakesEffectAfterCommit() {
+        assertEquals(3, total());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            pageCountCache.invalidate("student");
+            // Another request during the transaction still sees the old rows / 事务进行中其他请求仍看到旧数据
+            assertEquals(3, CompletableFuture.supplyAsync(this::total).join());
+            committedRows.set(4);
+        });
+
+        assertEquals(4, total());
+        assertEquals(2, counts.get());
+    }
+
+    /**
+     * 回滚的写操作不使缓存失效
+     */
+    @Test
+    public void testRollbackKeepsCachedTotal() {
+        assertEquals(3, total());
+        transactionTemplate.executeWithoutResult(status -> {
+            pageCountCache.invalidate("student");
+            status.setRollbackOnly();
+        });
+        assertEquals(3, total());
+        assertEquals(1, counts.get());
+    }
+
+    /**
+     * 不在事务中调用时立即失效
+     */
+    @Test
+    public void testInvalidationOutsideTransactionIsImmediate() {
+        assertEquals(3, total());
+        committedRows.set(5);
+        pageCountCache.invalidate("student");
+        assertEquals(5, total());
+    }
+
+    private long total() {
+        PageResult<Object> result = pageCountCache.page("student", CountMode.CACHED, 1, 10,
+                request -> List.of(), () -> {
+                    counts.incrementAndGet();
+                    return committedRows.get();
+                });
+        return result.getTotal();
+    }
+}
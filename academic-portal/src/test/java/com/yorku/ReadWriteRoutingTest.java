@@ -0,0 +1,230 @@
+package com.yorku;
+
+import com.yorku.mapper.EmpMapper;
+import com.yorku.mapper.StudentMapper;
+import com.yorku.pojo.StudentQueryParam;
+import com.yorku.service.StudentService;
+import com.yorku.service.impl.StudentServiceImpl;
+import com.yorku.util.DashboardStatsStore;
+import com.yorku.util.NameSearchIndex;
+import com.yorku.util.PageCountCache;
+import com.yorku.util.ReadWriteRoutingDataSource;
+import com.yorku.util.ReferenceDataCache;
+import com.yorku.util.ReplicaHealth;
+import com.yorku.util.ReplicaProperties;
+import com.yorku.util.ReplicaReads;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @Description: 读写分离路由测试（使用模拟的主库/副本数据源代替两个 MySQL 实例）
+ */
+public class ReadWriteRoutingTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ReplicaHealth replicaHealth = mock(ReplicaHealth.class);
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaHealth.isHealthy()).thenReturn(true);
+    }
+
+    /**
+     * 普通调用走主库，指定的副本读走副本；副本延迟过大或不可用时回退主库
+     */
+    @Test
+    public void testDesignatedReadsAndFallback() throws SQLException {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, replicaHealth, false);
+
+        assertSame(primaryConnection, routing.getConnection());
+        assertSame(replicaConnection, ReplicaReads.call(() -> connection(routing)));
+
+        when(replicaHealth.isHealthy()).thenReturn(false);
+        assertSame(primaryConnection, ReplicaReads.call(() -> connection(routing)));
+        assertFalse(ReplicaReads.isActive());
+    }
+
+    /**
+     * 只读事务经 LazyConnectionDataSourceProxy 路由到副本，读写事务走主库
+     */
+    @Test
+    public void testReadOnlyTransactions() throws SQLException {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, replicaHealth, false));
+        TransactionTemplate transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        transactions.setReadOnly(true);
+        transactions.executeWithoutResult(status -> statement(dataSource));
+        verify(replicaConnection).createStatement();
+        verify(primaryConnection, never()).createStatement();
+
+        transactions.setReadOnly(false);
+        transactions.executeWithoutResult(status -> statement(dataSource));
+        verify(primaryConnection).createStatement();
+    }
+
+    /**
+     * 真实的 StudentService 读方法（@Transactional(readOnly = true)）读到副本的数据；
+     * 副本复制延迟超过 max-lag-seconds 时同一调用回退到主库，延迟恢复后重新使用副本
+     */
+    @Test
+    public void testServiceReadsUseReplicaUntilItLags() throws Exception {
+        // Two H2 databases stand in for the primary and the replica, with different rows
+        // 两个 H2 内存库分别代替主库与副本，写入不同的数据以区分查询落在哪个库
+        DataSource primaryDb = studentDatabase("routing_primary", "Primary");
+        DataSource replicaDb = studentDatabase("routing_replica", "Replica");
+
+        ReplicaProperties replicaProperties = new ReplicaProperties();
+        replicaProperties.setMaxLagSeconds(5);
+        ReplicaHealth health = new ReplicaHealth();
+        JdbcTemplate replicaStatus = mock(JdbcTemplate.class);
+        ReflectionTestUtils.setField(health, "replicaProperties", replicaProperties);
+        ReflectionTestUtils.setField(health, "jdbcTemplate", replicaStatus);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDb, replicaDb, health, false));
+        try (AnnotationConfigApplicationContext context = serviceContext(dataSource)) {
+            StudentService studentService = context.getBean(StudentService.class);
+
+            lag(replicaStatus, 0L);
+            health.check();
+            assertTrue(health.isHealthy());
+            assertEquals("Replica", studentService.findById(1).getName());
+            assertEquals("Replica", studentService.scroll(new StudentQueryParam()).getRows().get(0).getName());
+
+            // Replica 30s behind: reads go back to the primary / 副本延迟 30 秒：回退主库
+            lag(replicaStatus, 30L);
+            health.check();
+            assertFalse(health.isHealthy());
+            assertEquals("Primary", studentService.findById(1).getName());
+            assertEquals("Primary", studentService.scroll(new StudentQueryParam()).getRows().get(0).getName());
+
+            // Caught up again / 延迟恢复后重新使用副本
+            lag(replicaStatus, 1L);
+            health.check();
+            assertEquals("Replica", studentService.findById(1).getName());
+        }
+    }
+
+    /**
+     * 仪表盘定期对账读取主库：副本在允许的延迟内尚未同步的新增记录不会覆盖已提交的增量
+     */
+    @Test
+    public void testDashboardReconcileReadsPrimary() {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, replicaHealth, false);
+        AtomicLong primaryLecturers = new AtomicLong(4);
+        EmpMapper empMapper = mock(EmpMapper.class);
+        // The healthy replica is still at 4 lecturers / 副本（延迟在允许范围内）仍为 4 名讲师
+        when(empMapper.countEmpJobData()).thenAnswer(invocation -> List.of(
+                Map.of("pos", "Lecturer", "cnt", connection(routing) == replicaConnection ? 4L : primaryLecturers.get())));
+
+        DashboardStatsStore store = new DashboardStatsStore();
+        ReflectionTestUtils.setField(store, "empMapper", empMapper);
+        ReflectionTestUtils.setField(store, "studentMapper", mock(StudentMapper.class));
+        ReflectionTestUtils.setField(store, "referenceDataCache", mock(ReferenceDataCache.class));
+        store.reload();
+
+        // A new lecturer is committed on the primary / 主库提交了一名新讲师
+        primaryLecturers.incrementAndGet();
+        store.adjustEmp(2, 1, 1);
+        assertEquals(5L, store.empJobData().get(0).get("cnt"));
+
+        store.scheduledReconcile();
+        assertEquals(5L, store.empJobData().get(0).get("cnt"));
+    }
+
+    private static void lag(JdbcTemplate replicaStatus, Long seconds) {
+        when(replicaStatus.queryForList("SHOW REPLICA STATUS")).thenReturn(List.of(Map.of("Seconds_Behind_Source", seconds)));
+    }
+
+    private static DataSource studentDatabase(String name, String studentName) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop table if exists student");
+        jdbcTemplate.execute("create table student (id int primary key, name varchar(20), no char(10), gender tinyint, "
+                + "phone varchar(11), id_card char(18), enrollment_status tinyint, address varchar(100), year_level tinyint, "
+                + "graduation_date date, clazz_id int, gpa decimal(3, 1), credits int, create_time datetime, update_time datetime)");
+        jdbcTemplate.update("insert into student (id, name) values (1, ?)", studentName);
+        return dataSource;
+    }
+
+    // StudentServiceImpl behind Spring's transaction proxy, StudentMapper on the routing DataSource
+    // 事务代理包装的 StudentServiceImpl，Mapper 使用路由数据源
+    private static AnnotationConfigApplicationContext serviceContext(DataSource dataSource) throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(StudentMapper.class);
+        SqlSessionFactoryBean sessionFactory = new SqlSessionFactoryBean();
+        sessionFactory.setDataSource(dataSource);
+        sessionFactory.setConfiguration(configuration);
+        StudentMapper studentMapper = new SqlSessionTemplate(sessionFactory.getObject()).getMapper(StudentMapper.class);
+
+        NameSearchIndex nameSearchIndex = mock(NameSearchIndex.class);
+        when(nameSearchIndex.search(any(), any())).thenReturn(null);
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.register(TransactionConfig.class);
+        context.registerBean(PlatformTransactionManager.class, () -> new JdbcTransactionManager(dataSource));
+        // Registered as ready-made singletons (no @Autowired processing of the mocks) / 直接注册为单例
+        context.getBeanFactory().registerSingleton("studentMapper", studentMapper);
+        context.getBeanFactory().registerSingleton("nameSearchIndex", nameSearchIndex);
+        context.getBeanFactory().registerSingleton("pageCountCache", mock(PageCountCache.class));
+        context.getBeanFactory().registerSingleton("dashboardStatsStore", mock(DashboardStatsStore.class));
+        context.getBeanFactory().registerSingleton("referenceDataCache", mock(ReferenceDataCache.class));
+        context.registerBean(StudentServiceImpl.class);
+        context.refresh();
+        return context;
+    }
+
+    @EnableTransactionManagement
+    static class TransactionConfig {
+    }
+
+    private static Connection connection(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void statement(DataSource dataSource) {
+        try {
+            DataSourceUtils.getConnection(dataSource).createStatement();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
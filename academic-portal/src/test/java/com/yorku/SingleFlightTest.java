@@ -0,0 +1,94 @@
+package com.yorku;
+
+import com.yorku.util.SingleFlight;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Description: 并发请求合并测试
+ */
+public class SingleFlightTest {
+
+    private static final int CALLERS = 20;
+
+    /**
+     * 同一键的并发调用只执行一次并共享结果；执行结束后再次调用会重新执行
+     */
+    @Test
+    public void testConcurrentCallsShareOneExecution() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> flight.execute("q", () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return "answer";
+                })));
+            }
+            // Let every caller reach the in-flight execution before it completes / 等待所有调用进入后再放行
+            while ((long) flight.stats().get("shared") < CALLERS - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("answer", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, executions.get());
+        assertEquals(0, flight.stats().get("inFlight"));
+        assertEquals("again", flight.execute("q", () -> "again"));
+        assertEquals(2L, flight.stats().get("executions"));
+    }
+
+    /**
+     * 首个调用的异常会传递给所有等待中的调用
+     */
+    @Test
+    public void testExceptionIsSharedWithWaiters() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> flight.execute("q", () -> {
+                    await(release);
+                    throw new IllegalStateException("model unavailable");
+                })));
+            }
+            while ((long) flight.stats().get("shared") < CALLERS - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        }
+        assertEquals(1L, flight.stats().get("executions"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
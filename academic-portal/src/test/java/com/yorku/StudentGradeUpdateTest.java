@@ -0,0 +1,86 @@
+package com.yorku;
+
+import com.yorku.exception.BusinessException;
+import com.yorku.mapper.StudentMapper;
+import com.yorku.pojo.BatchUpdateResult;
+import com.yorku.pojo.GradeUpdate;
+import com.yorku.service.impl.StudentServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * @Description: 批量成绩更新测试（CSV 每块独立提交，模拟 Mapper 与事务管理器）
+ */
+public class StudentGradeUpdateTest {
+
+    private final StudentMapper studentMapper = mock(StudentMapper.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private StudentServiceImpl studentService;
+
+    @BeforeEach
+    public void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(studentMapper.updateGradesBatch(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        studentService = new StudentServiceImpl();
+        ReflectionTestUtils.setField(studentService, "studentMapper", studentMapper);
+        ReflectionTestUtils.setField(studentService, "transactionManager", transactionManager);
+        studentService.init();
+    }
+
+    /**
+     * 2500 行分 3 块、各自提交
+     */
+    @Test
+    public void testCsvCommitsPerChunk() throws Exception {
+        BatchUpdateResult result = studentService.updateGradesCsv(csv(2500, null));
+
+        assertEquals(2500, result.getSubmitted());
+        assertEquals(2500, result.getRowsAffected());
+        assertEquals(3, result.getStatements());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    /**
+     * NaN / Infinity 被拒绝；错误信息报告已提交的进度
+     */
+    @Test
+    public void testNonFiniteGpaReportsCommittedProgress() {
+        for (String gpa : new String[]{"NaN", "Infinity", "-Infinity"}) {
+            reset(transactionManager);
+            when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+            // Header is line 1, so entry 2501 is on line 2502 / 表头为第 1 行
+            BusinessException e = assertThrows(BusinessException.class, () -> studentService.updateGradesCsv(csv(2500, gpa)));
+            assertTrue(e.getMessage().startsWith("Line 2502: gpa must be between 0 and 9.0"), e.getMessage());
+            assertTrue(e.getMessage().contains("2000 entries up to Line 2001 were already committed"), e.getMessage());
+            verify(transactionManager, times(2)).commit(any());
+        }
+
+        GradeUpdate nan = new GradeUpdate(1, Double.NaN, null);
+        assertThrows(BusinessException.class, () -> studentService.updateGrades(List.of(nan)));
+    }
+
+    // rows valid entries, then one with the given GPA (if any) / 生成 rows 行合法数据，可追加一行指定 GPA 的数据
+    private static ByteArrayInputStream csv(int rows, String lastGpa) {
+        StringBuilder csv = new StringBuilder("id,gpa,credits\n");
+        for (int i = 1; i <= rows; i++) {
+            csv.append(i).append(",3.5,60\n");
+        }
+        if (lastGpa != null) {
+            csv.append(rows + 1).append(',').append(lastGpa).append(",60\n");
+        }
+        return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,170 @@
+package com.yorku;
+
+import com.yorku.mapper.StudentMapper;
+import com.yorku.pojo.ImportResult;
+import com.yorku.service.impl.StudentImportServiceImpl;
+import com.yorku.util.CsvReader;
+import com.yorku.util.DashboardStatsStore;
+import com.yorku.util.NameSearchIndex;
+import com.yorku.util.PageCountCache;
+import com.yorku.util.StudentImportProperties;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @Description: 学生批量导入分块写入测试（H2 MySQL 模式，BATCH 执行器与每块独立事务）
+ * 每块写入前检查已有数据冲突；块写入失败（如并发写入占用了学号）时整块回滚并逐行重试，
+ * 之前的块已提交，错误报告只包含出错的行。
+ */
+public class StudentImportChunkTest {
+
+    private static final int CHUNK_SIZE = 10;
+
+    @TempDir
+    Path reportDir;
+
+    private JdbcTemplate jdbcTemplate;
+    private StudentMapper realMapper;
+    private StudentMapper studentMapper;
+    private StudentImportServiceImpl importService;
+
+    // listConflicts calls so far (one per chunk) / 冲突检查的调用次数（每块一次）
+    private final AtomicInteger chunks = new AtomicInteger();
+    // Committed rows seen when the second chunk starts / 第二块开始时已提交的行数
+    private Integer committedBeforeSecondChunk;
+
+    @BeforeEach
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:student_import;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table student (id int auto_increment primary key, name varchar(20) not null, "
+                + "no char(10) not null unique, gender tinyint not null, phone varchar(11) not null unique, "
+                + "id_card char(18) not null unique, enrollment_status tinyint not null, address varchar(100), "
+                + "year_level tinyint, graduation_date date, clazz_id int, gpa decimal(3, 1) default 0.0 not null, "
+                + "credits int default 0 not null, create_time datetime, update_time datetime)");
+        // An existing student whose number appears again in the file / 文件中再次出现学号的已有学生
+        insertStudent("Existing", "2000000008", "4169999998", "999999999999999998");
+
+        // Spring-managed transactions, as in the application / 与应用相同，由 Spring 管理事务
+        Configuration configuration = new Configuration(new Environment("test", new SpringManagedTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(StudentMapper.class);
+        SqlSessionFactory sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+        realMapper = new SqlSessionTemplate(sqlSessionFactory).getMapper(StudentMapper.class);
+        studentMapper = mock(StudentMapper.class, delegatesTo(realMapper));
+
+        StudentImportProperties properties = new StudentImportProperties();
+        properties.setChunkSize(CHUNK_SIZE);
+        properties.setReportDir(reportDir.toString());
+
+        importService = new StudentImportServiceImpl();
+        ReflectionTestUtils.setField(importService, "sqlSessionFactory", sqlSessionFactory);
+        ReflectionTestUtils.setField(importService, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(importService, "studentMapper", studentMapper);
+        ReflectionTestUtils.setField(importService, "studentImportProperties", properties);
+        ReflectionTestUtils.setField(importService, "pageCountCache", mock(PageCountCache.class));
+        ReflectionTestUtils.setField(importService, "dashboardStatsStore", mock(DashboardStatsStore.class));
+        ReflectionTestUtils.setField(importService, "nameSearchIndex", mock(NameSearchIndex.class));
+        importService.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("drop table student");
+    }
+
+    /**
+     * 25 行分 3 块写入：第 4 行校验失败，第 8 行学号已存在（写入前检查），第 15 行的学号在第二块检查后被并发写入，
+     * 第二块整块回滚后逐行重试；其余 22 行全部导入
+     */
+    @Test
+    public void testFailedChunkIsRetriedRowByRow() throws Exception {
+        doAnswer(invocation -> {
+            Object conflicts = realMapper.listConflicts(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            if (chunks.incrementAndGet() == 2) {
+                committedBeforeSecondChunk = jdbcTemplate.queryForObject("select count(*) from student", Integer.class);
+                // Another request takes row 15's number after the check / 检查之后另一个请求占用了第 15 行的学号
+                insertStudent("Concurrent", no(15), "4169999999", "999999999999999999");
+            }
+            return conflicts;
+        }).when(studentMapper).listConflicts(any(), any(), any());
+
+        StringBuilder csv = new StringBuilder("name,no,gender,phone,idCard,enrollmentStatus\n");
+        for (int i = 1; i <= 25; i++) {
+            csv.append("Student ").append(i).append(',').append(no(i)).append(',').append(i == 4 ? 3 : 1).append(',')
+                    .append("41600000").append(String.format("%02d", i)).append(',')
+                    .append("1000000000000000").append(String.format("%02d", i)).append(",1\n");
+        }
+        ImportResult result = importService.importCsv(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(25, result.getTotal());
+        assertEquals(22, result.getImported());
+        assertEquals(3, result.getFailed());
+
+        // First chunk (rows 1-11 minus 4 and 8) was committed before the second started / 第一块在第二块开始前已提交
+        assertEquals(3, chunks.get());
+        assertEquals(1 + 9, committedBeforeSecondChunk);
+
+        // Only the second chunk went through the row-by-row retry / 只有第二块逐行重试
+        verify(studentMapper, times(CHUNK_SIZE)).save(any());
+        assertEquals(24, jdbcTemplate.queryForObject("select count(*) from student", Integer.class));
+        assertEquals(List.of("Student 12", "Student 13", "Student 14", "Student 16", "Student 17", "Student 18",
+                        "Student 19", "Student 20", "Student 21"),
+                jdbcTemplate.queryForList("select name from student where no between ? and ? and name like 'Student%' order by no",
+                        String.class, no(12), no(21)));
+        assertEquals("Concurrent", jdbcTemplate.queryForObject("select name from student where no = ?", String.class, no(15)));
+
+        // Report records: the three rejected rows (row n is on line n + 1) / 报告只含三条出错的行
+        List<List<String>> report = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(importService.errorReport(result.getReportId())))) {
+            reader.next();
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                report.add(record);
+            }
+        }
+        assertEquals(List.of("5", "9", "16"), report.stream().map(r -> r.get(0)).toList());
+        assertEquals("gender is out of range: 3", report.get(0).get(1));
+        assertEquals("Student number already exists: " + no(8), report.get(1).get(1));
+        // The database's unique key error for the retried row / 逐行重试时数据库返回的唯一键错误
+        assertTrue(report.get(2).get(1).contains(no(15)), report.get(2).get(1));
+        assertEquals(no(15), report.get(2).get(3));
+    }
+
+    private void insertStudent(String name, String no, String phone, String idCard) {
+        jdbcTemplate.update("insert into student (name, no, gender, phone, id_card, enrollment_status) values (?, ?, 1, ?, ?, 1)",
+                name, no, phone, idCard);
+    }
+
+    private static String no(int row) {
+        return "20000000" + String.format("%02d", row);
+    }
+}
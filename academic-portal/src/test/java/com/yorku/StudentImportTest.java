@@ -0,0 +1,53 @@
+package com.yorku;
+
+import com.yorku.pojo.ImportResult;
+import com.yorku.service.impl.StudentImportServiceImpl;
+import com.yorku.util.StudentImportProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Description: 学生批量导入校验测试（被拒绝的行写入错误报告，不访问数据库）
+ */
+public class StudentImportTest {
+
+    @TempDir
+    Path reportDir;
+
+    /**
+     * GPA 为 NaN / Infinity 或超出范围的行被拒绝，并写入错误报告
+     */
+    @Test
+    public void testNonFiniteGpaIsRejected() throws Exception {
+        StudentImportProperties properties = new StudentImportProperties();
+        properties.setReportDir(reportDir.toString());
+        StudentImportServiceImpl importService = new StudentImportServiceImpl();
+        ReflectionTestUtils.setField(importService, "studentImportProperties", properties);
+
+        String csv = """
+                name,no,gender,phone,idCard,enrollmentStatus,gpa
+                Alice,2000000001,2,4160000001,100000000000000001,1,NaN
+                Bob,2000000002,1,4160000002,100000000000000002,1,Infinity
+                Carol,2000000003,2,4160000003,100000000000000003,1,-Infinity
+                Dave,2000000004,1,4160000004,100000000000000004,1,9.5
+                """;
+        ImportResult result = importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(4, result.getTotal());
+        assertEquals(0, result.getImported());
+        assertEquals(4, result.getFailed());
+
+        List<String> report = Files.readAllLines(importService.errorReport(result.getReportId()));
+        assertEquals(5, report.size());
+        report.subList(1, 5).forEach(line -> assertTrue(line.contains("gpa must be between 0 and 9.0"), line));
+    }
+}
@@ -0,0 +1,134 @@
+package com.yorku;
+
+import com.yorku.mapper.StudentMapper;
+import com.yorku.pojo.CursorResult;
+import com.yorku.pojo.Student;
+import com.yorku.pojo.StudentQueryParam;
+import com.yorku.service.impl.StudentServiceImpl;
+import com.yorku.util.CursorCodec;
+import com.yorku.util.NameSearchIndex;
+import com.yorku.util.ReferenceDataCache;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @Description: 学生游标分页测试（StudentMapper.xml 的 SQL 在 H2 MySQL 模式下执行）
+ */
+public class StudentScrollTest {
+
+    private DriverManagerDataSource dataSource;
+    private SqlSession session;
+    private StudentServiceImpl studentService;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:scroll;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table student (id int primary key, name varchar(20), no char(10), gender tinyint, "
+                    + "phone varchar(11), id_card char(18), enrollment_status tinyint, address varchar(100), year_level tinyint, "
+                    + "graduation_date date, clazz_id int, gpa decimal(3, 1), credits int, create_time datetime, update_time datetime)");
+            // 7 rows: ids 1-3 have no update_time, ids 4-7 share / differ in update_time
+            // 7 行：1-3 的 update_time 为 NULL，4-7 有相同或不同的 update_time
+            statement.execute("insert into student (id, name, update_time) values "
+                    + "(1, 'A', null), (2, 'B', null), (3, 'C', null), "
+                    + "(4, 'D', timestamp '2024-01-01 10:00:00'), (5, 'E', timestamp '2024-01-01 10:00:00'), "
+                    + "(6, 'F', timestamp '2024-02-01 10:00:00'), (7, 'G', timestamp '2024-03-01 10:00:00')");
+        }
+
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(StudentMapper.class);
+        SqlSessionFactory sessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+        session = sessionFactory.openSession(true);
+
+        studentService = new StudentServiceImpl();
+        ReflectionTestUtils.setField(studentService, "studentMapper", session.getMapper(StudentMapper.class));
+        // No name filter: the index answers null (fall back to LIKE) / 无姓名条件时索引返回 null
+        NameSearchIndex nameSearchIndex = mock(NameSearchIndex.class);
+        when(nameSearchIndex.search(any(), any())).thenReturn(null);
+        ReflectionTestUtils.setField(studentService, "nameSearchIndex", nameSearchIndex);
+        ReflectionTestUtils.setField(studentService, "referenceDataCache", mock(ReferenceDataCache.class));
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        session.close();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table student");
+        }
+    }
+
+    /**
+     * 逐页滚动可读到全部行，update_time 为 NULL 的行排在最后且不会被跳过
+     */
+    @Test
+    public void testScrollVisitsRowsWithNullUpdateTime() {
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorResult<Student> result = studentService.scroll(param(2, cursor));
+            result.getRows().forEach(s -> ids.add(s.getId()));
+            cursor = result.getNextCursor();
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        assertEquals(List.of(7, 6, 5, 4, 3, 2, 1), ids);
+        assertEquals(4, pages);
+    }
+
+    /**
+     * update_time 为 NULL 的行生成的游标可以正常解码
+     */
+    @Test
+    public void testCursorForNullUpdateTimeDecodes() {
+        CursorCodec.Position position = CursorCodec.decode(CursorCodec.encode(null, 3));
+        assertEquals(CursorCodec.NULL_UPDATE_TIME, position.updateTime());
+        assertEquals(3, position.id());
+
+        LocalDateTime time = LocalDateTime.of(2024, 1, 1, 10, 0);
+        assertEquals(new CursorCodec.Position(time, 4), CursorCodec.decode(CursorCodec.encode(time, 4)));
+    }
+
+    /**
+     * 每页条数为 0、负数或缺失时按 1 条处理，过大时限制为最大值
+     */
+    @Test
+    public void testPageSizeIsClamped() {
+        for (Integer pageSize : new Integer[]{0, -5, null}) {
+            CursorResult<Student> result = studentService.scroll(param(pageSize, null));
+            assertEquals(1, result.getRows().size());
+            assertNotNull(result.getNextCursor());
+        }
+        CursorResult<Student> all = studentService.scroll(param(1_000_000, null));
+        assertEquals(7, all.getRows().size());
+        assertNull(all.getNextCursor());
+    }
+
+    private static StudentQueryParam param(Integer pageSize, String cursor) {
+        StudentQueryParam param = new StudentQueryParam();
+        param.setPageSize(pageSize);
+        param.setCursor(cursor);
+        return param;
+    }
+}
@@ -0,0 +1,118 @@
+package com.yorku;
+
+import com.yorku.util.JwtUtils;
+import com.yorku.util.TokenCache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @Description: 已校验令牌缓存测试
+ * 缓存的是不可变的用户信息；缓存已满时淘汰最早过期的条目，新令牌仍会被缓存。
+ */
+public class TokenCacheTest {
+
+    @BeforeEach
+    public void reset() {
+        TokenCache.clear();
+    }
+
+    @AfterEach
+    public void restoreCapacity() {
+        ReflectionTestUtils.setField(TokenCache.class, "maxEntries", 10_000);
+        TokenCache.clear();
+    }
+
+    /**
+     * 同一令牌第二次解析应命中缓存
+     */
+    @Test
+    public void testRepeatedTokenHitsCache() throws Exception {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("id", 1);
+        claims.put("username", "admin");
+        String token = JwtUtils.generateToken(claims);
+
+        long hits = TokenCache.getHits();
+        long misses = TokenCache.getMisses();
+
+        TokenCache.VerifiedToken first = TokenCache.parseToken(token);
+        TokenCache.VerifiedToken second = TokenCache.parseToken(token);
+
+        assertEquals(1, second.id());
+        assertEquals("admin", second.username());
+        assertSame(first, second);
+        assertEquals(misses + 1, TokenCache.getMisses());
+        assertEquals(hits + 1, TokenCache.getHits());
+    }
+
+    /**
+     * 非法令牌不应被缓存
+     */
+    @Test
+    public void testInvalidTokenIsNotCached() {
+        assertThrows(Exception.class, () -> TokenCache.parseToken("not.a.token"));
+        assertEquals(0, TokenCache.size());
+    }
+
+    /**
+     * 缓存已满时淘汰最早过期的令牌，新令牌仍被缓存
+     */
+    @Test
+    public void testFullCacheEvictsEarliestExpiry() throws Exception {
+        ReflectionTestUtils.setField(TokenCache.class, "maxEntries", 3);
+        String inOneHour = token(1, 1);
+        String inThreeHours = token(2, 3);
+        String inTwoHours = token(3, 2);
+        TokenCache.parseToken(inOneHour);
+        TokenCache.parseToken(inThreeHours);
+        TokenCache.parseToken(inTwoHours);
+
+        String newest = token(4, 4);
+        TokenCache.parseToken(newest);
+        assertEquals(3, TokenCache.size());
+
+        long misses = TokenCache.getMisses();
+        assertEquals(4, TokenCache.parseToken(newest).id());
+        TokenCache.parseToken(inTwoHours);
+        TokenCache.parseToken(inThreeHours);
+        assertEquals(misses, TokenCache.getMisses());
+
+        // The earliest expiry was evicted and is parsed again / 最早过期的令牌已被淘汰，需要重新解析
+        assertEquals(1, TokenCache.parseToken(inOneHour).id());
+        assertEquals(misses + 1, TokenCache.getMisses());
+        assertEquals(3, TokenCache.size());
+    }
+
+    /**
+     * 只清除到期时间之前的条目
+     */
+    @Test
+    public void testEvictExpiredRemovesOnlyExpiredEntries() throws Exception {
+        TokenCache.parseToken(token(1, 1));
+        TokenCache.parseToken(token(2, 3));
+
+        TokenCache.evictExpired(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(2));
+        assertEquals(1, TokenCache.size());
+    }
+
+    // Token for employee id that expires in the given hours / 指定过期时间（小时）的令牌
+    private static String token(int id, int hours) {
+        return Jwts.builder()
+                .signWith(SignatureAlgorithm.HS256, (String) ReflectionTestUtils.getField(JwtUtils.class, "SECRET_KEY"))
+                .claim("id", id)
+                .claim("username", "staff" + id)
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(hours)))
+                .compact();
+    }
+}
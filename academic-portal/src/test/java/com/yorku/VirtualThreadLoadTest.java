@@ -0,0 +1,118 @@
+package com.yorku;
+
+import com.yorku.pojo.LoginInfo;
+import com.yorku.service.AiService;
+import com.yorku.service.EmpService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * @Description: 虚拟线程并发测试
+ * 同步阻塞的接口：请求线程在阻塞期间被占用，虚拟线程使同时处理中的请求数超过 Tomcat 平台线程数上限；
+ * 异步接口（AI 搜索）：模型调用期间请求线程已释放，慢速 AI 后端不会耗尽工作线程。
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.threads.virtual.enabled=true", "server.tomcat.threads.max=10"})
+public class VirtualThreadLoadTest {
+
+    private static final int REQUESTS = 100;
+    private static final long LATENCY_MS = 500;
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private AiService aiService;
+
+    @MockitoBean
+    private EmpService empService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * 同步路径：100 个并发登录请求、每个在请求线程上阻塞 500ms；平台线程最多同时处理 10 个，虚拟线程应远超该上限
+     */
+    @Test
+    public void testBlockingHandlersRunBeyondPlatformWorkers() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(empService.login(any())).thenAnswer(invocation -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                // Blocks the request thread, like a slow query / 阻塞请求线程（如慢查询）
+                Thread.sleep(LATENCY_MS);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return new LoginInfo(1, "admin", "Admin", "token");
+        });
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"123456\"}"))
+                .build();
+        long elapsedMs = sendConcurrently(request);
+
+        // 10 platform workers would need at least REQUESTS / 10 * 500ms = 5s
+        System.out.println("Peak concurrent blocking handlers: " + peak.get() + ", elapsed: " + elapsedMs + "ms");
+        assertTrue(peak.get() > 10, "Expected more concurrent requests than platform workers, peak = " + peak.get());
+    }
+
+    /**
+     * 异步路径：100 个并发 AI 搜索、模型响应 500ms；等待模型期间不占用请求线程，全部请求应并发等待
+     */
+    @Test
+    public void testSlowAiBackendDoesNotHoldWorkers() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(aiService.generateAiResponseAsync(anyString())).thenAnswer(invocation -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                inFlight.decrementAndGet();
+                return "{\"type\":\"CHAT\", \"message\":\"ok\"}";
+            }, CompletableFuture.delayedExecutor(LATENCY_MS, TimeUnit.MILLISECONDS));
+        });
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/ai/search?question=hello")).build();
+        long elapsedMs = sendConcurrently(request);
+
+        System.out.println("Peak concurrent AI calls: " + peak.get() + ", elapsed: " + elapsedMs + "ms");
+        assertTrue(peak.get() > 10, "Expected more concurrent requests than platform workers, peak = " + peak.get());
+    }
+
+    // Sends REQUESTS copies at once and expects HTTP 200 for all; returns the elapsed time in ms
+    // 同时发送 REQUESTS 个请求，全部应返回 200；返回总耗时（毫秒）
+    private long sendConcurrently(HttpRequest request) throws Exception {
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                responses.add(clients.submit(() -> client.send(request, HttpResponse.BodyHandlers.ofString())));
+            }
+            for (Future<HttpResponse<String>> response : responses) {
+                assertEquals(200, response.get().statusCode());
+            }
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}